@@ -3,10 +3,13 @@ package com.bfb.business.client.service;
 import com.bfb.business.client.model.Client;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ClientRepository {
@@ -14,12 +17,35 @@ public interface ClientRepository {
     Optional<Client> findById(UUID id);
     List<Client> findAll();
     Page<Client> findAll(Pageable pageable);
+    Slice<Client> findSlice(Pageable pageable);
+
+    /**
+     * Approximate number of clients; may lag recent writes.
+     */
+    long estimateCount();
+
+    /**
+     * Keyset page in (lastName, id) order: up to {@code limit} clients after the given position,
+     * or from the start when {@code afterId} is null.
+     */
+    List<Client> findAfter(String afterLastName, UUID afterId, int limit);
     void deleteById(UUID id);
     boolean existsById(UUID id);
-    
-    boolean existsByFirstNameAndLastNameAndBirthDate(String firstName, String lastName, LocalDate birthDate);
-    
-    boolean existsByLicenseNumber(String licenseNumber);
-    
-    boolean existsByLicenseNumberAndIdNot(String licenseNumber, UUID excludeClientId);
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    /**
+     * The given license numbers that are already registered, in one query.
+     */
+    Set<String> findExistingLicenseNumbers(Collection<String> licenseNumbers);
+
+    /**
+     * Clients whose last name and birth date are among the given ones, in one query; a superset
+     * of the clients matching any given (last name, birth date) pair.
+     */
+    List<Client> findByLastNamesAndBirthDates(Collection<String> lastNames, Collection<LocalDate> birthDates);
+
+    /**
+     * Inserts new clients with batched statements and returns them with their ids.
+     */
+    List<Client> insertAll(List<Client> clients);
 }
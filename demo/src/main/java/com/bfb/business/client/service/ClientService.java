@@ -3,9 +3,18 @@ package com.bfb.business.client.service;
  
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,26 +34,56 @@ public class ClientService {
         this.clientRepository = clientRepository;
     }
 
+    /**
+     * Identity and license uniqueness are enforced by the database: the repository reports a
+     * refused insert as {@link DuplicateClientException} or {@link DuplicateLicenseException}.
+     */
     public Client create(String firstName, String lastName, String address, String licenseNumber, LocalDate birthDate) {
-        if (clientRepository.existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate)) {
-            throw new DuplicateClientException(
-                String.format("A client with name '%s %s' and birth date '%s' already exists. " +
-                    "Clients must be unique by their full name and birth date.",
-                    firstName, lastName, birthDate)
-            );
-        }
-        
-        if (clientRepository.existsByLicenseNumber(licenseNumber)) {
-            throw new DuplicateLicenseException(
-                String.format("License number '%s' is already registered to another client. " +
-                    "Each license number must be unique", licenseNumber)
-            );
-        }
-        
         Client client = new Client(null, firstName, lastName, address, licenseNumber, birthDate);
         return clientRepository.save(client);
     }
 
+    /**
+     * Creates the clients that are not duplicates, either of a stored client or of an earlier
+     * client of the list, by name and birth date or by license number. The existing keys are
+     * looked up with one query each and the accepted clients inserted in batches.
+     *
+     * @return the refused clients by position in the list
+     */
+    public Map<Integer, RuntimeException> importAll(List<Client> clients) {
+        Set<String> licenses = new HashSet<>(clientRepository.findExistingLicenseNumbers(
+            clients.stream().map(Client::getLicenseNumber).collect(Collectors.toSet())));
+        Set<List<Object>> identities = clientRepository.findByLastNamesAndBirthDates(
+                clients.stream().map(Client::getLastName).collect(Collectors.toSet()),
+                clients.stream().map(Client::getBirthDate).collect(Collectors.toSet()))
+            .stream()
+            .map(ClientService::identity)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        Map<Integer, RuntimeException> rejections = new HashMap<>();
+        List<Client> accepted = new ArrayList<>(clients.size());
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            if (identities.contains(identity(client))) {
+                rejections.put(i, new DuplicateClientException(
+                    String.format("A client with name '%s %s' and birth date '%s' already exists. " +
+                        "Clients must be unique by their full name and birth date.",
+                        client.getFirstName(), client.getLastName(), client.getBirthDate())));
+            } else if (licenses.contains(client.getLicenseNumber())) {
+                rejections.put(i, new DuplicateLicenseException(
+                    String.format("License number '%s' is already registered to another client. " +
+                        "Each license number must be unique", client.getLicenseNumber())));
+            } else {
+                identities.add(identity(client));
+                licenses.add(client.getLicenseNumber());
+                accepted.add(new Client(null, client.getFirstName(), client.getLastName(), client.getAddress(),
+                    client.getLicenseNumber(), client.getBirthDate()));
+            }
+        }
+        clientRepository.insertAll(accepted);
+        return rejections;
+    }
+
     public Client findById(UUID id) {
         return clientRepository.findById(id)
             .orElseThrow(() -> new ClientNotFoundException(
@@ -61,20 +100,32 @@ public class ClientService {
         return clientRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Client> findSlice(Pageable pageable) {
+        return clientRepository.findSlice(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return clientRepository.estimateCount();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Client> findAfter(String afterLastName, UUID afterId, int limit) {
+        return clientRepository.findAfter(afterLastName, afterId, limit);
+    }
+
     public boolean exists(UUID id) {
-        return clientRepository.findById(id).isPresent();
+        return clientRepository.existsById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        return clientRepository.findExistingIds(ids);
     }
 
     public Client update(UUID id, String firstName, String lastName, String address, String licenseNumber, LocalDate birthDate) {
         Client client = findById(id);
-        
-        if (clientRepository.existsByLicenseNumberAndIdNot(licenseNumber, id)) {
-            throw new DuplicateLicenseException(
-                String.format("License number '%s' is already registered to another client. " +
-                    "Each license number must be unique.", licenseNumber)
-            );
-        }
-        
         client.setFirstName(firstName);
         client.setLastName(lastName);
         client.setAddress(address);
@@ -91,4 +142,8 @@ public class ClientService {
         }
         clientRepository.deleteById(id);
     }
+
+    private static List<Object> identity(Client client) {
+        return List.of(client.getFirstName(), client.getLastName(), client.getBirthDate());
+    }
 }
@@ -6,4 +6,7 @@ public final class ContractConstants {
     public static final int MINIMUM_CLIENT_AGE_FOR_RENTAL = 18;
     public static final int MINIMUM_CONTRACT_DURATION_IN_DAYS = 1;
     public static final int MAXIMUM_CONTRACT_DURATION_IN_DAYS = 365;
+
+    /** Database constraint rejecting overlapping occupying contracts of one vehicle (V6 migration). */
+    public static final String VEHICLE_PERIOD_EXCLUSION_CONSTRAINT = "ex_contract_vehicle_period";
 }
@@ -0,0 +1,15 @@
+package com.bfb.business.contract.event;
+
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+
+/**
+ * Published by ContractService whenever a contract is created or changes status.
+ * previousStatus is null for newly created contracts.
+ */
+public record ContractStateChangedEvent(Contract contract, ContractStatus previousStatus) {
+
+    public static ContractStateChangedEvent created(Contract contract) {
+        return new ContractStateChangedEvent(contract, null);
+    }
+}
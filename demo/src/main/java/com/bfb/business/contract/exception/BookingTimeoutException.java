@@ -0,0 +1,10 @@
+package com.bfb.business.contract.exception;
+
+/**
+ * The booking path did not answer in time; the booking was not recorded and can be retried.
+ */
+public class BookingTimeoutException extends RuntimeException {
+    public BookingTimeoutException(String message) {
+        super(message);
+    }
+}
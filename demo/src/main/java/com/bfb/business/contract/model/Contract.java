@@ -11,6 +11,7 @@ public class Contract {
     private LocalDate startDate;
     private LocalDate endDate;
     private ContractStatus status;
+    private Long version;
 
     public Contract() {
     }
@@ -72,6 +73,17 @@ public class Contract {
         this.status = status;
     }
 
+    /**
+     * Optimistic-locking version of the stored contract, null until it is first saved.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void start() {
         this.status = this.status.transitionTo(ContractStatus.IN_PROGRESS);
     }
@@ -44,6 +44,19 @@ public enum ContractStatus {
 
     public abstract Set<ContractStatus> getAllowedTransitions();
 
+    /**
+     * Statuses from which a contract may move to this one.
+     */
+    public Set<ContractStatus> getAllowedSources() {
+        Set<ContractStatus> sources = EnumSet.noneOf(ContractStatus.class);
+        for (ContractStatus status : values()) {
+            if (status.getAllowedTransitions().contains(this)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
     public ContractStatus transitionTo(ContractStatus target) {
         if (!getAllowedTransitions().contains(target)) {
             throw new TransitionNotAllowedException(
@@ -57,4 +70,11 @@ public enum ContractStatus {
     public boolean canTransitionTo(ContractStatus target) {
         return getAllowedTransitions().contains(target);
     }
+
+    /**
+     * Statuses in which a contract blocks its vehicle for its period.
+     */
+    public static Set<ContractStatus> occupyingStatuses() {
+        return EnumSet.of(PENDING, IN_PROGRESS, LATE);
+    }
 }
@@ -0,0 +1,21 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.model.Contract;
+
+/**
+ * Outcome of one item of a batch creation: either the created contract or the reason it was refused.
+ */
+public record BatchItemResult(int index, Contract contract, RuntimeException rejection) {
+
+    public static BatchItemResult created(int index, Contract contract) {
+        return new BatchItemResult(index, contract, null);
+    }
+
+    public static BatchItemResult rejected(int index, RuntimeException rejection) {
+        return new BatchItemResult(index, null, rejection);
+    }
+
+    public boolean isCreated() {
+        return contract != null;
+    }
+}
@@ -0,0 +1,349 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.exception.BookingTimeoutException;
+import com.bfb.business.contract.exception.OverlapException;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import com.bfb.business.contract.validation.ContractValidationChain;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer booking path. Each create is routed by vehicle ID to one of N lanes;
+ * a lane is one thread, so it is the only writer for its vehicles and can check overlaps
+ * without locks. A lane validates a drained batch of requests, also against the requests
+ * it accepted earlier in the same batch, then commits all accepted contracts in one
+ * transaction (group commit).
+ * Callers wait at most the configured timeout, queueing included, while their booking has not
+ * been claimed for a commit. A booking that times out before is abandoned and never written, so
+ * the timeout answer is final and a retry cannot double book; once claimed, the caller waits for
+ * the outcome of that commit instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.contract", name = "creation-mode", havingValue = "sequenced")
+public class BookingSequencer implements ContractCreator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSequencer.class);
+
+    private final ContractValidationChain validationChain;
+    private final ContractRepository contractRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long timeoutNanos;
+    private final Lane[] lanes;
+
+    public BookingSequencer(
+            ContractValidationChain validationChain,
+            ContractRepository contractRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${bfb.booking.sequencer.lanes:0}") int laneCount,
+            @Value("${bfb.booking.sequencer.batch-size:32}") int batchSize,
+            @Value("${bfb.booking.sequencer.queue-capacity:1024}") int queueCapacity,
+            @Value("${bfb.booking.sequencer.timeout-ms:5000}") long timeoutMs) {
+        this.validationChain = validationChain;
+        this.contractRepository = contractRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i, queueCapacity, meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+        logger.info("Booking sequencer started with {} lanes, batch size {}", lanes.length, batchSize);
+    }
+
+    /**
+     * Blocks until the booking is committed or rejected, or until the timeout; a full lane queue
+     * blocks the caller within the same timeout. A booking its lane is already committing is
+     * waited for past the timeout.
+     */
+    @Override
+    public Contract create(ContractCreationContext context) {
+        Lane lane = lanes[Math.floorMod(context.getVehicleId().hashCode(), lanes.length)];
+        BookingRequest request = new BookingRequest(context, lane.latency);
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            if (!lane.queue.offer(request, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw timeout(lane, "queue is full");
+            }
+            return request.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            BookingTimeoutException timedOut = timeout(lane, "no answer");
+            if (request.abandon(timedOut)) {
+                throw timedOut;
+            }
+            return awaitCommit(request);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.abandon(e);
+            throw new IllegalStateException("Interrupted while waiting for booking", e);
+        }
+    }
+
+    private static Contract awaitCommit(BookingRequest request) {
+        try {
+            return request.result.get();
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking", e);
+        }
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException("Booking failed", e.getCause());
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Stops the lanes and fails the bookings still queued, so no caller waits for its timeout.
+     */
+    @PreDestroy
+    void shutdown() {
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    private BookingTimeoutException timeout(Lane lane, String reason) {
+        return new BookingTimeoutException(String.format(
+            "Booking not confirmed within %d ms (%s: %s), retry the request",
+            TimeUnit.NANOSECONDS.toMillis(timeoutNanos), lane.name, reason));
+    }
+
+    private List<BookingRequest> validate(List<BookingRequest> batch) {
+        List<BookingRequest> accepted = new ArrayList<>(batch.size());
+        for (BookingRequest request : batch) {
+            if (request.result.isDone()) {
+                continue;
+            }
+            try {
+                validationChain.validateAll(request.context);
+                checkAgainstAccepted(request.context, accepted);
+                accepted.add(request);
+            } catch (RuntimeException e) {
+                request.fail(e);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Contracts accepted earlier in this batch are not committed yet, so the
+     * validation chain cannot see them.
+     */
+    private static void checkAgainstAccepted(ContractCreationContext context, List<BookingRequest> accepted) {
+        Period period = Period.of(context.getStartDate(), context.getEndDate());
+        for (BookingRequest other : accepted) {
+            if (other.context.getVehicleId().equals(context.getVehicleId())
+                    && period.overlapsWith(Period.of(other.context.getStartDate(), other.context.getEndDate()))) {
+                throw new OverlapException(
+                    String.format("Cannot create contract: Vehicle '%s' is already booked during %s to %s. " +
+                        "Conflicting booking is being committed concurrently",
+                        context.getVehicleId(), context.getStartDate(), context.getEndDate())
+                );
+            }
+        }
+    }
+
+    private void commit(List<BookingRequest> accepted) {
+        // a booking abandoned by its caller since validation is not written
+        accepted.removeIf(request -> !request.claim());
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            List<Contract> saved = transactionTemplate.execute(status -> {
+                List<Contract> contracts = new ArrayList<>(accepted.size());
+                for (BookingRequest request : accepted) {
+                    contracts.add(insert(request.context));
+                }
+                return contracts;
+            });
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).succeed(saved.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            logger.warn("Group commit of {} bookings failed, retrying one by one", accepted.size(), batchFailure);
+            for (BookingRequest request : accepted) {
+                try {
+                    request.succeed(transactionTemplate.execute(status -> insert(request.context)));
+                } catch (RuntimeException e) {
+                    request.fail(e);
+                }
+            }
+        }
+    }
+
+    private Contract insert(ContractCreationContext context) {
+        Contract contract = new Contract(null, context.getClientId(), context.getVehicleId(),
+            context.getStartDate(), context.getEndDate(), ContractStatus.PENDING);
+        Contract saved = contractRepository.save(contract);
+        eventPublisher.publishEvent(ContractStateChangedEvent.created(saved));
+        return saved;
+    }
+
+    private final class Lane implements Runnable {
+
+        private final String name;
+        private final BlockingQueue<BookingRequest> queue;
+        private final Timer latency;
+        private final DistributionSummary batchSizes;
+        private Thread thread;
+
+        private Lane(int index, int capacity, MeterRegistry meterRegistry) {
+            this.name = "booking-lane-" + index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            String lane = String.valueOf(index);
+            Gauge.builder("bfb.booking.lane.queue.depth", queue, BlockingQueue::size)
+                .description("Bookings waiting in the lane queue")
+                .tag("lane", lane)
+                .register(meterRegistry);
+            this.latency = Timer.builder("bfb.booking.lane.latency")
+                .description("Time from enqueue to commit or rejection")
+                .tag("lane", lane)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+            this.batchSizes = DistributionSummary.builder("bfb.booking.lane.batch.size")
+                .description("Bookings drained per group commit")
+                .tag("lane", lane)
+                .register(meterRegistry);
+        }
+
+        private void start() {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+            List<BookingRequest> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.forEach(request -> request.abandon(new BookingTimeoutException(
+                "Booking sequencer is shutting down, retry the request")));
+        }
+
+        /**
+         * Anything a batch throws fails that batch only: the lane keeps serving its queue.
+         */
+        @Override
+        public void run() {
+            List<BookingRequest> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(batch, batchSize - 1);
+                batchSizes.record(batch.size());
+                try {
+                    commit(validate(batch));
+                } catch (Throwable e) {
+                    logger.error("Unexpected error in {}", name, e);
+                    batch.forEach(request -> request.fail(e));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static final class BookingRequest {
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int ABANDONED = 2;
+
+        private final ContractCreationContext context;
+        private final Timer latency;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Contract> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private BookingRequest(ContractCreationContext context, Timer latency) {
+            this.context = context;
+            this.latency = latency;
+        }
+
+        /**
+         * Reserves the booking for a commit; false when its caller gave up first.
+         */
+        private boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        /**
+         * Gives the booking up unless a commit has claimed it; false when it is being written.
+         */
+        private boolean abandon(Throwable cause) {
+            if (!state.compareAndSet(QUEUED, ABANDONED)) {
+                return false;
+            }
+            fail(cause);
+            return true;
+        }
+
+        // Latency is recorded before completing so the caller never observes a booking the metrics miss
+        private void succeed(Contract contract) {
+            latency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            result.complete(contract);
+        }
+
+        private void fail(Throwable cause) {
+            if (result.isDone()) {
+                return;
+            }
+            latency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            result.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.validation.BatchContractValidator;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates many contracts at once: validated as a set, inserted with a single saveAll.
+ * Each call inserts in its own transaction, so callers uploading large files should split them into chunks.
+ * If that insert fails, e.g. on a booking committed concurrently, the chunk is retried one contract
+ * per transaction so only the offending items are refused.
+ */
+@Service
+public class ContractBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractBatchService.class);
+
+    private final BatchContractValidator batchValidator;
+    private final ContractRepository contractRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ContractBatchService(
+            BatchContractValidator batchValidator,
+            ContractRepository contractRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.batchValidator = batchValidator;
+        this.contractRepository = contractRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param indexes position of each context in the overall upload, used to number results
+     * @return one result per context, in input order
+     */
+    public List<BatchItemResult> createAll(List<ContractCreationContext> contexts, List<Integer> indexes) {
+        Map<Integer, RuntimeException> rejections = new HashMap<>(batchValidator.validateAll(contexts, indexes));
+
+        List<Integer> acceptedItems = new ArrayList<>(contexts.size() - rejections.size());
+        List<Contract> accepted = new ArrayList<>(contexts.size() - rejections.size());
+        for (int i = 0; i < contexts.size(); i++) {
+            if (!rejections.containsKey(i)) {
+                ContractCreationContext context = contexts.get(i);
+                acceptedItems.add(i);
+                accepted.add(new Contract(null, context.getClientId(), context.getVehicleId(),
+                    context.getStartDate(), context.getEndDate(), ContractStatus.PENDING));
+            }
+        }
+
+        Map<Integer, Contract> saved = new HashMap<>();
+        try {
+            List<Contract> contracts = transactionTemplate.execute(status -> insert(accepted));
+            for (int i = 0; i < acceptedItems.size(); i++) {
+                saved.put(acceptedItems.get(i), contracts.get(i));
+            }
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Insert of {} batch contracts failed, retrying one by one", accepted.size(), chunkFailure);
+            for (int i = 0; i < acceptedItems.size(); i++) {
+                Contract contract = accepted.get(i);
+                try {
+                    saved.put(acceptedItems.get(i), transactionTemplate.execute(status -> insert(List.of(contract)).get(0)));
+                } catch (RuntimeException e) {
+                    rejections.put(acceptedItems.get(i), e);
+                }
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(contexts.size());
+        for (int i = 0; i < contexts.size(); i++) {
+            Contract contract = saved.get(i);
+            results.add(contract != null
+                ? BatchItemResult.created(indexes.get(i), contract)
+                : BatchItemResult.rejected(indexes.get(i), rejections.get(i)));
+        }
+
+        log.debug("Batch of {} contracts: {} created, {} rejected", contexts.size(), saved.size(), rejections.size());
+        return results;
+    }
+
+    private List<Contract> insert(List<Contract> contracts) {
+        List<Contract> saved = contractRepository.saveAll(contracts);
+        saved.forEach(contract -> eventPublisher.publishEvent(ContractStateChangedEvent.created(contract)));
+        return saved;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.validation.ContractCreationContext;
+
+/**
+ * Validates and persists a new PENDING contract.
+ * The implementation is selected with bfb.contract.creation-mode.
+ */
+public interface ContractCreator {
+    Contract create(ContractCreationContext context);
+}
@@ -2,22 +2,94 @@ package com.bfb.business.contract.service;
 
 import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ContractRepository {
     Contract save(Contract contract);
+
+    /**
+     * Inserts the new PENDING contract in a single statement, provided its client exists, its
+     * vehicle exists and is not BROKEN, and no occupying contract of the vehicle overlaps its period.
+     * Returns the inserted contract, or empty when one of these conditions does not hold.
+     */
+    Optional<Contract> insertIfBookable(Contract contract);
+    List<Contract> saveAll(List<Contract> contracts);
     Optional<Contract> findById(UUID id);
     List<Contract> findByCriteria(UUID clientId, UUID vehicleId, ContractStatus status);
+
+    /**
+     * Hands every matching contract to {@code action} in id order without holding them all in
+     * memory, and returns how many there were.
+     */
+    long forEachByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Consumer<Contract> action);
     Page<Contract> findByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Pageable pageable);
+    Slice<Contract> findSliceByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Pageable pageable);
+
+    /**
+     * Approximate number of contracts matching the criteria; may lag recent writes.
+     */
+    long estimateCount(UUID clientId, UUID vehicleId, ContractStatus status);
+
+    /**
+     * Keyset page in (startDate, id) order: up to {@code limit} matching contracts after the given
+     * position, or from the start when {@code afterId} is null.
+     */
+    List<Contract> findByCriteriaAfter(UUID clientId, UUID vehicleId, ContractStatus status,
+                                       LocalDate afterStartDate, UUID afterId, int limit);
+
+    /**
+     * Keyset page of one client's contracts, newest first in (startDate, id) descending order:
+     * up to {@code limit} contracts before the given position, or from the newest when
+     * {@code beforeId} is null.
+     */
+    List<Contract> findByClientBefore(UUID clientId, LocalDate beforeStartDate, UUID beforeId, int limit);
     List<Contract> findOverlappingContracts(UUID vehicleId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Occupying contracts overlapping, for each vehicle, the period it is mapped to.
+     */
+    List<Contract> findOverlappingContractsForVehicles(Map<UUID, Period> periodsByVehicle);
+
     List<Contract> findByStatus(ContractStatus status);
     List<Contract> findByVehicleIdAndStatus(UUID vehicleId, ContractStatus status);
     
     List<Contract> findOverdueContracts(ContractStatus status, LocalDate date);
+
+    /**
+     * Moves up to {@code limit} contracts in status {@code from} that ended before {@code date} to
+     * status {@code to}, in one transaction, and returns them in their new status.
+     * An empty result means no such contract is left.
+     */
+    List<Contract> transitionOverdue(ContractStatus from, ContractStatus to, LocalDate date, int limit);
+
+    /**
+     * Same as {@link #transitionOverdue} restricted to the given contracts; ids that no longer match
+     * (other status, not yet overdue, deleted) are skipped.
+     */
+    List<Contract> transitionOverdue(Collection<UUID> ids, ContractStatus from, ContractStatus to, LocalDate date);
+
+    /**
+     * Moves every contract in status {@code from} booked on one of the given vehicles to status
+     * {@code to}, in one transaction, and returns them in their new status.
+     */
+    List<Contract> transitionForVehicles(Collection<UUID> vehicleIds, ContractStatus from, ContractStatus to);
+
+    /**
+     * Moves one contract to status {@code to} with a single conditional UPDATE, provided it is in one
+     * of the {@code from} statuses, and increments its version. Returns the contract as it was just
+     * before the update, or empty when no row matched: the contract is missing or in another status.
+     */
+    Optional<Contract> transition(UUID id, Set<ContractStatus> from, ContractStatus to);
 }
@@ -6,6 +6,10 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Nightly scan for overdue contracts. With the late timer enabled it is only a reconciliation pass
+ * and normally finds nothing left to mark.
+ */
 @Component
 @ConditionalOnProperty(
     prefix = "bfb.scheduling.mark-late-job",
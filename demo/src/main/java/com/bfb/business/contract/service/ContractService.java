@@ -1,101 +1,187 @@
 package com.bfb.business.contract.service;
 
+import com.bfb.business.contract.event.ContractStateChangedEvent;
 import com.bfb.business.contract.exception.*;
 import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.model.ContractStatus;
 import com.bfb.business.contract.validation.ContractCreationContext;
-import com.bfb.business.contract.validation.ContractValidationChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
 public class ContractService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ContractService.class);
+
     private final ContractRepository contractRepository;
-    private final ContractValidationChain validationChain;
+    private final ContractCreator contractCreator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int markLateChunkSize;
 
     public ContractService(
             ContractRepository contractRepository,
-            ContractValidationChain validationChain) {
+            ContractCreator contractCreator,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${bfb.scheduling.mark-late-job.chunk-size:1000}") int markLateChunkSize) {
         this.contractRepository = contractRepository;
-        this.validationChain = validationChain;
+        this.contractCreator = contractCreator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.markLateChunkSize = markLateChunkSize;
     }
 
+    /**
+     * Does not open a transaction itself: the configured ContractCreator owns its transactions,
+     * so a caller waiting on a sequenced booking does not hold a pooled connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Contract create(UUID clientId, UUID vehicleId, LocalDate startDate, LocalDate endDate) {
-        ContractCreationContext context = new ContractCreationContext(clientId, vehicleId, startDate, endDate);
-        validationChain.validateAll(context);
-        return createAndSaveContract(clientId, vehicleId, startDate, endDate);
-    }
-    
-    private Contract createAndSaveContract(UUID clientId, UUID vehicleId, 
-                                          LocalDate startDate, LocalDate endDate) {
-        Contract contract = new Contract(null, clientId, vehicleId, startDate, endDate, 
-                                        ContractStatus.PENDING);
-        return contractRepository.save(contract);
+        return contractCreator.create(new ContractCreationContext(clientId, vehicleId, startDate, endDate));
     }
 
     public Contract start(UUID contractId) {
-        Contract contract = findByIdOrThrow(contractId);
-        contract.start();
-        return contractRepository.save(contract);
+        return transition(contractId, ContractStatus.IN_PROGRESS);
     }
 
     public Contract terminate(UUID contractId) {
-        Contract contract = findByIdOrThrow(contractId);
-        contract.terminate();
-        return contractRepository.save(contract);
+        return transition(contractId, ContractStatus.COMPLETED);
     }
 
     public Contract cancel(UUID contractId) {
-        Contract contract = findByIdOrThrow(contractId);
-        contract.cancel();
-        return contractRepository.save(contract);
+        return transition(contractId, ContractStatus.CANCELLED);
     }
 
+    /**
+     * Runs outside any transaction: each chunk is committed on its own, so a large backlog neither
+     * holds one long transaction nor loses finished chunks when a later one fails.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int markLateIfOverdue() {
         LocalDate today = LocalDate.now();
-        
-        List<Contract> overdueContracts = contractRepository.findOverdueContracts(
-            ContractStatus.IN_PROGRESS, 
-            today
-        );
-        
+        ContractStatus from = ContractStatus.IN_PROGRESS;
+        ContractStatus to = from.transitionTo(ContractStatus.LATE);
+        long started = System.nanoTime();
+
         int count = 0;
-        for (Contract contract : overdueContracts) {
-            contract.markLate();
-            contractRepository.save(contract);
-            count++;
-        }
-        
+        int chunks = 0;
+        List<Contract> chunk;
+        do {
+            chunk = inChunkTransaction(
+                () -> contractRepository.transitionOverdue(from, to, today, markLateChunkSize), from);
+            count += chunk.size();
+            chunks += chunk.isEmpty() ? 0 : 1;
+        } while (chunk.size() == markLateChunkSize);
+
+        logger.info("Marked {} contracts as LATE in {} chunks ({} ms)",
+            count, chunks, (System.nanoTime() - started) / 1_000_000);
         return count;
     }
 
-    public int cancelPendingContractsForVehicle(UUID vehicleId) {
-        List<Contract> pendingContracts = contractRepository.findByVehicleIdAndStatus(
-            vehicleId, 
-            ContractStatus.PENDING
-        );
-        
+    /**
+     * Marks the given contracts LATE if they are still IN_PROGRESS and overdue; others are skipped.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int markLate(Collection<UUID> contractIds) {
+        LocalDate today = LocalDate.now();
+        ContractStatus from = ContractStatus.IN_PROGRESS;
+        ContractStatus to = from.transitionTo(ContractStatus.LATE);
+
+        List<UUID> ids = List.copyOf(contractIds);
         int count = 0;
-        for (Contract contract : pendingContracts) {
-            contract.cancel();
-            contractRepository.save(contract);
-            count++;
+        for (int start = 0; start < ids.size(); start += markLateChunkSize) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + markLateChunkSize, ids.size()));
+            List<Contract> moved = inChunkTransaction(
+                () -> contractRepository.transitionOverdue(chunk, from, to, today), from);
+            count += moved.size();
         }
-        
         return count;
     }
 
+    /**
+     * Runs one chunk of a transition and publishes its events in the same transaction, so
+     * before-commit listeners such as the outbox commit together with the status change.
+     */
+    private List<Contract> inChunkTransaction(Supplier<List<Contract>> transition, ContractStatus from) {
+        return transactionTemplate.execute(status -> {
+            List<Contract> moved = transition.get();
+            moved.forEach(contract -> eventPublisher.publishEvent(new ContractStateChangedEvent(contract, from)));
+            return moved;
+        });
+    }
+
+    public int cancelPendingContractsForVehicle(UUID vehicleId) {
+        return cancelPendingContractsForVehicles(List.of(vehicleId)).size();
+    }
+
+    /**
+     * Cancels the pending contracts of all given vehicles with one locking select and one update,
+     * and returns the ids of the cancelled contracts.
+     */
+    public List<UUID> cancelPendingContractsForVehicles(Collection<UUID> vehicleIds) {
+        ContractStatus from = ContractStatus.PENDING;
+        ContractStatus to = from.transitionTo(ContractStatus.CANCELLED);
+
+        List<Contract> cancelled = contractRepository.transitionForVehicles(Set.copyOf(vehicleIds), from, to);
+        cancelled.forEach(contract -> eventPublisher.publishEvent(new ContractStateChangedEvent(contract, from)));
+        return cancelled.stream().map(Contract::getId).toList();
+    }
+
     @Transactional(readOnly = true)
     public Contract findById(UUID id) {
         return findByIdOrThrow(id);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Contract> findSliceByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Pageable pageable) {
+        return contractRepository.findSliceByCriteria(clientId, vehicleId, status, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateCount(UUID clientId, UUID vehicleId, ContractStatus status) {
+        return contractRepository.estimateCount(clientId, vehicleId, status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Contract> findByCriteriaAfter(UUID clientId, UUID vehicleId, ContractStatus status,
+                                              LocalDate afterStartDate, UUID afterId, int limit) {
+        return contractRepository.findByCriteriaAfter(clientId, vehicleId, status, afterStartDate, afterId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Contract> findByClientBefore(UUID clientId, LocalDate beforeStartDate, UUID beforeId, int limit) {
+        return contractRepository.findByClientBefore(clientId, beforeStartDate, beforeId, limit);
+    }
+
+    /**
+     * Streams every matching contract to {@code action} in one read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Consumer<Contract> action) {
+        return contractRepository.forEachByCriteria(clientId, vehicleId, status, action);
+    }
+
     @Transactional(readOnly = true)
     public List<Contract> findByCriteria(UUID clientId, UUID vehicleId, ContractStatus status) {
         return contractRepository.findByCriteria(clientId, vehicleId, status);
@@ -110,6 +196,26 @@ public class ContractService {
         return contractRepository.findByCriteria(clientId, vehicleId, status, pageable);
     }
 
+    /**
+     * Applies the transition with one conditional UPDATE guarded by the allowed source statuses.
+     * Only when it matches no row is the contract read, to tell a missing contract and a status
+     * that forbids the transition from a status changed between the two statements.
+     */
+    private Contract transition(UUID contractId, ContractStatus to) {
+        Optional<Contract> moved = contractRepository.transition(contractId, to.getAllowedSources(), to);
+        if (moved.isEmpty()) {
+            findByIdOrThrow(contractId).getStatus().transitionTo(to);
+            throw new OptimisticLockingFailureException(
+                String.format("Contract %s was modified concurrently, retry the request", contractId));
+        }
+        Contract contract = moved.get();
+        ContractStatus previousStatus = contract.getStatus();
+        contract.setStatus(previousStatus.transitionTo(to));
+        contract.setVersion(contract.getVersion() + 1);
+        eventPublisher.publishEvent(new ContractStateChangedEvent(contract, previousStatus));
+        return contract;
+    }
+
     private Contract findByIdOrThrow(UUID id) {
         return contractRepository.findById(id)
             .orElseThrow(() -> new ContractNotFoundException(
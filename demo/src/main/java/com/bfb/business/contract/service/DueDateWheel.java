@@ -0,0 +1,158 @@
+package com.bfb.business.contract.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Two-level hierarchical timer wheel with day granularity.
+ * <p>
+ * Level 0 has one slot per day for the next 64 days; level 1 has one slot per 64-day span for the
+ * following ~11 years; anything further waits in an overflow bucket. A level-1 slot is cascaded
+ * into level 0 when its span starts, so advancing one day only touches the due slot.
+ * Each entry costs three longs (the id and its due day) and nothing else. Not thread-safe.
+ */
+final class DueDateWheel {
+
+    private static final int SHIFT = 6;
+    private static final int SLOTS = 1 << SHIFT;
+    private static final int MASK = SLOTS - 1;
+
+    private final Bucket[] days = newBuckets();
+    private final Bucket[] spans = newBuckets();
+    private Bucket overflow = new Bucket();
+    private final Bucket overdue = new Bucket();
+    private long currentDay;
+    private int size;
+
+    /**
+     * @param currentDay epoch day already elapsed: entries due on or before it are returned by the next advance
+     */
+    DueDateWheel(long currentDay) {
+        this.currentDay = currentDay;
+    }
+
+    void add(UUID id, long dueDay) {
+        place(id.getMostSignificantBits(), id.getLeastSignificantBits(), dueDay);
+        size++;
+    }
+
+    boolean remove(UUID id, long dueDay) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        // An entry may still sit in level 1 although its day is already in level 0's range
+        for (Bucket bucket : new Bucket[] {days[(int) (dueDay & MASK)], spans[(int) ((dueDay >> SHIFT) & MASK)], overflow, overdue}) {
+            if (bucket.remove(msb, lsb, dueDay)) {
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the wheel forward to {@code day} and returns every id due on or before it.
+     */
+    List<UUID> advanceTo(long day) {
+        List<UUID> due = new ArrayList<>();
+        while (currentDay < day) {
+            currentDay++;
+            if ((currentDay & MASK) == 0) {
+                cascade();
+            }
+            days[(int) (currentDay & MASK)].drainTo(due);
+        }
+        // Also receives cascaded entries due on the first day of their span
+        overdue.drainTo(due);
+        size -= due.size();
+        return due;
+    }
+
+    long currentDay() {
+        return currentDay;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(long msb, long lsb, long dueDay) {
+        if (dueDay <= currentDay) {
+            overdue.add(msb, lsb, dueDay);
+        } else if (dueDay - currentDay <= SLOTS - 1) {
+            days[(int) (dueDay & MASK)].add(msb, lsb, dueDay);
+        } else if ((dueDay >> SHIFT) - (currentDay >> SHIFT) < SLOTS) {
+            spans[(int) ((dueDay >> SHIFT) & MASK)].add(msb, lsb, dueDay);
+        } else {
+            overflow.add(msb, lsb, dueDay);
+        }
+    }
+
+    /**
+     * Called when a new 64-day span starts: its level-1 slot, and any overflow entry now within
+     * reach, are redistributed with the current day as reference.
+     */
+    private void cascade() {
+        int slot = (int) ((currentDay >> SHIFT) & MASK);
+        Bucket span = spans[slot];
+        Bucket far = overflow;
+        spans[slot] = new Bucket();
+        overflow = new Bucket();
+        span.forEach(this::place);
+        far.forEach(this::place);
+    }
+
+    private static Bucket[] newBuckets() {
+        Bucket[] buckets = new Bucket[SLOTS];
+        Arrays.setAll(buckets, i -> new Bucket());
+        return buckets;
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(long msb, long lsb, long dueDay);
+    }
+
+    /**
+     * Growable array of (msb, lsb, dueDay) triples.
+     */
+    private static final class Bucket {
+        private long[] entries = new long[0];
+        private int length;
+
+        void add(long msb, long lsb, long dueDay) {
+            if (length + 3 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(12, entries.length * 2));
+            }
+            entries[length++] = msb;
+            entries[length++] = lsb;
+            entries[length++] = dueDay;
+        }
+
+        boolean remove(long msb, long lsb, long dueDay) {
+            for (int i = 0; i < length; i += 3) {
+                if (entries[i] == msb && entries[i + 1] == lsb && entries[i + 2] == dueDay) {
+                    length -= 3;
+                    System.arraycopy(entries, length, entries, i, 3);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void drainTo(List<UUID> target) {
+            for (int i = 0; i < length; i += 3) {
+                target.add(new UUID(entries[i], entries[i + 1]));
+            }
+            entries = new long[0];
+            length = 0;
+        }
+
+        void forEach(EntryConsumer consumer) {
+            for (int i = 0; i < length; i += 3) {
+                consumer.accept(entries[i], entries[i + 1], entries[i + 2]);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks contracts LATE as soon as the day after their end date starts, instead of waiting for the
+ * nightly scan. Every IN_PROGRESS contract sits in a {@link DueDateWheel} under the first day it is
+ * overdue; the wheel is loaded at startup and kept current from committed ContractStateChangedEvents.
+ * The nightly mark-late job stays on as a reconciliation pass for anything missed while the
+ * application was down or on another instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.scheduling.late-timer", name = "enabled", havingValue = "true")
+public class LateContractTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LateContractTimer.class);
+
+    private final ContractService contractService;
+    private final ContractRepository contractRepository;
+    private final Clock clock;
+    private final DueDateWheel wheel;
+
+    @Autowired
+    public LateContractTimer(ContractService contractService, ContractRepository contractRepository) {
+        this(contractService, contractRepository, Clock.systemDefaultZone());
+    }
+
+    LateContractTimer(ContractService contractService, ContractRepository contractRepository, Clock clock) {
+        this.contractService = contractService;
+        this.contractRepository = contractRepository;
+        this.clock = clock;
+        this.wheel = new DueDateWheel(LocalDate.now(clock).toEpochDay());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        List<Contract> inProgress = contractRepository.findByStatus(ContractStatus.IN_PROGRESS);
+        synchronized (wheel) {
+            inProgress.forEach(contract -> wheel.add(contract.getId(), dueDay(contract)));
+        }
+        logger.info("Late contract timer loaded with {} contracts in progress", inProgress.size());
+        tick();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractStateChanged(ContractStateChangedEvent event) {
+        Contract contract = event.contract();
+        if (contract.getStatus() == ContractStatus.IN_PROGRESS) {
+            boolean alreadyOverdue;
+            synchronized (wheel) {
+                wheel.add(contract.getId(), dueDay(contract));
+                alreadyOverdue = dueDay(contract) <= wheel.currentDay();
+            }
+            if (alreadyOverdue) {
+                tick();
+            }
+        } else if (event.previousStatus() == ContractStatus.IN_PROGRESS) {
+            synchronized (wheel) {
+                wheel.remove(contract.getId(), dueDay(contract));
+            }
+        }
+    }
+
+    /**
+     * Runs just after midnight; also safe to call at any time, it only fires what is due.
+     */
+    @Scheduled(cron = "${bfb.scheduling.late-timer.cron:1 0 0 * * ?}")
+    public void tick() {
+        List<UUID> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(LocalDate.now(clock).toEpochDay());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            int marked = contractService.markLate(due);
+            logger.info("Late contract timer fired for {} contracts, {} marked as LATE", due.size(), marked);
+        } catch (RuntimeException e) {
+            logger.error("Late contract timer failed for {} contracts; the nightly job will catch up", due.size(), e);
+        }
+    }
+
+    int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /** First day on which the contract counts as overdue. */
+    private static long dueDay(Contract contract) {
+        return contract.getEndDate().toEpochDay() + 1;
+    }
+}
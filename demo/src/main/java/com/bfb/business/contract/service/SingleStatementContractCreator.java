@@ -0,0 +1,60 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import com.bfb.business.contract.validation.ContractValidationChain;
+import com.bfb.business.contract.validation.DateValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creation path that books with one statement: the insert itself checks the client, the vehicle
+ * status and overlaps. The validation chain only runs after a rejection, to report its cause.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.contract", name = "creation-mode", havingValue = "single-statement")
+public class SingleStatementContractCreator implements ContractCreator {
+
+    private final ContractRepository contractRepository;
+    private final DateValidator dateValidator;
+    private final ContractValidationChain validationChain;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SingleStatementContractCreator(
+            ContractRepository contractRepository,
+            DateValidator dateValidator,
+            ContractValidationChain validationChain,
+            ApplicationEventPublisher eventPublisher) {
+        this.contractRepository = contractRepository;
+        this.dateValidator = dateValidator;
+        this.validationChain = validationChain;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public Contract create(ContractCreationContext context) {
+        dateValidator.validate(context);
+        Contract contract = new Contract(null, context.getClientId(), context.getVehicleId(),
+            context.getStartDate(), context.getEndDate(), ContractStatus.PENDING);
+        Contract saved = contractRepository.insertIfBookable(contract)
+            .orElseThrow(() -> rejection(context));
+        eventPublisher.publishEvent(ContractStateChangedEvent.created(saved));
+        return saved;
+    }
+
+    /**
+     * Throws the exception of the first failing check. Should every check pass by now, the
+     * blocking state went away between the insert and the diagnosis.
+     */
+    private RuntimeException rejection(ContractCreationContext context) {
+        validationChain.validateAll(context);
+        return new OptimisticLockingFailureException(String.format(
+            "Vehicle '%s' availability changed while booking, retry the request", context.getVehicleId()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import com.bfb.business.contract.validation.ContractValidationChain;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Default creation path: runs the validation chain, then inserts in the caller's thread.
+ * The chain runs before the insert transaction opens, so the caller holds no connection while
+ * parallel lookups borrow theirs.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "bfb.contract",
+    name = "creation-mode",
+    havingValue = "validating",
+    matchIfMissing = true
+)
+public class ValidatingContractCreator implements ContractCreator {
+
+    private final ContractRepository contractRepository;
+    private final ContractValidationChain validationChain;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ValidatingContractCreator(
+            ContractRepository contractRepository,
+            ContractValidationChain validationChain,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.contractRepository = contractRepository;
+        this.validationChain = validationChain;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Contract create(ContractCreationContext context) {
+        validationChain.validateAll(context);
+        return transactionTemplate.execute(status -> {
+            Contract contract = new Contract(null, context.getClientId(), context.getVehicleId(),
+                context.getStartDate(), context.getEndDate(), ContractStatus.PENDING);
+            Contract saved = contractRepository.save(contract);
+            eventPublisher.publishEvent(ContractStateChangedEvent.created(saved));
+            return saved;
+        });
+    }
+}
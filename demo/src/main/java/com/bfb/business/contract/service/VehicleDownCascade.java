@@ -0,0 +1,213 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.vehicle.event.VehicleMarkedDownEvent;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cancels the pending contracts of broken vehicles off the request thread. Committed
+ * VehicleMarkedDownEvents are queued by vehicle ID, so repeated events for a vehicle that is still
+ * waiting collapse into one; a single worker drains the queue in batches and cancels each batch
+ * with one bulk transition. The queue is bounded and publishers never wait on it: a vehicle that
+ * finds it full is dropped and the worker, once the queue is drained, sweeps all broken vehicles
+ * instead. Vehicles that are no longer broken when their turn comes are skipped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.vehicle.down-cascade", name = "enabled", havingValue = "true")
+public class VehicleDownCascade {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleDownCascade.class);
+
+    private final ContractService contractService;
+    private final VehicleService vehicleService;
+    private final int capacity;
+    private final int batchSize;
+    private final Set<UUID> queued = new LinkedHashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final DistributionSummary batchSizes;
+    private final Thread worker;
+    private boolean sweepPending;
+
+    public VehicleDownCascade(
+            ContractService contractService,
+            VehicleService vehicleService,
+            MeterRegistry meterRegistry,
+            @Value("${bfb.vehicle.down-cascade.queue-capacity:10000}") int capacity,
+            @Value("${bfb.vehicle.down-cascade.batch-size:200}") int batchSize) {
+        this.contractService = contractService;
+        this.vehicleService = vehicleService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        Gauge.builder("bfb.vehicle.down-cascade.queue.depth", this, VehicleDownCascade::pending)
+            .description("Broken vehicles waiting for their pending contracts to be cancelled")
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("bfb.vehicle.down-cascade.batch.size")
+            .description("Vehicles cascaded per bulk cancellation")
+            .register(meterRegistry);
+        this.worker = new Thread(this::run, "vehicle-down-cascade");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleMarkedDown(VehicleMarkedDownEvent event) {
+        submit(event.vehicleId());
+    }
+
+    /**
+     * Queues the vehicle without waiting. Returns false if the vehicle was already waiting or, the
+     * queue being full, is left to the next sweep.
+     */
+    boolean submit(UUID vehicleId) {
+        lock.lock();
+        try {
+            if (queued.contains(vehicleId)) {
+                return false;
+            }
+            if (queued.size() >= capacity) {
+                if (!sweepPending) {
+                    logger.warn("Cascade queue is full ({} vehicles), vehicle {} and the next ones are deferred "
+                        + "to a sweep of all broken vehicles", capacity, vehicleId);
+                }
+                sweepPending = true;
+                return false;
+            }
+            queued.add(vehicleId);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int pending() {
+        lock.lock();
+        try {
+            return queued.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.interrupt();
+        int left = pending();
+        if (left > 0) {
+            logger.warn("Stopping with {} broken vehicles whose pending contracts were not cancelled", left);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<UUID> batch;
+            try {
+                batch = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                sweep();
+            } else {
+                process(batch);
+            }
+        }
+    }
+
+    /**
+     * The next batch, or an empty one when the queue is drained and a sweep is due.
+     */
+    private List<UUID> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queued.isEmpty() && !sweepPending) {
+                notEmpty.await();
+            }
+            if (queued.isEmpty()) {
+                sweepPending = false;
+                return List.of();
+            }
+            List<UUID> batch = new ArrayList<>(Math.min(batchSize, queued.size()));
+            Iterator<UUID> it = queued.iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                batch.add(it.next());
+                it.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cascades every broken vehicle, covering those dropped while the queue was full.
+     */
+    private void sweep() {
+        List<UUID> broken;
+        try {
+            broken = vehicleService.findByStatus(VehicleStatus.BROKEN).stream().map(Vehicle::getId).toList();
+        } catch (RuntimeException e) {
+            logger.error("Could not list broken vehicles, deferred cascades were not run", e);
+            return;
+        }
+        logger.info("Sweeping {} broken vehicles after the cascade queue overflowed", broken.size());
+        for (int i = 0; i < broken.size(); i += batchSize) {
+            process(broken.subList(i, Math.min(i + batchSize, broken.size())));
+        }
+    }
+
+    private void process(List<UUID> batch) {
+        batchSizes.record(batch.size());
+        try {
+            cascade(batch);
+        } catch (RuntimeException batchFailure) {
+            logger.warn("Cascade of {} broken vehicles failed, retrying one by one", batch.size(), batchFailure);
+            for (UUID vehicleId : batch) {
+                try {
+                    cascade(List.of(vehicleId));
+                } catch (RuntimeException e) {
+                    logger.error("Could not cancel pending contracts of broken vehicle {}", vehicleId, e);
+                }
+            }
+        }
+    }
+
+    private void cascade(List<UUID> vehicleIds) {
+        Map<UUID, VehicleStatus> statuses = vehicleService.getStatuses(vehicleIds);
+        List<UUID> broken = vehicleIds.stream()
+            .filter(id -> statuses.get(id) == VehicleStatus.BROKEN)
+            .toList();
+        if (broken.isEmpty()) {
+            return;
+        }
+        List<UUID> cancelled = contractService.cancelPendingContractsForVehicles(broken);
+        logger.info("Cancelled {} pending contracts of {} broken vehicles", cancelled.size(), broken.size());
+    }
+}
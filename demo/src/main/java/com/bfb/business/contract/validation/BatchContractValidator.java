@@ -0,0 +1,171 @@
+package com.bfb.business.contract.validation;
+
+import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.exception.OverlapException;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.Period;
+import com.bfb.business.contract.service.ContractRepository;
+import com.bfb.business.vehicle.exception.VehicleNotFoundException;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based counterpart of {@link ContractValidationChain} for batch uploads.
+ * Runs the same rules in the same order, but with one query per rule for the whole batch
+ * instead of one per contract, and also rejects items overlapping an earlier item of the batch.
+ */
+@Component
+public class BatchContractValidator {
+
+    private final DateValidator dateValidator;
+    private final ClientService clientService;
+    private final VehicleService vehicleService;
+    private final ContractRepository contractRepository;
+
+    public BatchContractValidator(
+            DateValidator dateValidator,
+            ClientService clientService,
+            VehicleService vehicleService,
+            ContractRepository contractRepository) {
+        this.dateValidator = dateValidator;
+        this.clientService = clientService;
+        this.vehicleService = vehicleService;
+        this.contractRepository = contractRepository;
+    }
+
+    /**
+     * Validates every context of the batch.
+     *
+     * @param indexes position of each context in the overall upload, used to name conflicting items
+     * @return the rejection of each refused item, keyed by its position in {@code contexts}
+     */
+    public Map<Integer, RuntimeException> validateAll(List<ContractCreationContext> contexts, List<Integer> indexes) {
+        Map<Integer, RuntimeException> rejections = new HashMap<>();
+
+        for (int i = 0; i < contexts.size(); i++) {
+            try {
+                dateValidator.validate(contexts.get(i));
+            } catch (RuntimeException e) {
+                rejections.put(i, e);
+            }
+        }
+
+        Set<UUID> existingClients = clientService.findExistingIds(
+            idsOf(contexts, rejections, ContractCreationContext::getClientId));
+        for (int i = 0; i < contexts.size(); i++) {
+            ContractCreationContext context = contexts.get(i);
+            if (!rejections.containsKey(i) && !existingClients.contains(context.getClientId())) {
+                rejections.put(i, ClientExistenceValidator.unknownClient(context));
+            }
+        }
+
+        Map<UUID, VehicleStatus> vehicleStatuses = vehicleService.getStatuses(
+            idsOf(contexts, rejections, ContractCreationContext::getVehicleId));
+        for (int i = 0; i < contexts.size(); i++) {
+            ContractCreationContext context = contexts.get(i);
+            if (rejections.containsKey(i)) {
+                continue;
+            }
+            VehicleStatus status = vehicleStatuses.get(context.getVehicleId());
+            if (status == null) {
+                rejections.put(i, new VehicleNotFoundException(
+                    String.format("Vehicle %s not found", context.getVehicleId())
+                ));
+            } else if (status == VehicleStatus.BROKEN) {
+                rejections.put(i, VehicleAvailabilityValidator.vehicleBroken(context));
+            }
+        }
+
+        checkOverlaps(contexts, indexes, rejections);
+        return rejections;
+    }
+
+    /**
+     * Loads the occupying contracts of each vehicle within the span of its own items in one
+     * query, then checks each item against those and the items accepted before it.
+     */
+    private void checkOverlaps(
+            List<ContractCreationContext> contexts,
+            List<Integer> indexes,
+            Map<Integer, RuntimeException> rejections) {
+        Map<UUID, Period> spans = new HashMap<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            if (!rejections.containsKey(i)) {
+                spans.merge(contexts.get(i).getVehicleId(), periodOf(contexts.get(i)), BatchContractValidator::span);
+            }
+        }
+        if (spans.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<Contract>> occupied = contractRepository.findOverlappingContractsForVehicles(spans)
+            .stream()
+            .collect(Collectors.groupingBy(Contract::getVehicleId));
+        Map<UUID, List<Integer>> acceptedItems = new HashMap<>();
+
+        for (int i = 0; i < contexts.size(); i++) {
+            if (rejections.containsKey(i)) {
+                continue;
+            }
+            ContractCreationContext context = contexts.get(i);
+            Period period = periodOf(context);
+
+            List<Contract> conflicts = occupied.getOrDefault(context.getVehicleId(), List.of())
+                .stream()
+                .filter(contract -> Period.of(contract.getStartDate(), contract.getEndDate()).overlapsWith(period))
+                .collect(Collectors.toList());
+            if (!conflicts.isEmpty()) {
+                rejections.put(i, OverlapValidator.overlap(context, conflicts));
+                continue;
+            }
+
+            List<Integer> sameVehicle = acceptedItems.computeIfAbsent(context.getVehicleId(), id -> new ArrayList<>());
+            Integer conflictingItem = sameVehicle.stream()
+                .filter(j -> periodOf(contexts.get(j)).overlapsWith(period))
+                .findFirst()
+                .orElse(null);
+            if (conflictingItem != null) {
+                rejections.put(i, new OverlapException(
+                    String.format("Cannot create contract: Vehicle '%s' is already booked during %s to %s " +
+                        "by item %d of the same batch",
+                        context.getVehicleId(), context.getStartDate(), context.getEndDate(), indexes.get(conflictingItem))
+                ));
+            } else {
+                sameVehicle.add(i);
+            }
+        }
+    }
+
+    private static Period span(Period a, Period b) {
+        return Period.of(a.startDate().isBefore(b.startDate()) ? a.startDate() : b.startDate(),
+            a.endDate().isAfter(b.endDate()) ? a.endDate() : b.endDate());
+    }
+
+    private static Period periodOf(ContractCreationContext context) {
+        return Period.of(context.getStartDate(), context.getEndDate());
+    }
+
+    private static Set<UUID> idsOf(
+            List<ContractCreationContext> contexts,
+            Map<Integer, RuntimeException> rejections,
+            Function<ContractCreationContext, UUID> idExtractor) {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            if (!rejections.containsKey(i)) {
+                ids.add(idExtractor.apply(contexts.get(i)));
+            }
+        }
+        return ids;
+    }
+}
@@ -16,10 +16,14 @@ public class ClientExistenceValidator implements ContractValidator {
     @Override
     public void validate(ContractCreationContext context) {
         if (!clientService.exists(context.getClientId())) {
-            throw new ClientUnknownException(
-                String.format("Client with ID '%s' not found. Ensure the client exists before creating a contract.", 
-                    context.getClientId())
-            );
+            throw unknownClient(context);
         }
     }
+
+    static ClientUnknownException unknownClient(ContractCreationContext context) {
+        return new ClientUnknownException(
+            String.format("Client with ID '%s' not found. Ensure the client exists before creating a contract.", 
+                context.getClientId())
+        );
+    }
 }
@@ -1,28 +1,199 @@
 package com.bfb.business.contract.validation;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Component
 public class ContractValidationChain {
 
-    private final List<ContractValidator> validators;
+    private static final Logger logger = LoggerFactory.getLogger(ContractValidationChain.class);
 
+    /** Calls each validator needs before its figures are trusted for ordering. */
+    static final long MIN_SAMPLES = 50;
+    /** Validations between two recomputations of the adaptive order. */
+    static final long REORDER_INTERVAL = 256;
+
+    private final DateValidator dateValidator;
+    private final List<ContractValidator> lookupValidators;
+    private final Map<ContractValidator, ValidatorStats> stats = new IdentityHashMap<>();
+    private final ValidationMode mode;
+    private final boolean adaptiveOrdering;
+    private final ExecutorService executor;
+    private final AtomicLong validations = new AtomicLong();
+    private volatile List<ContractValidator> order;
+
+    /**
+     * In parallel mode the lookups run on pooled threads, each on its own connection, so they do not
+     * see rows the caller has written but not yet committed. The threads are capped below the
+     * connection pool size, so lookups alone can never hold every connection.
+     * Adaptive ordering only applies to sequential mode: in parallel mode every lookup runs anyway.
+     */
     public ContractValidationChain(
             DateValidator dateValidator,
             ClientExistenceValidator clientExistenceValidator,
             VehicleAvailabilityValidator vehicleAvailabilityValidator,
-            OverlapValidator overlapValidator) {
-        this.validators = List.of(
-            dateValidator,
+            OverlapValidator overlapValidator,
+            MeterRegistry meterRegistry,
+            @Value("${bfb.validation.mode:sequential}") String mode,
+            @Value("${bfb.validation.threads:16}") int threads,
+            @Value("${bfb.validation.adaptive-ordering.enabled:false}") boolean adaptiveOrdering,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.dateValidator = dateValidator;
+        // Order is the error precedence when several validators fail
+        this.lookupValidators = List.of(
             clientExistenceValidator,
             vehicleAvailabilityValidator,
             overlapValidator
         );
+        this.order = lookupValidators;
+        stats.put(dateValidator, new ValidatorStats(DateValidator.class.getSimpleName(), meterRegistry));
+        lookupValidators.forEach(validator ->
+            stats.put(validator, new ValidatorStats(validator.getClass().getSimpleName(), meterRegistry)));
+        this.mode = ValidationMode.of(mode);
+        this.adaptiveOrdering = adaptiveOrdering;
+        this.executor = this.mode == ValidationMode.PARALLEL
+            ? newExecutor(lookupThreads(threads, connectionPoolSize)) : null;
     }
 
+    /**
+     * Callers holding a transaction get the lookups run sequentially on their own connection even in
+     * parallel mode: a caller that held a connection while waiting for pooled lookups would let
+     * concurrent bookings drain the pool between them.
+     */
     public void validateAll(ContractCreationContext context) {
-        validators.forEach(validator -> validator.validate(context));
+        // Cheap and decisive: no lookup is worth starting for an incoherent period
+        timed(dateValidator, context);
+
+        if (mode == ValidationMode.PARALLEL && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            validateConcurrently(context);
+            return;
+        }
+        if (mode == ValidationMode.SEQUENTIAL && adaptiveOrdering
+                && validations.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        order.forEach(validator -> timed(validator, context));
+    }
+
+    private void validateConcurrently(ContractCreationContext context) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(lookupValidators.size());
+        for (ContractValidator validator : lookupValidators) {
+            results.add(CompletableFuture.runAsync(() -> timed(validator, context), executor));
+        }
+        // Waiting in declaration order makes the reported failure independent of timing
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).join();
+            } catch (CompletionException e) {
+                results.subList(i + 1, results.size()).forEach(result -> result.cancel(true));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Orders the lookups by rejections per unit of cost, highest first, without moving a validator
+     * ahead of one it depends on. Keeps the declared order until every validator has enough samples.
+     */
+    void reorder() {
+        if (lookupValidators.stream().anyMatch(validator -> stats.get(validator).calls() < MIN_SAMPLES)) {
+            return;
+        }
+        List<ContractValidator> pending = new ArrayList<>(lookupValidators);
+        List<ContractValidator> ordered = new ArrayList<>(pending.size());
+        Comparator<ContractValidator> byYield = Comparator.comparingDouble(
+            (ContractValidator validator) -> stats.get(validator).rejectionsPerNano()).reversed();
+
+        while (!pending.isEmpty()) {
+            ContractValidator next = pending.stream()
+                .filter(candidate -> candidate.dependsOn().stream()
+                    .noneMatch(dependency -> pending.stream().anyMatch(dependency::isInstance)))
+                .min(byYield)
+                .orElseThrow(() -> new IllegalStateException("Cyclic validator dependencies: " + pending));
+            ordered.add(next);
+            pending.remove(next);
+        }
+        if (!ordered.equals(order)) {
+            logger.info("Validation order changed to {}", names(ordered));
+            order = List.copyOf(ordered);
+        }
+    }
+
+    List<ContractValidator> currentOrder() {
+        return order;
+    }
+
+    @Scheduled(fixedDelayString = "${bfb.validation.summary-interval-ms:300000}",
+        initialDelayString = "${bfb.validation.summary-interval-ms:300000}")
+    public void logSummary() {
+        List<ValidatorStats> all = new ArrayList<>();
+        all.add(stats.get(dateValidator));
+        order.forEach(validator -> all.add(stats.get(validator)));
+        String summary = all.stream()
+            .map(figures -> String.format("%s[calls=%d, rejected=%.1f%%, mean=%.0fus]",
+                figures.name(), figures.calls(), figures.rejectionRate() * 100, figures.meanNanos() / 1_000))
+            .collect(Collectors.joining(", "));
+        logger.info("Validation summary ({} mode): {}", mode.name().toLowerCase(), summary);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void timed(ContractValidator validator, ContractCreationContext context) {
+        long start = System.nanoTime();
+        boolean rejected = true;
+        try {
+            validator.validate(context);
+            rejected = false;
+        } finally {
+            stats.get(validator).record(System.nanoTime() - start, rejected);
+        }
+    }
+
+    private List<String> names(List<ContractValidator> validators) {
+        return validators.stream().map(validator -> stats.get(validator).name()).toList();
+    }
+
+    private static int lookupThreads(int threads, int connectionPoolSize) {
+        int capped = Math.max(1, Math.min(threads, connectionPoolSize - 1));
+        if (capped < threads) {
+            logger.warn("Parallel validation limited to {} threads by a connection pool of {}", capped, connectionPoolSize);
+        }
+        return capped;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "contract-validation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
@@ -1,5 +1,14 @@
 package com.bfb.business.contract.validation;
 
+import java.util.Set;
+
 public interface ContractValidator {
     void validate(ContractCreationContext context);
+
+    /**
+     * Validators that must have passed before this one runs; adaptive ordering never moves it ahead of them.
+     */
+    default Set<Class<? extends ContractValidator>> dependsOn() {
+        return Set.of();
+    }
 }
@@ -6,6 +6,7 @@ import com.bfb.business.contract.service.ContractRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
 
 @Component
 public class OverlapValidator implements ContractValidator {
@@ -25,16 +26,28 @@ public class OverlapValidator implements ContractValidator {
         );
         
         if (!overlappingContracts.isEmpty()) {
-            String conflictingIds = overlappingContracts.stream()
-                .map(c -> c.getId().toString())
-                .reduce((a, b) -> a + ", " + b)
-                .orElse("unknown");
-                
-            throw new OverlapException(
-                String.format("Cannot create contract: Vehicle '%s' is already booked during %s to %s. " +
-                    "Conflicting contract IDs: %s",
-                    context.getVehicleId(), context.getStartDate(), context.getEndDate(), conflictingIds)
-            );
+            throw overlap(context, overlappingContracts);
         }
     }
+
+    /**
+     * An unknown or broken vehicle is reported as such rather than as free or booked.
+     */
+    @Override
+    public Set<Class<? extends ContractValidator>> dependsOn() {
+        return Set.of(VehicleAvailabilityValidator.class);
+    }
+
+    static OverlapException overlap(ContractCreationContext context, List<Contract> overlappingContracts) {
+        String conflictingIds = overlappingContracts.stream()
+            .map(c -> String.valueOf(c.getId()))
+            .reduce((a, b) -> a + ", " + b)
+            .orElse("unknown");
+            
+        return new OverlapException(
+            String.format("Cannot create contract: Vehicle '%s' is already booked during %s to %s. " +
+                "Conflicting contract IDs: %s",
+                context.getVehicleId(), context.getStartDate(), context.getEndDate(), conflictingIds)
+        );
+    }
 }
@@ -0,0 +1,17 @@
+package com.bfb.business.contract.validation;
+
+import java.util.Locale;
+
+/**
+ * How {@link ContractValidationChain} runs the validators that need a lookup.
+ */
+public enum ValidationMode {
+    /** One after another in the caller's thread. */
+    SEQUENTIAL,
+    /** Concurrently, so create latency is the slowest lookup rather than their sum. */
+    PARALLEL;
+
+    public static ValidationMode of(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
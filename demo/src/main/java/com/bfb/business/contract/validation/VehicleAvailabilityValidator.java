@@ -18,10 +18,14 @@ public class VehicleAvailabilityValidator implements ContractValidator {
     public void validate(ContractCreationContext context) {
         VehicleStatus vehicleStatus = vehicleService.getStatus(context.getVehicleId());
         if (vehicleStatus == VehicleStatus.BROKEN) {
-            throw new VehicleUnavailableException(
-                String.format("Vehicle '%s' is currently broken and cannot be rented. " +
-                    "Please choose another vehicle or wait for repairs.", context.getVehicleId())
-            );
+            throw vehicleBroken(context);
         }
     }
+
+    static VehicleUnavailableException vehicleBroken(ContractCreationContext context) {
+        return new VehicleUnavailableException(
+            String.format("Vehicle '%s' is currently broken and cannot be rented. " +
+                "Please choose another vehicle or wait for repairs.", context.getVehicleId())
+        );
+    }
 }
@@ -0,0 +1,8 @@
+package com.bfb.business.vehicle.event;
+
+import java.util.UUID;
+
+/**
+ * Published by VehicleService when a vehicle is deleted.
+ */
+public record VehicleDeletedEvent(UUID vehicleId) {}
@@ -0,0 +1,8 @@
+package com.bfb.business.vehicle.event;
+
+import java.util.UUID;
+
+/**
+ * Published by VehicleService when an operational vehicle is marked as broken.
+ */
+public record VehicleMarkedDownEvent(UUID vehicleId) {}
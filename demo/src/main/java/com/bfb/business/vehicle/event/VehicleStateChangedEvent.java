@@ -0,0 +1,15 @@
+package com.bfb.business.vehicle.event;
+
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+
+/**
+ * Published by VehicleService whenever a vehicle is created or changes status.
+ * previousStatus is null for newly created vehicles.
+ */
+public record VehicleStateChangedEvent(Vehicle vehicle, VehicleStatus previousStatus) {
+
+    public static VehicleStateChangedEvent created(Vehicle vehicle) {
+        return new VehicleStateChangedEvent(vehicle, null);
+    }
+}
@@ -4,9 +4,14 @@ import com.bfb.business.vehicle.model.Vehicle;
 import com.bfb.business.vehicle.model.VehicleStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface VehicleRepository {
@@ -16,8 +21,40 @@ public interface VehicleRepository {
     Page<Vehicle> findAll(Pageable pageable);
     List<Vehicle> findByStatus(VehicleStatus status);
     Page<Vehicle> findByStatus(VehicleStatus status, Pageable pageable);
+
+    /**
+     * All vehicles, or those with the given status when it is not null, without a total.
+     */
+    Slice<Vehicle> findSlice(VehicleStatus status, Pageable pageable);
+
+    /**
+     * Approximate number of vehicles, optionally with the given status; may lag recent writes.
+     */
+    long estimateCount(VehicleStatus status);
+
+    /**
+     * Keyset page in (brand, id) order, optionally filtered by status: up to {@code limit}
+     * vehicles after the given position, or from the start when {@code afterId} is null.
+     */
+    List<Vehicle> findAfter(VehicleStatus status, String afterBrand, UUID afterId, int limit);
     void deleteById(UUID id);
     boolean existsById(UUID id);
-    
-    boolean existsByRegistrationPlate(String registrationPlate);
+    Map<UUID, VehicleStatus> findStatusesByIds(Collection<UUID> ids);
+
+    /**
+     * Status of the vehicle, or empty when it does not exist.
+     */
+    Optional<VehicleStatus> findStatusById(UUID id);
+
+    /**
+     * The given plates that are already registered, in one query.
+     */
+    Set<String> findExistingRegistrationPlates(Collection<String> registrationPlates);
+
+    /**
+     * Inserts new vehicles with batched statements and returns them with their ids.
+     */
+    List<Vehicle> insertAll(List<Vehicle> vehicles);
+
+    List<Vehicle> findAvailable(LocalDate from, LocalDate to);
 }
@@ -1,14 +1,28 @@
 package com.bfb.business.vehicle.service;
 
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleMarkedDownEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
 import com.bfb.business.vehicle.exception.DuplicateVehicleException;
 import com.bfb.business.vehicle.exception.VehicleNotFoundException;
 import com.bfb.business.vehicle.model.Vehicle;
 import com.bfb.business.vehicle.model.VehicleStatus;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.time.LocalDate;
 
 @Service
@@ -16,21 +30,52 @@ import java.time.LocalDate;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VehicleService(VehicleRepository vehicleRepository) {
+    public VehicleService(VehicleRepository vehicleRepository, ApplicationEventPublisher eventPublisher) {
         this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Plate uniqueness is enforced by the database: the repository reports a taken plate as
+     * {@link DuplicateVehicleException} when the insert is refused.
+     */
     public Vehicle create(String brand, String model, String motorization, String color, String registrationPlate, LocalDate purchaseDate) {
-        if (vehicleRepository.existsByRegistrationPlate(registrationPlate)) {
-            throw new DuplicateVehicleException(
-                String.format("A vehicle with registration plate '%s' already exists. " +
-                    "Each registration plate must be unique.", registrationPlate)
-            );
-        }
-        
         Vehicle vehicle = new Vehicle(null, brand, model, motorization, color, registrationPlate, purchaseDate, VehicleStatus.AVAILABLE);
-        return vehicleRepository.save(vehicle);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(VehicleStateChangedEvent.created(saved));
+        return saved;
+    }
+
+    /**
+     * Creates the vehicles that do not reuse a registration plate, either of a stored vehicle or of
+     * an earlier vehicle of the list. The existing plates are looked up in one query and the
+     * accepted vehicles inserted in batches.
+     *
+     * @return the refused vehicles by position in the list
+     */
+    public Map<Integer, RuntimeException> importAll(List<Vehicle> vehicles) {
+        Set<String> taken = new HashSet<>(vehicleRepository.findExistingRegistrationPlates(
+            vehicles.stream().map(Vehicle::getRegistrationPlate).collect(Collectors.toSet())));
+
+        Map<Integer, RuntimeException> rejections = new HashMap<>();
+        List<Vehicle> accepted = new ArrayList<>(vehicles.size());
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            String plate = vehicle.getRegistrationPlate();
+            if (taken.add(plate)) {
+                accepted.add(new Vehicle(null, vehicle.getBrand(), vehicle.getModel(), vehicle.getMotorization(),
+                    vehicle.getColor(), plate, vehicle.getPurchaseDate(), VehicleStatus.AVAILABLE));
+            } else {
+                rejections.put(i, new DuplicateVehicleException(
+                    String.format("A vehicle with registration plate '%s' already exists. " +
+                        "Each registration plate must be unique.", plate)));
+            }
+        }
+        vehicleRepository.insertAll(accepted)
+            .forEach(saved -> eventPublisher.publishEvent(VehicleStateChangedEvent.created(saved)));
+        return rejections;
     }
 
     public Vehicle findById(UUID id) {
@@ -60,21 +105,59 @@ public class VehicleService {
         return vehicleRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Vehicle> findSlice(VehicleStatus status, Pageable pageable) {
+        return vehicleRepository.findSlice(status, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateCount(VehicleStatus status) {
+        return vehicleRepository.estimateCount(status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Vehicle> findAfter(VehicleStatus status, String afterBrand, UUID afterId, int limit) {
+        return vehicleRepository.findAfter(status, afterBrand, afterId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Vehicle> findAvailable(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException(
+                String.format("Start date (%s) must not be after end date (%s)", from, to)
+            );
+        }
+        return vehicleRepository.findAvailable(from, to);
+    }
+
+    @Transactional(readOnly = true)
     public VehicleStatus getStatus(UUID vehicleId) {
-        Vehicle vehicle = findById(vehicleId);
-        return vehicle.getStatus();
+        return vehicleRepository.findStatusById(vehicleId)
+            .orElseThrow(() -> new VehicleNotFoundException(
+                String.format("Vehicle %s not found", vehicleId)
+            ));
+    }
+
+    /**
+     * Statuses of the given vehicles in one query; unknown ids are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, VehicleStatus> getStatuses(Collection<UUID> vehicleIds) {
+        return vehicleRepository.findStatusesByIds(vehicleIds);
     }
 
     public Vehicle markAsBroken(UUID vehicleId) {
         Vehicle vehicle = findById(vehicleId);
-        vehicle.setStatus(VehicleStatus.BROKEN);
-        return vehicleRepository.save(vehicle);
+        boolean wasBroken = vehicle.getStatus() == VehicleStatus.BROKEN;
+        Vehicle saved = changeStatus(vehicle, VehicleStatus.BROKEN);
+        if (!wasBroken) {
+            eventPublisher.publishEvent(new VehicleMarkedDownEvent(vehicleId));
+        }
+        return saved;
     }
 
     public Vehicle markAsAvailable(UUID vehicleId) {
-        Vehicle vehicle = findById(vehicleId);
-        vehicle.setStatus(VehicleStatus.AVAILABLE);
-        return vehicleRepository.save(vehicle);
+        return changeStatus(findById(vehicleId), VehicleStatus.AVAILABLE);
     }
 
     public void delete(UUID id) {
@@ -84,5 +167,14 @@ public class VehicleService {
             );
         }
         vehicleRepository.deleteById(id);
+        eventPublisher.publishEvent(new VehicleDeletedEvent(id));
+    }
+
+    private Vehicle changeStatus(Vehicle vehicle, VehicleStatus status) {
+        VehicleStatus previousStatus = vehicle.getStatus();
+        vehicle.setStatus(status);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleStateChangedEvent(saved, previousStatus));
+        return saved;
     }
 }
@@ -0,0 +1,127 @@
+package com.bfb.infrastructure.client;
+
+import com.bfb.business.client.model.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process cache of clients known to exist, bounded in size (least recently used first out)
+ * and in age. An entry holds the client itself once it has been loaded, or only the fact that it
+ * exists when it came from an existence check. Unknown ids are not cached, so a client created
+ * on another instance is visible at once; a change made on another instance is visible after
+ * the TTL at the latest.
+ */
+@Component
+public class ClientCache {
+
+    private final Map<UUID, Entry> entries;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictedBySize;
+    private final Counter expired;
+
+    public ClientCache(
+            MeterRegistry meterRegistry,
+            @Value("${bfb.client.cache.ttl-ms:300000}") long ttlMillis,
+            @Value("${bfb.client.cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictedBySize.increment();
+                }
+                return evict;
+            }
+        });
+        this.hits = Counter.builder("bfb.client.cache.gets").tag("result", "hit")
+            .description("Client lookups answered by the cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("bfb.client.cache.gets").tag("result", "miss")
+            .description("Client lookups answered by the cache")
+            .register(meterRegistry);
+        this.evictedBySize = Counter.builder("bfb.client.cache.evictions").tag("cause", "size")
+            .description("Cached clients dropped before being invalidated")
+            .register(meterRegistry);
+        this.expired = Counter.builder("bfb.client.cache.evictions").tag("cause", "expired")
+            .description("Cached clients dropped before being invalidated")
+            .register(meterRegistry);
+        Gauge.builder("bfb.client.cache.size", entries, Map::size)
+            .description("Clients currently cached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Whether the client is known to exist; false means unknown, not absent.
+     */
+    boolean contains(UUID id) {
+        return record(fresh(id) != null);
+    }
+
+    /**
+     * A copy of the cached client, or null when it is not cached with its data.
+     */
+    Client get(UUID id) {
+        Entry entry = fresh(id);
+        return record(entry != null && entry.client() != null) ? copy(entry.client()) : null;
+    }
+
+    void put(Client client) {
+        entries.put(client.getId(), new Entry(copy(client), System.currentTimeMillis()));
+    }
+
+    void putExisting(UUID id) {
+        entries.putIfAbsent(id, new Entry(null, System.currentTimeMillis()));
+    }
+
+    /**
+     * Drops the client now and again when the current transaction completes, so a lookup made
+     * by another thread before the commit cannot cache the old row.
+     */
+    void invalidate(UUID id) {
+        entries.remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(id);
+                }
+            });
+        }
+    }
+
+    private Entry fresh(UUID id) {
+        Entry entry = entries.get(id);
+        if (entry != null && System.currentTimeMillis() - entry.cachedAt() > ttlMillis) {
+            if (entries.remove(id, entry)) {
+                expired.increment();
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean record(boolean hit) {
+        (hit ? hits : misses).increment();
+        return hit;
+    }
+
+    private static Client copy(Client client) {
+        return new Client(client.getId(), client.getFirstName(), client.getLastName(), client.getAddress(),
+            client.getLicenseNumber(), client.getBirthDate());
+    }
+
+    private record Entry(Client client, long cachedAt) {}
+}
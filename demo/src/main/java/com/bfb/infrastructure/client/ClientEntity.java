@@ -3,19 +3,32 @@ package com.bfb.infrastructure.client;
 import java.time.LocalDate;
 import java.util.UUID;
 
+import org.hibernate.annotations.UuidGenerator;
+
+import com.bfb.infrastructure.common.EntityIdGenerator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients", indexes = {
+    @Index(name = "idx_client_last_name_id", columnList = "last_name, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = ClientEntity.IDENTITY_CONSTRAINT, columnNames = {"first_name", "last_name", "birth_date"}),
+    @UniqueConstraint(name = ClientEntity.LICENSE_NUMBER_CONSTRAINT, columnNames = "license_number")
+})
 public class ClientEntity {
 
+    /** Unique constraints of the V4 migration. */
+    static final String IDENTITY_CONSTRAINT = "uk_client_identity";
+    static final String LICENSE_NUMBER_CONSTRAINT = "uk_client_license_number";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = EntityIdGenerator.class)
     @Column(name = "id")
     private UUID id;
 
@@ -1,14 +1,34 @@
 package com.bfb.infrastructure.client;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClientJpaRepository extends JpaRepository<ClientEntity, UUID> {
-    boolean existsByFirstNameAndLastNameAndBirthDate(String firstName, String lastName, LocalDate birthDate);
-    
-    boolean existsByLicenseNumber(String licenseNumber);
-    
-    boolean existsByLicenseNumberAndIdNot(String licenseNumber, UUID excludeClientId);
+    @Query("SELECT c.licenseNumber FROM ClientEntity c")
+    List<String> findAllLicenseNumbers();
+
+    @Query("SELECT c.licenseNumber FROM ClientEntity c WHERE c.licenseNumber IN :licenseNumbers")
+    List<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    List<ClientEntity> findByLastNameInAndBirthDateIn(Collection<String> lastNames, Collection<LocalDate> birthDates);
+
+    @Query("SELECT c FROM ClientEntity c")
+    Slice<ClientEntity> findSlice(Pageable pageable);
+
+    @Query("SELECT c FROM ClientEntity c ORDER BY c.lastName, c.id")
+    List<ClientEntity> findFirst(Pageable pageable);
+
+    @Query("SELECT c FROM ClientEntity c WHERE (c.lastName, c.id) > (:lastName, :id) ORDER BY c.lastName, c.id")
+    List<ClientEntity> findAfter(@Param("lastName") String lastName, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT c.id FROM ClientEntity c WHERE c.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -1,36 +1,131 @@
 package com.bfb.infrastructure.client;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.bfb.business.client.exception.DuplicateClientException;
+import com.bfb.business.client.exception.DuplicateLicenseException;
 import com.bfb.business.client.model.Client;
 import com.bfb.business.client.service.ClientRepository;
+import com.bfb.infrastructure.common.ConstraintViolations;
+import com.bfb.infrastructure.common.CountingBloomFilter;
+import com.bfb.infrastructure.common.EntityIds;
+import com.bfb.infrastructure.common.RowCountEstimator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class ClientRepositoryImpl implements ClientRepository {
 
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "INSERT INTO clients "
+        + "(id, first_name, last_name, address, license_number, birth_date) VALUES (?, ?, ?, ?, ?, ?)";
+
     private final ClientJpaRepository jpaRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientCache cache;
+    private final MeterRegistry meterRegistry;
+    private final boolean filtersEnabled;
+    private final long filterEntries;
+    private final double filterFalsePositiveRate;
+    private CountingBloomFilter licenseFilter;
 
-    public ClientRepositoryImpl(ClientJpaRepository jpaRepository) {
+    public ClientRepositoryImpl(ClientJpaRepository jpaRepository, RowCountEstimator rowCountEstimator,
+                                JdbcTemplate jdbcTemplate, ClientCache cache, MeterRegistry meterRegistry,
+                                @Value("${bfb.uniqueness-filter.enabled:false}") boolean filtersEnabled,
+                                @Value("${bfb.uniqueness-filter.expected-entries:100000}") long filterEntries,
+                                @Value("${bfb.uniqueness-filter.false-positive-rate:0.01}") double filterFalsePositiveRate) {
         this.jpaRepository = jpaRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.filtersEnabled = filtersEnabled;
+        this.filterEntries = filterEntries;
+        this.filterFalsePositiveRate = filterFalsePositiveRate;
+    }
+
+    /**
+     * Builds the license number filter, sized for twice the current clients at least.
+     */
+    @PostConstruct
+    void loadLicenseFilter() {
+        if (!filtersEnabled) {
+            return;
+        }
+        List<String> licenseNumbers = jpaRepository.findAllLicenseNumbers();
+        CountingBloomFilter filter = new CountingBloomFilter("client-license",
+            Math.max(filterEntries, 2L * licenseNumbers.size()), filterFalsePositiveRate, meterRegistry);
+        licenseNumbers.forEach(filter::add);
+        licenseFilter = filter;
+    }
+
+    /**
+     * Refills the license number filter from the database, picking up other instances' writes.
+     */
+    @Scheduled(fixedDelayString = "${bfb.uniqueness-filter.rebuild-interval-ms:300000}",
+        initialDelayString = "${bfb.uniqueness-filter.rebuild-interval-ms:300000}")
+    void rebuildLicenseFilter() {
+        if (licenseFilter != null) {
+            licenseFilter.reset(jpaRepository.findAllLicenseNumbers());
+        }
     }
 
     @Override
     public Client save(Client client) {
+        String previousLicense = null;
+        if (client.getId() != null) {
+            cache.invalidate(client.getId());
+            if (licenseFilter != null) {
+                // read before the merge, which updates the managed entity in place
+                previousLicense = jpaRepository.findById(client.getId())
+                    .map(ClientEntity::getLicenseNumber)
+                    .orElse(null);
+            }
+        }
         ClientEntity entity = toEntity(client);
-        ClientEntity saved = jpaRepository.save(entity);
+        ClientEntity saved;
+        try {
+            saved = jpaRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, client);
+        }
+        if (licenseFilter != null && !saved.getLicenseNumber().equals(previousLicense)) {
+            licenseFilter.add(saved.getLicenseNumber());
+            if (previousLicense != null) {
+                licenseFilter.removeAfterCommit(previousLicense);
+            }
+        }
         return toDomain(saved);
     }
 
     @Override
     public Optional<Client> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
+        Client cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Client> client = jpaRepository.findById(id).map(this::toDomain);
+        client.ifPresent(cache::put);
+        return client;
     }
 
     @Override
@@ -47,29 +142,122 @@ public class ClientRepositoryImpl implements ClientRepository {
             .map(this::toDomain);
     }
 
+    @Override
+    public Slice<Client> findSlice(Pageable pageable) {
+        return jpaRepository.findSlice(pageable)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public long estimateCount() {
+        return rowCountEstimator.estimateTable("clients", jpaRepository::count);
+    }
+
+    @Override
+    public List<Client> findAfter(String afterLastName, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<ClientEntity> entities = afterId == null
+            ? jpaRepository.findFirst(page)
+            : jpaRepository.findAfter(afterLastName, afterId, page);
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public void deleteById(UUID id) {
+        cache.invalidate(id);
+        if (licenseFilter != null) {
+            jpaRepository.findById(id).ifPresent(entity -> licenseFilter.removeAfterCommit(entity.getLicenseNumber()));
+        }
         jpaRepository.deleteById(id);
     }
 
     @Override
     public boolean existsById(UUID id) {
-        return jpaRepository.existsById(id);
+        if (cache.contains(id)) {
+            return true;
+        }
+        boolean exists = jpaRepository.existsById(id);
+        if (exists) {
+            cache.putExisting(id);
+        }
+        return exists;
     }
 
     @Override
-    public boolean existsByFirstNameAndLastNameAndBirthDate(String firstName, String lastName, java.time.LocalDate birthDate) {
-        return jpaRepository.existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate);
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.findExistingIds(ids));
     }
 
     @Override
-    public boolean existsByLicenseNumber(String licenseNumber) {
-        return jpaRepository.existsByLicenseNumber(licenseNumber);
+    public Set<String> findExistingLicenseNumbers(Collection<String> licenseNumbers) {
+        if (licenseFilter != null) {
+            return licenseFilter.existing(licenseNumbers, jpaRepository::findExistingLicenseNumbers);
+        }
+        if (licenseNumbers.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.findExistingLicenseNumbers(licenseNumbers));
     }
 
     @Override
-    public boolean existsByLicenseNumberAndIdNot(String licenseNumber, UUID excludeClientId) {
-        return jpaRepository.existsByLicenseNumberAndIdNot(licenseNumber, excludeClientId);
+    public List<Client> findByLastNamesAndBirthDates(Collection<String> lastNames, Collection<LocalDate> birthDates) {
+        if (lastNames.isEmpty() || birthDates.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findByLastNameInAndBirthDateIn(lastNames, birthDates)
+            .stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Plain JDBC rather than persist: no entity instances or merge checks, and the inserts go out
+     * as JDBC batches (multi-row statements with reWriteBatchedInserts on PostgreSQL).
+     * A batch does not tell which row the database refused, so only a single-client insert has
+     * its violation translated to a duplicate exception.
+     */
+    @Override
+    public List<Client> insertAll(List<Client> clients) {
+        List<Client> inserted = clients.stream()
+            .map(client -> new Client(EntityIds.next(), client.getFirstName(), client.getLastName(),
+                client.getAddress(), client.getLicenseNumber(), client.getBirthDate()))
+            .collect(Collectors.toList());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserted, INSERT_BATCH_SIZE, (statement, client) -> {
+                statement.setObject(1, client.getId());
+                statement.setString(2, client.getFirstName());
+                statement.setString(3, client.getLastName());
+                statement.setString(4, client.getAddress());
+                statement.setString(5, client.getLicenseNumber());
+                statement.setObject(6, client.getBirthDate());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw inserted.size() == 1 ? translate(e, inserted.get(0)) : e;
+        }
+        if (licenseFilter != null) {
+            inserted.forEach(client -> licenseFilter.add(client.getLicenseNumber()));
+        }
+        return inserted;
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException failure, Client client) {
+        if (ConstraintViolations.violates(failure, ClientEntity.IDENTITY_CONSTRAINT)) {
+            return new DuplicateClientException(
+                String.format("A client with name '%s %s' and birth date '%s' already exists. " +
+                    "Clients must be unique by their full name and birth date.",
+                    client.getFirstName(), client.getLastName(), client.getBirthDate()));
+        }
+        if (ConstraintViolations.violates(failure, ClientEntity.LICENSE_NUMBER_CONSTRAINT)) {
+            return new DuplicateLicenseException(
+                String.format("License number '%s' is already registered to another client. " +
+                    "Each license number must be unique.", client.getLicenseNumber()));
+        }
+        return failure;
     }
 
     private ClientEntity toEntity(Client client) {
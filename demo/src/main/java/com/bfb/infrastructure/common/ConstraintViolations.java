@@ -0,0 +1,31 @@
+package com.bfb.infrastructure.common;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identifies the database constraint behind a failed write.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {}
+
+    /**
+     * Whether the failure, or one of its causes, is a violation of the named constraint. Hibernate
+     * does not resolve the name on every database, so the driver messages are searched as well.
+     */
+    public static boolean violates(Throwable failure, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,207 @@
+package com.bfb.infrastructure.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Counting Bloom filter over string keys, used to skip uniqueness queries whose answer is "no".
+ * Counters are four bits wide, sixteen to a long, and updated lock-free; a counter that reaches
+ * fifteen sticks there, so removals can never produce a false negative.
+ * Keys are added as soon as they are written and removed only once the removal has committed:
+ * a rolled-back write leaves at most a false positive behind, which the database check absorbs.
+ * Writes of other instances are not seen until the owner rebuilds the filter with {@link #reset}:
+ * in between, the key's unique constraint refuses the insert the filter let through.
+ */
+public class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+
+    private volatile AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    private final AtomicLong occupied = new AtomicLong();
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    /**
+     * @param expectedEntries number of keys the filter is sized for
+     * @param falsePositiveRate target rate at that number of keys
+     */
+    public CountingBloomFilter(String name, long expectedEntries, double falsePositiveRate, MeterRegistry meterRegistry) {
+        long size = (long) Math.ceil(-Math.max(1, expectedEntries) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (size + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+        this.counters = (long) words.length() * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / Math.max(1, expectedEntries) * Math.log(2)));
+
+        this.negatives = Counter.builder("bfb.uniqueness.filter.checks").tag("filter", name).tag("result", "negative")
+            .description("Uniqueness checks by their filter outcome")
+            .register(meterRegistry);
+        this.positives = Counter.builder("bfb.uniqueness.filter.checks").tag("filter", name).tag("result", "positive")
+            .description("Uniqueness checks by their filter outcome")
+            .register(meterRegistry);
+        this.falsePositives = Counter.builder("bfb.uniqueness.filter.checks").tag("filter", name).tag("result", "false_positive")
+            .description("Uniqueness checks by their filter outcome")
+            .register(meterRegistry);
+        Gauge.builder("bfb.uniqueness.filter.memory", this, filter -> filter.words.length() * (double) Long.BYTES)
+            .tag("filter", name)
+            .description("Size of the filter counters")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("bfb.uniqueness.filter.false-positive-rate", this, CountingBloomFilter::expectedFalsePositiveRate)
+            .tag("filter", name)
+            .description("False-positive rate expected from the current fill of the filter")
+            .register(meterRegistry);
+    }
+
+    public void add(String key) {
+        occupied.addAndGet(increment(words, key));
+    }
+
+    /**
+     * Replaces the content with the given keys, e.g. all keys in the database now. Keys added
+     * while the new counters are filled are lost, leaving at most a false negative.
+     */
+    public void reset(Collection<String> keys) {
+        AtomicLongArray rebuilt = new AtomicLongArray(words.length());
+        long filled = 0;
+        for (String key : keys) {
+            filled += increment(rebuilt, key);
+        }
+        words = rebuilt;
+        occupied.set(filled);
+    }
+
+    public void remove(String key) {
+        AtomicLongArray words = this.words;
+        long[] indexes = indexes(key);
+        for (long index : indexes) {
+            int word = (int) (index / COUNTERS_PER_WORD);
+            int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+            while (true) {
+                long current = words.get(word);
+                long count = (current >>> shift) & COUNTER_MASK;
+                if (count == 0 || count == COUNTER_MASK
+                        || words.compareAndSet(word, current, current - (1L << shift))) {
+                    if (count == 1) {
+                        occupied.decrementAndGet();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the key once the current transaction commits, or now outside a transaction.
+     */
+    public void removeAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    remove(key);
+                }
+            }
+        });
+    }
+
+    public boolean mightContain(String key) {
+        AtomicLongArray words = this.words;
+        for (long index : indexes(key)) {
+            int word = (int) (index / COUNTERS_PER_WORD);
+            int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+            if (((words.get(word) >>> shift) & COUNTER_MASK) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The given keys that exist: those the filter rules out are answered without {@code lookup},
+     * which only receives the others, and the outcome of each key is recorded.
+     */
+    public Set<String> existing(Collection<String> keys, Function<Collection<String>, Collection<String>> lookup) {
+        List<String> candidates = keys.stream().filter(this::mightContain).toList();
+        negatives.increment(keys.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        positives.increment(candidates.size());
+        Set<String> found = new HashSet<>(lookup.apply(candidates));
+        falsePositives.increment(candidates.size() - found.size());
+        return found;
+    }
+
+    /**
+     * Increments the key's counters and returns how many of them were empty before.
+     */
+    private int increment(AtomicLongArray words, String key) {
+        int filled = 0;
+        for (long index : indexes(key)) {
+            int word = (int) (index / COUNTERS_PER_WORD);
+            int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+            while (true) {
+                long current = words.get(word);
+                long count = (current >>> shift) & COUNTER_MASK;
+                if (count == COUNTER_MASK || words.compareAndSet(word, current, current + (1L << shift))) {
+                    if (count == 0) {
+                        filled++;
+                    }
+                    break;
+                }
+            }
+        }
+        return filled;
+    }
+
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) occupied.get() / counters, hashes);
+    }
+
+    /**
+     * Double hashing over two 64-bit hashes of the key's UTF-8 bytes.
+     */
+    private long[] indexes(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xCBF29CE484222325L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        h1 = mix(h1);
+        long[] indexes = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            indexes[i] = Math.floorMod(h1 + i * h2, counters);
+        }
+        return indexes;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bfb.infrastructure.common;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Hibernate side of {@link EntityIds}, for {@code @UuidGenerator(algorithm = EntityIdGenerator.class)}.
+ */
+public class EntityIdGenerator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return EntityIds.next();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bfb.infrastructure.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies bfb.id.time-ordered to {@link EntityIds}. Hibernate instantiates its id generators
+ * itself, so the switch is a static one rather than an injected bean.
+ */
+@Component
+public class EntityIdSettings {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityIdSettings.class);
+
+    public EntityIdSettings(@Value("${bfb.id.time-ordered:true}") boolean timeOrdered) {
+        EntityIds.useTimeOrdered(timeOrdered);
+        logger.info("New entity ids are {}", timeOrdered ? "time-ordered (UUIDv7)" : "random (UUIDv4)");
+    }
+}
@@ -0,0 +1,52 @@
+package com.bfb.infrastructure.common;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Primary keys for new rows, time-ordered (UUIDv7, RFC 9562) unless switched back to random v4.
+ * A v7 id starts with its creation time in milliseconds, so consecutive inserts land on the
+ * rightmost B-tree page instead of a random one. The 12 bits after the timestamp count ids
+ * created in the same millisecond, which keeps ids from one instance strictly increasing;
+ * the remaining 62 bits are random. Ids are not secrets, so ThreadLocalRandom is enough.
+ */
+public final class EntityIds {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_BITS = 0x3FFFFFFFFFFFFFFFL;
+    private static final int SEQUENCE_BITS = 12;
+
+    // creation millisecond shifted left by SEQUENCE_BITS, plus the sequence within it
+    private static final AtomicLong lastStamp = new AtomicLong();
+    private static volatile boolean timeOrdered = true;
+
+    private EntityIds() {
+    }
+
+    public static UUID next() {
+        return timeOrdered ? timeOrdered() : UUID.randomUUID();
+    }
+
+    /**
+     * A sequence overflow or a clock going backwards borrows from the next millisecond rather
+     * than breaking the order.
+     */
+    static UUID timeOrdered() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long stamp = lastStamp.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+        long millis = stamp >>> SEQUENCE_BITS;
+        long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+        long random = ThreadLocalRandom.current().nextLong();
+        return new UUID(millis << 16 | VERSION_7 | sequence, random & RANDOM_BITS | VARIANT);
+    }
+
+    static void useTimeOrdered(boolean enabled) {
+        timeOrdered = enabled;
+    }
+
+    static boolean isTimeOrdered() {
+        return timeOrdered;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bfb.infrastructure.common;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * Cheap row counts for paginated listings that do not need an exact total.
+ * A whole table is estimated from the PostgreSQL planner statistics (pg_class.reltuples);
+ * anything else, and every table on databases without those statistics, gets an exact count
+ * that is cached and recounted in the background once it is older than the configured TTL.
+ */
+@Component
+public class RowCountEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowCountEstimator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+    private final long ttlMillis;
+    private final Map<String, CachedCount> counts;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+
+    public RowCountEstimator(
+            JdbcTemplate jdbcTemplate,
+            DatabaseProduct databaseProduct,
+            @Value("${bfb.pagination.count-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${bfb.pagination.count-cache.max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+        this.ttlMillis = ttlMillis;
+        this.counts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "row-count-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Estimated number of rows of the whole table.
+     */
+    public long estimateTable(String table, LongSupplier exactCount) {
+        if (databaseProduct.isPostgres()) {
+            try {
+                Long reltuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+                // -1 until the table is first vacuumed or analyzed
+                if (reltuples != null && reltuples >= 0) {
+                    return reltuples;
+                }
+            } catch (DataAccessException e) {
+                logger.debug("No planner estimate for {}, falling back to a cached count", table, e);
+            }
+        }
+        return cached(table, exactCount);
+    }
+
+    /**
+     * Count cached under {@code key}. Only the first call for a key counts synchronously; a stale
+     * count is returned as is while it is recounted in the background.
+     */
+    public long cached(String key, LongSupplier exactCount) {
+        CachedCount count = counts.get(key);
+        if (count == null) {
+            long value = exactCount.getAsLong();
+            counts.put(key, new CachedCount(value, System.currentTimeMillis()));
+            return value;
+        }
+        if (System.currentTimeMillis() - count.countedAt() > ttlMillis && refreshing.add(key)) {
+            refresher.execute(() -> {
+                try {
+                    counts.put(key, new CachedCount(exactCount.getAsLong(), System.currentTimeMillis()));
+                } catch (RuntimeException e) {
+                    logger.warn("Could not refresh row count {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        }
+        return count.value();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private record CachedCount(long value, long countedAt) {}
+}
@@ -1,19 +1,24 @@
 package com.bfb.infrastructure.contract;
 
 import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.infrastructure.common.EntityIdGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
 @Table(name = "contracts", indexes = {
     @Index(name = "idx_vehicle_dates", columnList = "vehicle_id, start_date, end_date"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_contract_status_end_date", columnList = "status, end_date"),
+    @Index(name = "idx_contract_start_date_id", columnList = "start_date, id"),
+    @Index(name = "idx_contract_client_start_date", columnList = "client_id, start_date DESC, id DESC")
+    // idx_contract_occupying_vehicle_dates is a partial index, created by the PostgreSQL V11 migration only
 })
 public class ContractEntity  {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = EntityIdGenerator.class)
     private UUID id;
 
     @Column(name = "client_id", nullable = false)
@@ -32,6 +37,10 @@ public class ContractEntity  {
     @Column(nullable = false, length = 20)
     private ContractStatus status;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public ContractEntity() {
     }
 
@@ -91,4 +100,12 @@ public class ContractEntity  {
     public void setStatus(ContractStatus status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,19 +1,24 @@
 package com.bfb.infrastructure.contract;
 
 import com.bfb.business.contract.model.ContractStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ContractJpaRepository extends JpaRepository<ContractEntity, UUID> {
+public interface ContractJpaRepository extends JpaRepository<ContractEntity, UUID>,
+        JpaSpecificationExecutor<ContractEntity> {
 
     List<ContractEntity> findByVehicleIdAndStatus(UUID vehicleId, ContractStatus status);
     
@@ -28,30 +33,60 @@ public interface ContractJpaRepository extends JpaRepository<ContractEntity, UUI
 
     List<ContractEntity> findByStatus(ContractStatus status);
 
-    @Query("SELECT c FROM ContractEntity c WHERE " +
-           "(:clientId IS NULL OR c.clientId = :clientId) AND " +
-           "(:vehicleId IS NULL OR c.vehicleId = :vehicleId) AND " +
-           "(:status IS NULL OR c.status = :status)")
-    List<ContractEntity> findByCriteria(
+    List<ContractEntity> findByStatusIn(Collection<ContractStatus> statuses);
+
+    @Query("SELECT c FROM ContractEntity c WHERE c.clientId = :clientId " +
+           "ORDER BY c.startDate DESC, c.id DESC")
+    List<ContractEntity> findLatestByClientId(
         @Param("clientId") UUID clientId,
-        @Param("vehicleId") UUID vehicleId,
-        @Param("status") ContractStatus status
+        Pageable pageable
     );
 
-    @Query("SELECT c FROM ContractEntity c WHERE " +
-           "(:clientId IS NULL OR c.clientId = :clientId) AND " +
-           "(:vehicleId IS NULL OR c.vehicleId = :vehicleId) AND " +
-           "(:status IS NULL OR c.status = :status)")
-    Page<ContractEntity> findByCriteria(
+    @Query("SELECT c FROM ContractEntity c WHERE c.clientId = :clientId " +
+           "AND (c.startDate, c.id) < (:startDate, :id) " +
+           "ORDER BY c.startDate DESC, c.id DESC")
+    List<ContractEntity> findByClientIdBefore(
         @Param("clientId") UUID clientId,
-        @Param("vehicleId") UUID vehicleId,
-        @Param("status") ContractStatus status,
+        @Param("startDate") LocalDate startDate,
+        @Param("id") UUID id,
         Pageable pageable
     );
-    
+
     @Query("SELECT c FROM ContractEntity c WHERE c.status = :status AND c.endDate < :date")
     List<ContractEntity> findOverdueContracts(
         @Param("status") ContractStatus status,
         @Param("date") LocalDate date
     );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContractEntity c WHERE c.status = :status AND c.endDate < :date ORDER BY c.id")
+    List<ContractEntity> lockOverdueContracts(
+        @Param("status") ContractStatus status,
+        @Param("date") LocalDate date,
+        Pageable pageable
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContractEntity c WHERE c.id IN :ids AND c.status = :status AND c.endDate < :date")
+    List<ContractEntity> lockOverdueContracts(
+        @Param("ids") Collection<UUID> ids,
+        @Param("status") ContractStatus status,
+        @Param("date") LocalDate date
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContractEntity c WHERE c.vehicleId IN :vehicleIds AND c.status = :status ORDER BY c.id")
+    List<ContractEntity> lockByVehicleIdsAndStatus(
+        @Param("vehicleIds") Collection<UUID> vehicleIds,
+        @Param("status") ContractStatus status
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ContractEntity c SET c.status = :to, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids AND c.status = :from")
+    int updateStatus(
+        @Param("ids") Collection<UUID> ids,
+        @Param("from") ContractStatus from,
+        @Param("to") ContractStatus to
+    );
 }
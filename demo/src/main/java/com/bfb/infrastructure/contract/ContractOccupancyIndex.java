@@ -0,0 +1,216 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of occupying contracts (PENDING, IN_PROGRESS, LATE) per vehicle.
+ * Loaded once at startup and kept in sync from committed ContractStateChangedEvents,
+ * so overlap checks for a free vehicle never hit the database. Writes of other instances
+ * are not seen: callers confirm a hit against the database before refusing a booking.
+ */
+@Component
+public class ContractOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractOccupancyIndex.class);
+
+    private final ContractJpaRepository jpaRepository;
+    private final boolean enabled;
+    private final Map<UUID, VehicleTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public ContractOccupancyIndex(
+            ContractJpaRepository jpaRepository,
+            @Value("${bfb.contract.overlap-index.enabled:false}") boolean enabled) {
+        this.jpaRepository = jpaRepository;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        List<Contract> occupying = jpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())
+            .stream()
+            .map(ContractOccupancyIndex::toDomain)
+            .toList();
+        load(occupying);
+        logger.info("Contract occupancy index loaded: {} contracts across {} vehicles",
+            occupying.size(), timelines.size());
+    }
+
+    public void load(Collection<Contract> contracts) {
+        timelines.clear();
+        contracts.forEach(this::apply);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractStateChanged(ContractStateChangedEvent event) {
+        if (enabled) {
+            apply(event.contract());
+        }
+    }
+
+    /**
+     * Inserts, moves or removes the contract depending on its current status.
+     */
+    public void apply(Contract contract) {
+        Contract snapshot = snapshot(contract);
+        timelines.compute(snapshot.getVehicleId(), (vehicleId, timeline) -> {
+            VehicleTimeline current = timeline == null ? VehicleTimeline.EMPTY : timeline;
+            VehicleTimeline updated = current.without(snapshot.getId());
+            if (snapshot.isOccupying()) {
+                updated = updated.with(snapshot);
+            }
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    public List<Contract> findOverlapping(UUID vehicleId, LocalDate startDate, LocalDate endDate) {
+        VehicleTimeline timeline = timelines.get(vehicleId);
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        return timeline.overlapping(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    private static Contract snapshot(Contract contract) {
+        return new Contract(contract.getId(), contract.getClientId(), contract.getVehicleId(),
+            contract.getStartDate(), contract.getEndDate(), contract.getStatus());
+    }
+
+    private static Contract toDomain(ContractEntity entity) {
+        return new Contract(entity.getId(), entity.getClientId(), entity.getVehicleId(),
+            entity.getStartDate(), entity.getEndDate(), entity.getStatus());
+    }
+
+    /**
+     * Immutable, start-sorted intervals of one vehicle, stored as epoch days.
+     * maxEnds[i] is the largest end among the first i + 1 intervals, which lets
+     * a query stop scanning backwards as soon as no earlier interval can reach it.
+     */
+    static final class VehicleTimeline {
+
+        static final VehicleTimeline EMPTY =
+            new VehicleTimeline(new long[0], new long[0], new long[0], new Contract[0]);
+
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+        private final Contract[] contracts;
+
+        private VehicleTimeline(long[] starts, long[] ends, long[] maxEnds, Contract[] contracts) {
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+            this.contracts = contracts;
+        }
+
+        boolean isEmpty() {
+            return contracts.length == 0;
+        }
+
+        VehicleTimeline with(Contract contract) {
+            long start = contract.getStartDate().toEpochDay();
+            int position = upperBound(start);
+            int size = contracts.length + 1;
+            long[] newStarts = new long[size];
+            long[] newEnds = new long[size];
+            Contract[] newContracts = new Contract[size];
+            copyWithGap(starts, newStarts, position);
+            copyWithGap(ends, newEnds, position);
+            System.arraycopy(contracts, 0, newContracts, 0, position);
+            System.arraycopy(contracts, position, newContracts, position + 1, contracts.length - position);
+            newStarts[position] = start;
+            newEnds[position] = contract.getEndDate().toEpochDay();
+            newContracts[position] = contract;
+            return new VehicleTimeline(newStarts, newEnds, prefixMax(newEnds), newContracts);
+        }
+
+        VehicleTimeline without(UUID contractId) {
+            for (int i = 0; i < contracts.length; i++) {
+                if (contracts[i].getId().equals(contractId)) {
+                    long[] newStarts = remove(starts, i);
+                    long[] newEnds = remove(ends, i);
+                    Contract[] newContracts = new Contract[contracts.length - 1];
+                    System.arraycopy(contracts, 0, newContracts, 0, i);
+                    System.arraycopy(contracts, i + 1, newContracts, i, contracts.length - i - 1);
+                    return new VehicleTimeline(newStarts, newEnds, prefixMax(newEnds), newContracts);
+                }
+            }
+            return this;
+        }
+
+        List<Contract> overlapping(long startDay, long endDay) {
+            List<Contract> result = new ArrayList<>();
+            for (int i = upperBound(endDay) - 1; i >= 0 && maxEnds[i] >= startDay; i--) {
+                if (ends[i] >= startDay) {
+                    result.add(contracts[i]);
+                }
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * Index of the first interval starting strictly after the given day.
+         */
+        private int upperBound(long day) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void copyWithGap(long[] source, long[] target, int gap) {
+            System.arraycopy(source, 0, target, 0, gap);
+            System.arraycopy(source, gap, target, gap + 1, source.length - gap);
+        }
+
+        private static long[] remove(long[] source, int index) {
+            long[] target = Arrays.copyOf(source, source.length - 1);
+            System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+            return target;
+        }
+
+        private static long[] prefixMax(long[] values) {
+            long[] result = new long[values.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < values.length; i++) {
+                max = Math.max(max, values[i]);
+                result[i] = max;
+            }
+            return result;
+        }
+    }
+}
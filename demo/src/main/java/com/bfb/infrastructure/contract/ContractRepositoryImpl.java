@@ -2,24 +2,94 @@ package com.bfb.infrastructure.contract;
 
 import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
 import com.bfb.business.contract.service.ContractRepository;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.infrastructure.common.DatabaseProduct;
+import com.bfb.infrastructure.common.EntityIds;
+import com.bfb.infrastructure.common.RowCountEstimator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class ContractRepositoryImpl implements ContractRepository {
 
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int EXPORT_CLEAR_INTERVAL = 2 * EXPORT_FETCH_SIZE;
+    private static final int OVERLAP_QUERY_CHUNK_SIZE = 300;
+    private static final Sort KEYSET_ORDER = Sort.by("startDate", "id");
+    /**
+     * The occupying statuses are inlined from ContractStatus, so the statement stays the same
+     * for every booking.
+     */
+    private static final String INSERT_IF_BOOKABLE_SQL = String.format("INSERT INTO contracts "
+        + "(id, client_id, vehicle_id, start_date, end_date, status, version) "
+        + "SELECT ?, ?, v.id, ?, ?, '%s', 0 FROM vehicles v "
+        + "WHERE v.id = ? AND v.status <> '%s' "
+        + "AND EXISTS (SELECT 1 FROM clients c WHERE c.id = ?) "
+        + "AND NOT EXISTS (SELECT 1 FROM contracts o WHERE o.vehicle_id = v.id "
+        + "AND o.status IN (%s) "
+        + "AND o.end_date >= ? AND o.start_date <= ?)",
+        ContractStatus.PENDING, VehicleStatus.BROKEN,
+        ContractStatus.occupyingStatuses().stream().map(status -> "'" + status + "'").collect(Collectors.joining(", ")));
+    /**
+     * Conditional UPDATE returning the row as it was before it, which H2 spells as a delta table;
+     * %s stands for the placeholders of the source statuses.
+     */
+    private static final String TRANSITION_SQL = "SELECT id, client_id, vehicle_id, start_date, end_date, status, version "
+        + "FROM OLD TABLE (UPDATE contracts SET status = ?, version = version + 1 "
+        + "WHERE id = ? AND status IN (%s))";
+    /**
+     * PostgreSQL variant: the self-join reads the row from the statement snapshot, and requiring the
+     * same status on both sides turns a concurrent change of the row into no match.
+     */
+    private static final String TRANSITION_POSTGRES_SQL = "UPDATE contracts c SET status = ?, version = c.version + 1 "
+        + "FROM contracts old WHERE c.id = ? AND c.status IN (%s) AND old.id = c.id AND old.status = c.status "
+        + "RETURNING old.id, old.client_id, old.vehicle_id, old.start_date, old.end_date, old.status, old.version";
+
     private final ContractJpaRepository jpaRepository;
+    private final ContractOccupancyIndex occupancyIndex;
+    private final RowCountEstimator rowCountEstimator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
 
-    public ContractRepositoryImpl(ContractJpaRepository jpaRepository) {
+    public ContractRepositoryImpl(ContractJpaRepository jpaRepository, ContractOccupancyIndex occupancyIndex,
+                                  RowCountEstimator rowCountEstimator, EntityManager entityManager,
+                                  JdbcTemplate jdbcTemplate, DatabaseProduct databaseProduct) {
         this.jpaRepository = jpaRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.rowCountEstimator = rowCountEstimator;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
     }
 
     @Override
@@ -29,6 +99,43 @@ public class ContractRepositoryImpl implements ContractRepository {
         return toDomain(saved);
     }
 
+    /**
+     * INSERT ... SELECT whose WHERE clause carries the booking rules, so the checks and the write
+     * are one round-trip. The id is generated here, which makes RETURNING unnecessary.
+     */
+    @Override
+    public Optional<Contract> insertIfBookable(Contract contract) {
+        UUID id = EntityIds.next();
+        int inserted = jdbcTemplate.update(INSERT_IF_BOOKABLE_SQL, statement -> {
+            statement.setObject(1, id);
+            statement.setObject(2, contract.getClientId());
+            statement.setObject(3, contract.getStartDate());
+            statement.setObject(4, contract.getEndDate());
+            statement.setObject(5, contract.getVehicleId());
+            statement.setObject(6, contract.getClientId());
+            statement.setObject(7, contract.getStartDate());
+            statement.setObject(8, contract.getEndDate());
+        });
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        Contract saved = new Contract(id, contract.getClientId(), contract.getVehicleId(),
+            contract.getStartDate(), contract.getEndDate(), ContractStatus.PENDING);
+        saved.setVersion(0L);
+        return Optional.of(saved);
+    }
+
+    @Override
+    public List<Contract> saveAll(List<Contract> contracts) {
+        List<ContractEntity> entities = contracts.stream()
+            .map(this::toEntity)
+            .collect(Collectors.toList());
+        return jpaRepository.saveAll(entities)
+            .stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Contract> findById(UUID id) {
         return jpaRepository.findById(id).map(this::toDomain);
@@ -36,26 +143,136 @@ public class ContractRepositoryImpl implements ContractRepository {
 
     @Override
     public List<Contract> findByCriteria(UUID clientId, UUID vehicleId, ContractStatus status) {
-        return jpaRepository.findByCriteria(clientId, vehicleId, status)
+        return jpaRepository.findAll(ContractSpecifications.matching(clientId, vehicleId, status))
             .stream()
             .map(this::toDomain)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Reads through a server-side cursor and clears the persistence context every
+     * {@value #EXPORT_CLEAR_INTERVAL} rows, so memory stays flat however many rows match.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Consumer<Contract> action) {
+        long count = 0;
+        try (Stream<ContractEntity> rows = streamByCriteria(clientId, vehicleId, status)) {
+            Iterator<ContractEntity> it = rows.iterator();
+            while (it.hasNext()) {
+                action.accept(toDomain(it.next()));
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
     @Override
     public Page<Contract> findByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Pageable pageable) {
-        return jpaRepository.findByCriteria(clientId, vehicleId, status, pageable)
+        return jpaRepository.findAll(ContractSpecifications.matching(clientId, vehicleId, status), pageable)
             .map(this::toDomain);
     }
 
+    @Override
+    public Slice<Contract> findSliceByCriteria(UUID clientId, UUID vehicleId, ContractStatus status, Pageable pageable) {
+        return jpaRepository.findBy(ContractSpecifications.matching(clientId, vehicleId, status),
+                query -> query.slice(pageable))
+            .map(this::toDomain);
+    }
+
+    @Override
+    public long estimateCount(UUID clientId, UUID vehicleId, ContractStatus status) {
+        if (clientId == null && vehicleId == null && status == null) {
+            return rowCountEstimator.estimateTable("contracts", jpaRepository::count);
+        }
+        return rowCountEstimator.cached("contracts:" + clientId + ":" + vehicleId + ":" + status,
+            () -> jpaRepository.count(ContractSpecifications.matching(clientId, vehicleId, status)));
+    }
+
+    @Override
+    public List<Contract> findByCriteriaAfter(UUID clientId, UUID vehicleId, ContractStatus status,
+                                              LocalDate afterStartDate, UUID afterId, int limit) {
+        Specification<ContractEntity> criteria = ContractSpecifications.matching(clientId, vehicleId, status);
+        if (afterId != null) {
+            criteria = criteria.and(ContractSpecifications.after(afterStartDate, afterId));
+        }
+        return jpaRepository.findBy(criteria, query -> query.sortBy(KEYSET_ORDER).limit(limit).all())
+            .stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Both queries walk idx_contract_client_start_date backwards from the position, so a page
+     * reads {@code limit} index entries whatever the client's history length.
+     */
+    @Override
+    public List<Contract> findByClientBefore(UUID clientId, LocalDate beforeStartDate, UUID beforeId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<ContractEntity> entities = beforeId == null
+            ? jpaRepository.findLatestByClientId(clientId, page)
+            : jpaRepository.findByClientIdBefore(clientId, beforeStartDate, beforeId, page);
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Answered by the occupancy index when it is loaded. It only sees this instance's writes, so
+     * a hit is confirmed against the database: the contract may have been cancelled or ended by
+     * another instance. A contract it misses is refused at insert by the exclusion constraint.
+     */
     @Override
     public List<Contract> findOverlappingContracts(UUID vehicleId, LocalDate startDate, LocalDate endDate) {
+        if (occupancyIndex.isReady() && occupancyIndex.findOverlapping(vehicleId, startDate, endDate).isEmpty()) {
+            return List.of();
+        }
         return jpaRepository.findOverlappingContracts(vehicleId, startDate, endDate)
             .stream()
             .map(this::toDomain)
             .collect(Collectors.toList());
     }
 
+    /**
+     * One query per chunk of vehicles. The vehicle ids and the envelope of their periods select
+     * the rows through the vehicle index as before; each vehicle is then matched on its own period,
+     * so the contracts of one vehicle that only fall within another's period are not loaded.
+     */
+    @Override
+    public List<Contract> findOverlappingContractsForVehicles(Map<UUID, Period> periodsByVehicle) {
+        // with the occupancy index loaded, only the vehicles it has a hit for are confirmed against the database
+        List<Map.Entry<UUID, Period>> candidates = periodsByVehicle.entrySet().stream()
+            .filter(entry -> !occupancyIndex.isReady() || !occupancyIndex.findOverlapping(
+                entry.getKey(), entry.getValue().startDate(), entry.getValue().endDate()).isEmpty())
+            .toList();
+        List<Contract> overlapping = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i += OVERLAP_QUERY_CHUNK_SIZE) {
+            List<Map.Entry<UUID, Period>> chunk =
+                candidates.subList(i, Math.min(i + OVERLAP_QUERY_CHUNK_SIZE, candidates.size()));
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<ContractEntity> query = cb.createQuery(ContractEntity.class);
+            Root<ContractEntity> root = query.from(ContractEntity.class);
+            Predicate[] periods = chunk.stream()
+                .map(entry -> cb.and(
+                    cb.equal(root.get("vehicleId"), entry.getKey()),
+                    cb.greaterThanOrEqualTo(root.get("endDate"), entry.getValue().startDate()),
+                    cb.lessThanOrEqualTo(root.get("startDate"), entry.getValue().endDate())))
+                .toArray(Predicate[]::new);
+            LocalDate from = chunk.stream().map(entry -> entry.getValue().startDate()).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = chunk.stream().map(entry -> entry.getValue().endDate()).max(LocalDate::compareTo).orElseThrow();
+            query.where(
+                root.get("vehicleId").in(chunk.stream().map(Map.Entry::getKey).toList()),
+                root.get("status").in(ContractStatus.occupyingStatuses()),
+                cb.greaterThanOrEqualTo(root.get("endDate"), from),
+                cb.lessThanOrEqualTo(root.get("startDate"), to),
+                cb.or(periods));
+            entityManager.createQuery(query).getResultList().forEach(entity -> overlapping.add(toDomain(entity)));
+        }
+        return overlapping;
+    }
+
     @Override
     public List<Contract> findByStatus(ContractStatus status) {
         return jpaRepository.findByStatus(status)
@@ -80,8 +297,102 @@ public class ContractRepositoryImpl implements ContractRepository {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Locks a page of matching rows, then flips them with a single conditional UPDATE.
+     * The status guard keeps the statement correct even without the lock.
+     */
+    @Override
+    @Transactional
+    public List<Contract> transitionOverdue(ContractStatus from, ContractStatus to, LocalDate date, int limit) {
+        return moveLocked(jpaRepository.lockOverdueContracts(from, date, PageRequest.of(0, limit)), from, to);
+    }
+
+    @Override
+    @Transactional
+    public List<Contract> transitionOverdue(Collection<UUID> ids, ContractStatus from, ContractStatus to, LocalDate date) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return moveLocked(jpaRepository.lockOverdueContracts(ids, from, date), from, to);
+    }
+
+    @Override
+    @Transactional
+    public List<Contract> transitionForVehicles(Collection<UUID> vehicleIds, ContractStatus from, ContractStatus to) {
+        if (vehicleIds.isEmpty()) {
+            return List.of();
+        }
+        return moveLocked(jpaRepository.lockByVehicleIdsAndStatus(vehicleIds, from), from, to);
+    }
+
+    /**
+     * One statement whichever the outcome; the persistence context is flushed before it and cleared
+     * after it, as for the JPQL bulk updates.
+     */
+    @Override
+    @Transactional
+    public Optional<Contract> transition(UUID id, Set<ContractStatus> from, ContractStatus to) {
+        if (from.isEmpty()) {
+            return Optional.empty();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(from.size(), "?"));
+        String sql = String.format(databaseProduct.isPostgres() ? TRANSITION_POSTGRES_SQL : TRANSITION_SQL, placeholders);
+        entityManager.flush();
+        List<Contract> previous = jdbcTemplate.query(sql, statement -> {
+            statement.setString(1, to.name());
+            statement.setObject(2, id);
+            int index = 3;
+            for (ContractStatus status : from) {
+                statement.setString(index++, status.name());
+            }
+        }, (row, rowNum) -> {
+            Contract contract = new Contract(row.getObject("id", UUID.class), row.getObject("client_id", UUID.class),
+                row.getObject("vehicle_id", UUID.class), row.getObject("start_date", LocalDate.class),
+                row.getObject("end_date", LocalDate.class), ContractStatus.valueOf(row.getString("status")));
+            contract.setVersion(row.getLong("version"));
+            return contract;
+        });
+        entityManager.clear();
+        return previous.stream().findFirst();
+    }
+
+    /**
+     * Server-side cursor over the matching contracts in id order; must be consumed inside a
+     * transaction and closed.
+     */
+    private Stream<ContractEntity> streamByCriteria(UUID clientId, UUID vehicleId, ContractStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContractEntity> query = cb.createQuery(ContractEntity.class);
+        Root<ContractEntity> root = query.from(ContractEntity.class);
+        query.where(ContractSpecifications.matching(clientId, vehicleId, status).toPredicate(root, query, cb))
+            .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private List<Contract> moveLocked(List<ContractEntity> overdue, ContractStatus from, ContractStatus to) {
+        if (overdue.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = overdue.stream().map(ContractEntity::getId).collect(Collectors.toList());
+        int updated = jpaRepository.updateStatus(ids, from, to);
+        if (updated != ids.size()) {
+            throw new IllegalStateException(
+                String.format("Expected to move %d locked contracts to %s, moved %d", ids.size(), to, updated));
+        }
+        return overdue.stream()
+            .map(this::toDomain)
+            .peek(contract -> {
+                contract.setStatus(to);
+                contract.setVersion(contract.getVersion() + 1);
+            })
+            .collect(Collectors.toList());
+    }
+
     private ContractEntity toEntity(Contract contract) {
-        return new ContractEntity(
+        ContractEntity entity = new ContractEntity(
             contract.getId(),
             contract.getClientId(),
             contract.getVehicleId(),
@@ -89,10 +400,12 @@ public class ContractRepositoryImpl implements ContractRepository {
             contract.getEndDate(),
             contract.getStatus()
         );
+        entity.setVersion(contract.getVersion());
+        return entity;
     }
 
     private Contract toDomain(ContractEntity entity) {
-        return new Contract(
+        Contract contract = new Contract(
             entity.getId(),
             entity.getClientId(),
             entity.getVehicleId(),
@@ -100,5 +413,7 @@ public class ContractRepositoryImpl implements ContractRepository {
             entity.getEndDate(),
             entity.getStatus()
         );
+        contract.setVersion(entity.getVersion());
+        return contract;
     }
 }
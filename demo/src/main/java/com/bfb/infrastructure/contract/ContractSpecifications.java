@@ -0,0 +1,51 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.model.ContractStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contract search predicates built from the filters actually supplied. Unlike the
+ * {@code (:param IS NULL OR col = :param)} form, each filter combination yields its own SQL,
+ * so the database plans it against the index that fits.
+ */
+final class ContractSpecifications {
+
+    private ContractSpecifications() {
+    }
+
+    static Specification<ContractEntity> matching(UUID clientId, UUID vehicleId, ContractStatus status) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(3);
+            if (clientId != null) {
+                predicates.add(cb.equal(root.get("clientId"), clientId));
+            }
+            if (vehicleId != null) {
+                predicates.add(cb.equal(root.get("vehicleId"), vehicleId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset position in (startDate, id) order. Spelled {@code startDate >= d AND (startDate > d OR id > i)}
+     * since criteria queries have no row-value comparison; the leading bound keeps it an index range.
+     */
+    static Specification<ContractEntity> after(LocalDate startDate, UUID id) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.get("startDate"), startDate),
+            cb.or(
+                cb.greaterThan(root.get("startDate"), startDate),
+                cb.greaterThan(root.<UUID>get("id"), id)
+            )
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.bfb.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stub publisher that appends every event as one JSON line to a local file, standing in for a
+ * message broker until downstream systems have one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.outbox", name = "publisher", havingValue = "file", matchIfMissing = true)
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileOutboxPublisher(ObjectMapper objectMapper,
+                               @Value("${bfb.outbox.file.path:var/outbox/events.ndjson}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void publish(OutboxMessage message) {
+        try {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", message.id());
+            line.put("aggregateType", message.aggregateType());
+            line.put("aggregateId", message.aggregateId().toString());
+            line.put("eventType", message.eventType());
+            line.put("createdAt", message.createdAt().toString());
+            line.set("payload", objectMapper.readTree(message.payload()));
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + message.id(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append outbox event " + message.id() + " to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bfb.infrastructure.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Oldest unpublished events after the given id not locked by another relay:
+     * FOR UPDATE SKIP LOCKED (a lock timeout of -2 is Hibernate's SKIP_LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEventEntity o WHERE o.publishedAt IS NULL AND o.id > :after ORDER BY o.id")
+    List<OutboxEventEntity> lockUnpublished(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Per aggregate, the first unpublished event outside the given ones, i.e. one locked by
+     * another relay or committed after the batch was selected.
+     */
+    @Query("SELECT o.aggregateId AS aggregateId, MIN(o.id) AS firstId FROM OutboxEventEntity o " +
+           "WHERE o.publishedAt IS NULL AND o.aggregateId IN :aggregateIds AND o.id NOT IN :ids " +
+           "GROUP BY o.aggregateId")
+    List<FirstUnpublishedView> findFirstUnpublishedOutside(
+        @Param("aggregateIds") Collection<UUID> aggregateIds,
+        @Param("ids") Collection<Long> ids
+    );
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEventEntity o WHERE o.publishedAt IS NULL")
+    Optional<LocalDateTime> findOldestUnpublishedCreatedAt();
+
+    List<OutboxEventEntity> findByAggregateIdOrderById(UUID aggregateId);
+
+    interface FirstUnpublishedView {
+        UUID getAggregateId();
+        Long getFirstId();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bfb.infrastructure.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An outbox event as handed to an {@link OutboxPublisher}. The id increases with commit order per
+ * aggregate and can be used by consumers to drop redeliveries.
+ */
+public record OutboxMessage(
+    long id,
+    String aggregateType,
+    UUID aggregateId,
+    String eventType,
+    String payload,
+    LocalDateTime createdAt
+) {}
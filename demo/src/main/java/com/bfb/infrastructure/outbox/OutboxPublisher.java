@@ -0,0 +1,10 @@
+package com.bfb.infrastructure.outbox;
+
+/**
+ * Delivers outbox events to downstream systems. An implementation must throw when delivery
+ * fails; the event then stays in the outbox and is retried by the next relay run.
+ */
+public interface OutboxPublisher {
+
+    void publish(OutboxMessage message);
+}
@@ -0,0 +1,130 @@
+package com.bfb.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the configured {@link OutboxPublisher}. A run walks the unpublished events
+ * in id order, one batch per transaction; each batch is locked with SKIP LOCKED, so several
+ * instances can relay side by side, and marked published in the transaction that published it.
+ * Delivery is at least once: a batch whose commit fails is published again by the next run.
+ * Ordering per aggregate holds across instances and failures: an event is held back while an
+ * earlier event of its aggregate is unpublished, whether that one failed or is locked elsewhere.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.outbox.relay", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final OutboxPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventJpaRepository outboxRepository,
+            OutboxPublisher publisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${bfb.outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.published = Counter.builder("bfb.outbox.published")
+            .description("Outbox events handed to the publisher")
+            .register(meterRegistry);
+        Gauge.builder("bfb.outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("Age of the oldest unpublished outbox event after the last relay run")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bfb.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        int total = 0;
+        BatchResult batch = new BatchResult(0L, 0, 0);
+        do {
+            long after = batch.lastId();
+            batch = transactionTemplate.execute(status -> relayBatch(after));
+            total += batch.published();
+        } while (batch.locked() == batchSize);
+
+        LocalDateTime oldest = outboxRepository.findOldestUnpublishedCreatedAt().orElse(null);
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        if (total > 0) {
+            logger.debug("Relayed {} outbox events, lag {} ms", total, lagMillis.get());
+        }
+    }
+
+    long lagMillis() {
+        return lagMillis.get();
+    }
+
+    private BatchResult relayBatch(long after) {
+        List<OutboxEventEntity> batch = outboxRepository.lockUnpublished(after, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return new BatchResult(after, 0, 0);
+        }
+        Map<UUID, Long> heldElsewhere = outboxRepository.findFirstUnpublishedOutside(
+                batch.stream().map(OutboxEventEntity::getAggregateId).collect(Collectors.toSet()),
+                batch.stream().map(OutboxEventEntity::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(
+                OutboxEventJpaRepository.FirstUnpublishedView::getAggregateId,
+                OutboxEventJpaRepository.FirstUnpublishedView::getFirstId));
+
+        Set<UUID> stalled = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (OutboxEventEntity event : batch) {
+            UUID aggregateId = event.getAggregateId();
+            Long earlier = heldElsewhere.get(aggregateId);
+            if (stalled.contains(aggregateId) || (earlier != null && earlier < event.getId())) {
+                stalled.add(aggregateId);
+                continue;
+            }
+            try {
+                publisher.publish(toMessage(event));
+                event.setPublishedAt(now);
+                count++;
+            } catch (RuntimeException e) {
+                logger.warn("Publishing outbox event {} of {} {} failed, will retry",
+                    event.getId(), event.getAggregateType(), aggregateId, e);
+                stalled.add(aggregateId);
+            }
+        }
+        published.increment(count);
+        return new BatchResult(batch.get(batch.size() - 1).getId(), batch.size(), count);
+    }
+
+    private static OutboxMessage toMessage(OutboxEventEntity event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+            event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+
+    private record BatchResult(long lastId, int locked, int published) {}
+}
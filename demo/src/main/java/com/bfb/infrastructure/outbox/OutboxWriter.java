@@ -0,0 +1,77 @@
+package com.bfb.infrastructure.outbox;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes contract and vehicle state changes to the outbox table just before the transaction that
+ * made them commits, so an event is stored if and only if its change is. Events published outside
+ * a transaction are stored in a transaction of their own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bfb.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    static final String CONTRACT = "Contract";
+    static final String VEHICLE = "Vehicle";
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventJpaRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onContractStateChanged(ContractStateChangedEvent event) {
+        Contract contract = event.contract();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("contractId", contract.getId());
+        payload.put("clientId", contract.getClientId());
+        payload.put("vehicleId", contract.getVehicleId());
+        payload.put("startDate", contract.getStartDate());
+        payload.put("endDate", contract.getEndDate());
+        payload.put("status", contract.getStatus());
+        payload.put("previousStatus", event.previousStatus());
+        write(CONTRACT, contract.getId(), "ContractStateChanged", payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onVehicleStateChanged(VehicleStateChangedEvent event) {
+        Vehicle vehicle = event.vehicle();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("vehicleId", vehicle.getId());
+        payload.put("registrationPlate", vehicle.getRegistrationPlate());
+        payload.put("status", vehicle.getStatus());
+        payload.put("previousStatus", event.previousStatus());
+        write(VEHICLE, vehicle.getId(), "VehicleStateChanged", payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onVehicleDeleted(VehicleDeletedEvent event) {
+        write(VEHICLE, event.vehicleId(), "VehicleDeleted", Map.of("vehicleId", event.vehicleId()));
+    }
+
+    private void write(String aggregateType, UUID aggregateId, String eventType, Map<String, Object> payload) {
+        try {
+            outboxRepository.save(new OutboxEventEntity(
+                aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " of " + aggregateId, e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.bfb.infrastructure.vehicle;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.infrastructure.contract.ContractEntity;
+import com.bfb.infrastructure.contract.ContractJpaRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Day-major availability calendar of the whole fleet.
+ * Every vehicle gets a dense ordinal; every calendar day holds one bitset over those
+ * ordinals with a bit set when an occupying contract covers the vehicle that day.
+ * A range query ORs the days together and clears the result out of the rentable fleet.
+ * Days live in a fixed ring covering today and the following horizon days; the window slides
+ * forward on the first use of a new day, and ranges reaching outside it are left to the database.
+ * Built from the database at startup and kept in sync from committed vehicle and contract events.
+ */
+@Component
+public class FleetAvailabilityCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetAvailabilityCalendar.class);
+
+    private final VehicleJpaRepository vehicleJpaRepository;
+    private final ContractJpaRepository contractJpaRepository;
+    private final boolean enabled;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> vehicleIds = new ArrayList<>();
+    private final Map<UUID, Booking> bookings = new HashMap<>();
+    private final Map<Integer, List<Booking>> bookingsByVehicle = new HashMap<>();
+    private final long[][] days;
+    private long[] fleet = new long[0];
+    private volatile long originDay;
+    private volatile boolean ready;
+
+    @Autowired
+    public FleetAvailabilityCalendar(
+            VehicleJpaRepository vehicleJpaRepository,
+            ContractJpaRepository contractJpaRepository,
+            @Value("${bfb.vehicle.availability-calendar.enabled:false}") boolean enabled,
+            @Value("${bfb.vehicle.availability-calendar.horizon-days:366}") int horizonDays) {
+        this(vehicleJpaRepository, contractJpaRepository, enabled, horizonDays, Clock.systemDefaultZone());
+    }
+
+    FleetAvailabilityCalendar(VehicleJpaRepository vehicleJpaRepository, ContractJpaRepository contractJpaRepository,
+                              boolean enabled, int horizonDays, Clock clock) {
+        this.vehicleJpaRepository = vehicleJpaRepository;
+        this.contractJpaRepository = contractJpaRepository;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.days = new long[horizonDays][];
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            originDay = LocalDate.now(clock).toEpochDay();
+            vehicleJpaRepository.findAll()
+                .forEach(vehicle -> registerVehicle(vehicle.getId(), vehicle.getStatus()));
+            for (ContractEntity contract : contractJpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())) {
+                book(contract.getId(), contract.getVehicleId(),
+                    contract.getStartDate().toEpochDay(), contract.getEndDate().toEpochDay());
+            }
+            ready = true;
+            logger.info("Fleet availability calendar loaded: {} vehicles, {} bookings, {} days",
+                vehicleIds.size(), bookings.size(), days.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    int bookingCount() {
+        lock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vehicles that are rentable and free on every day of [from, to], or empty when the range
+     * reaches outside the calendar window and must be answered by the database.
+     */
+    public Optional<List<UUID>> findAvailable(LocalDate from, LocalDate to) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        long today = LocalDate.now(clock).toEpochDay();
+        if (today != originDay) {
+            advanceTo(today);
+        }
+        lock.readLock().lock();
+        try {
+            long fromDay = from.toEpochDay();
+            long toDay = to.toEpochDay();
+            if (fromDay < originDay || toDay >= originDay + days.length) {
+                return Optional.empty();
+            }
+            long[] busy = new long[fleet.length];
+            for (long d = fromDay; d <= toDay; d++) {
+                long[] day = days[slot(d)];
+                if (day != null) {
+                    for (int w = 0; w < day.length; w++) {
+                        busy[w] |= day[w];
+                    }
+                }
+            }
+            List<UUID> available = new ArrayList<>();
+            for (int w = 0; w < fleet.length; w++) {
+                long free = fleet[w] & ~busy[w];
+                while (free != 0) {
+                    int bit = Long.numberOfTrailingZeros(free);
+                    available.add(vehicleIds.get((w << 6) + bit));
+                    free &= free - 1;
+                }
+            }
+            return Optional.of(available);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStateChanged(VehicleStateChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            registerVehicle(event.vehicle().getId(), event.vehicle().getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleDeleted(VehicleDeletedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(event.vehicleId());
+            if (ordinal != null) {
+                setBit(fleet, ordinal, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractStateChanged(ContractStateChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        Contract contract = event.contract();
+        lock.writeLock().lock();
+        try {
+            release(contract.getId());
+            if (contract.isOccupying()) {
+                book(contract.getId(), contract.getVehicleId(),
+                    contract.getStartDate().toEpochDay(), contract.getEndDate().toEpochDay());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the window to start at {@code today}: the slots of the days left behind are cleared and
+     * reused for the days entering at the far end, marked from the bookings that cover them.
+     * Bookings that ended before today can no longer mark a day and are dropped.
+     */
+    void advanceTo(long today) {
+        lock.writeLock().lock();
+        try {
+            if (today <= originDay) {
+                return;
+            }
+            long previousEnd = originDay + days.length;
+            for (long day = originDay; day < Math.min(today, previousEnd); day++) {
+                days[slot(day)] = null;
+            }
+            originDay = today;
+            long enteringFrom = Math.max(previousEnd, today);
+            for (Iterator<Booking> it = bookings.values().iterator(); it.hasNext(); ) {
+                Booking booking = it.next();
+                if (booking.endDay() < today) {
+                    it.remove();
+                    forget(booking);
+                } else if (booking.endDay() >= enteringFrom) {
+                    mark(booking.ordinal(), Math.max(booking.startDay(), enteringFrom), booking.endDay(), true);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void registerVehicle(UUID vehicleId, VehicleStatus status) {
+        int ordinal = ordinalOf(vehicleId);
+        setBit(fleet, ordinal, status != VehicleStatus.BROKEN);
+    }
+
+    private int ordinalOf(UUID vehicleId) {
+        Integer existing = ordinals.get(vehicleId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = vehicleIds.size();
+        ordinals.put(vehicleId, ordinal);
+        vehicleIds.add(vehicleId);
+        int words = (ordinal >> 6) + 1;
+        if (fleet.length < words) {
+            fleet = Arrays.copyOf(fleet, Math.max(words, fleet.length * 2));
+        }
+        return ordinal;
+    }
+
+    /**
+     * Bookings over before the window, such as late contracts still running, are not kept: no
+     * query reaches those days.
+     */
+    private void book(UUID contractId, UUID vehicleId, long startDay, long endDay) {
+        if (endDay < originDay) {
+            return;
+        }
+        Booking booking = new Booking(contractId, ordinalOf(vehicleId), startDay, endDay);
+        bookings.put(contractId, booking);
+        bookingsByVehicle.computeIfAbsent(booking.ordinal(), k -> new ArrayList<>()).add(booking);
+        mark(booking.ordinal(), startDay, endDay, true);
+    }
+
+    private void release(UUID contractId) {
+        Booking booking = bookings.remove(contractId);
+        if (booking == null) {
+            return;
+        }
+        List<Booking> remaining = forget(booking);
+        mark(booking.ordinal(), booking.startDay(), booking.endDay(), false);
+        for (Booking other : remaining) {
+            if (other.endDay() >= booking.startDay() && other.startDay() <= booking.endDay()) {
+                mark(other.ordinal(), Math.max(other.startDay(), booking.startDay()),
+                    Math.min(other.endDay(), booking.endDay()), true);
+            }
+        }
+    }
+
+    /**
+     * Removes the booking from its vehicle's list and returns the bookings left on the vehicle.
+     */
+    private List<Booking> forget(Booking booking) {
+        List<Booking> remaining = bookingsByVehicle.get(booking.ordinal());
+        remaining.remove(booking);
+        if (remaining.isEmpty()) {
+            bookingsByVehicle.remove(booking.ordinal());
+        }
+        return remaining;
+    }
+
+    /**
+     * Days outside the window are skipped; they are marked when the window slides over them.
+     */
+    private void mark(int ordinal, long startDay, long endDay, boolean value) {
+        long first = Math.max(startDay, originDay);
+        long last = Math.min(endDay, originDay + days.length - 1);
+        for (long day = first; day <= last; day++) {
+            int index = slot(day);
+            long[] bits = days[index];
+            if (bits == null) {
+                if (!value) {
+                    continue;
+                }
+                bits = new long[fleet.length];
+                days[index] = bits;
+            } else if (bits.length <= ordinal >> 6) {
+                bits = Arrays.copyOf(bits, fleet.length);
+                days[index] = bits;
+            }
+            setBit(bits, ordinal, value);
+        }
+    }
+
+    private int slot(long day) {
+        return (int) Math.floorMod(day, (long) days.length);
+    }
+
+    private static void setBit(long[] bits, int ordinal, boolean value) {
+        if (value) {
+            bits[ordinal >> 6] |= 1L << ordinal;
+        } else {
+            bits[ordinal >> 6] &= ~(1L << ordinal);
+        }
+    }
+
+    private record Booking(UUID contractId, int ordinal, long startDay, long endDay) {}
+}
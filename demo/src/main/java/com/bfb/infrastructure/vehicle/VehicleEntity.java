@@ -1,17 +1,26 @@
 package com.bfb.infrastructure.vehicle;
 
 import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.infrastructure.common.EntityIdGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+    @Index(name = "idx_vehicle_brand_id", columnList = "brand, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = VehicleEntity.REGISTRATION_PLATE_CONSTRAINT, columnNames = "registration_plate")
+})
 public class VehicleEntity  {
 
+    /** Unique constraint of the V4 migration. */
+    static final String REGISTRATION_PLATE_CONSTRAINT = "uk_vehicle_registration_plate";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = EntityIdGenerator.class)
     private UUID id;
 
     @Column(nullable = false, length = 50)
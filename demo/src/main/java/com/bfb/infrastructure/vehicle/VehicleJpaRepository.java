@@ -3,14 +3,50 @@ package com.bfb.infrastructure.vehicle;
 import com.bfb.business.vehicle.model.VehicleStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface VehicleJpaRepository extends JpaRepository<VehicleEntity, UUID> {
     List<VehicleEntity> findByStatus(VehicleStatus status);
     Page<VehicleEntity> findByStatus(VehicleStatus status, Pageable pageable);
-    
-    boolean existsByRegistrationPlate(String registrationPlate);
+
+    @Query("SELECT v.registrationPlate FROM VehicleEntity v")
+    List<String> findAllRegistrationPlates();
+
+    @Query("SELECT v.registrationPlate FROM VehicleEntity v WHERE v.registrationPlate IN :plates")
+    List<String> findExistingRegistrationPlates(@Param("plates") Collection<String> plates);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE (:status IS NULL OR v.status = :status)")
+    Slice<VehicleEntity> findSliceByStatus(@Param("status") VehicleStatus status, Pageable pageable);
+
+    long countByStatus(VehicleStatus status);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE (:status IS NULL OR v.status = :status) " +
+           "ORDER BY v.brand, v.id")
+    List<VehicleEntity> findFirstByStatus(@Param("status") VehicleStatus status, Pageable pageable);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE (:status IS NULL OR v.status = :status) " +
+           "AND (v.brand, v.id) > (:brand, :id) ORDER BY v.brand, v.id")
+    List<VehicleEntity> findByStatusAfter(
+        @Param("status") VehicleStatus status,
+        @Param("brand") String brand,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+
+    @Query("SELECT v.id AS id, v.status AS status FROM VehicleEntity v WHERE v.id IN :ids")
+    List<VehicleStatusView> findStatusesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE v.status <> 'BROKEN' AND NOT EXISTS (" +
+           "SELECT c.id FROM ContractEntity c WHERE c.vehicleId = v.id " +
+           "AND c.status IN ('PENDING', 'IN_PROGRESS', 'LATE') " +
+           "AND NOT (c.endDate < :from OR c.startDate > :to))")
+    List<VehicleEntity> findAvailable(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,347 @@
+package com.bfb.infrastructure.vehicle;
+
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The whole fleet held in memory, for status checks, listings by status and status counts.
+ * Vehicles are stored column by column in dense arrays; an open-addressing table keyed on the
+ * two halves of the id (linear probing, backward-shift deletion) maps an id to its row.
+ * Built from the database at startup and kept in sync from committed vehicle events. Those only
+ * cover this instance's writes, so the registry is rebuilt from the database every
+ * {@code refresh-interval-ms}: changes made by other instances show up within that interval.
+ */
+@Component
+public class VehicleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleRegistry.class);
+
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+    private static final int EMPTY = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final VehicleJpaRepository vehicleJpaRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // open-addressing table: id halves and row, EMPTY for a free slot
+    private long[] slotMostBits = new long[0];
+    private long[] slotLeastBits = new long[0];
+    private int[] slotRows = new int[0];
+
+    // dense rows
+    private int size;
+    private long[] mostBits = new long[0];
+    private long[] leastBits = new long[0];
+    private byte[] statuses = new byte[0];
+    private int[] purchaseDays = new int[0];
+    private String[] brands = new String[0];
+    private String[] models = new String[0];
+    private String[] motorizations = new String[0];
+    private String[] colors = new String[0];
+    private String[] plates = new String[0];
+    private final int[] statusCounts = new int[STATUSES.length];
+    private volatile boolean ready;
+
+    public VehicleRegistry(
+            VehicleJpaRepository vehicleJpaRepository,
+            @Value("${bfb.vehicle.registry.enabled:false}") boolean enabled) {
+        this.vehicleJpaRepository = vehicleJpaRepository;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        load();
+        logger.info("Vehicle registry loaded: {} vehicles", size);
+    }
+
+    /**
+     * Replaces the content with the fleet as the database has it now.
+     */
+    @Scheduled(fixedDelayString = "${bfb.vehicle.registry.refresh-interval-ms:10000}",
+        initialDelayString = "${bfb.vehicle.registry.refresh-interval-ms:10000}")
+    void refresh() {
+        if (ready) {
+            load();
+            logger.debug("Vehicle registry refreshed: {} vehicles", size);
+        }
+    }
+
+    private void load() {
+        List<VehicleEntity> vehicles = vehicleJpaRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            clear();
+            grow(vehicles.size());
+            vehicles.forEach(vehicle -> put(vehicle.getId(), vehicle.getBrand(), vehicle.getModel(),
+                vehicle.getMotorization(), vehicle.getColor(), vehicle.getRegistrationPlate(),
+                vehicle.getPurchaseDate(), vehicle.getStatus()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Status of the vehicle, or empty when it is not registered.
+     */
+    public Optional<VehicleStatus> findStatus(UUID id) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return row == EMPTY ? Optional.empty() : Optional.of(STATUSES[statuses[row]]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Vehicle> findByStatus(VehicleStatus status) {
+        lock.readLock().lock();
+        try {
+            byte ordinal = (byte) status.ordinal();
+            List<Vehicle> vehicles = new ArrayList<>(statusCounts[ordinal]);
+            for (int row = 0; row < size; row++) {
+                if (statuses[row] == ordinal) {
+                    vehicles.add(toVehicle(row));
+                }
+            }
+            return vehicles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of vehicles with the given status, or of all vehicles when it is null.
+     */
+    public long count(VehicleStatus status) {
+        lock.readLock().lock();
+        try {
+            return status == null ? size : statusCounts[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStateChanged(VehicleStateChangedEvent event) {
+        register(event.vehicle());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleDeleted(VehicleDeletedEvent event) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(event.vehicleId().getMostSignificantBits(), event.vehicleId().getLeastSignificantBits());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a vehicle, e.g. one created by another instance and found in the database.
+     */
+    void register(Vehicle vehicle) {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getMotorization(),
+                vehicle.getColor(), vehicle.getRegistrationPlate(), vehicle.getPurchaseDate(), vehicle.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(UUID id, String brand, String model, String motorization, String color,
+                     String plate, LocalDate purchaseDate, VehicleStatus status) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        int row = rowOf(most, least);
+        if (row == EMPTY) {
+            grow(size + 1);
+            row = size++;
+            mostBits[row] = most;
+            leastBits[row] = least;
+            insertSlot(most, least, row);
+        } else {
+            statusCounts[statuses[row]]--;
+        }
+        statuses[row] = (byte) status.ordinal();
+        statusCounts[status.ordinal()]++;
+        brands[row] = brand;
+        models[row] = model;
+        motorizations[row] = motorization;
+        colors[row] = color;
+        plates[row] = plate;
+        purchaseDays[row] = purchaseDate == null ? NO_DATE : (int) purchaseDate.toEpochDay();
+    }
+
+    /**
+     * Removes the row by moving the last row into its place.
+     */
+    private void remove(long most, long least) {
+        int slot = slotOf(most, least);
+        if (slot == EMPTY) {
+            return;
+        }
+        int row = slotRows[slot];
+        deleteSlot(slot);
+        statusCounts[statuses[row]]--;
+        int last = --size;
+        if (row != last) {
+            mostBits[row] = mostBits[last];
+            leastBits[row] = leastBits[last];
+            statuses[row] = statuses[last];
+            purchaseDays[row] = purchaseDays[last];
+            brands[row] = brands[last];
+            models[row] = models[last];
+            motorizations[row] = motorizations[last];
+            colors[row] = colors[last];
+            plates[row] = plates[last];
+            slotRows[slotOf(mostBits[row], leastBits[row])] = row;
+        }
+        brands[last] = null;
+        models[last] = null;
+        motorizations[last] = null;
+        colors[last] = null;
+        plates[last] = null;
+    }
+
+    private void clear() {
+        Arrays.fill(slotRows, EMPTY);
+        Arrays.fill(brands, 0, size, null);
+        Arrays.fill(models, 0, size, null);
+        Arrays.fill(motorizations, 0, size, null);
+        Arrays.fill(colors, 0, size, null);
+        Arrays.fill(plates, 0, size, null);
+        Arrays.fill(statusCounts, 0);
+        size = 0;
+    }
+
+    private int rowOf(long most, long least) {
+        int slot = slotOf(most, least);
+        return slot == EMPTY ? EMPTY : slotRows[slot];
+    }
+
+    private int slotOf(long most, long least) {
+        if (slotRows.length == 0) {
+            return EMPTY;
+        }
+        int mask = slotRows.length - 1;
+        for (int slot = hash(most, least) & mask; slotRows[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (slotMostBits[slot] == most && slotLeastBits[slot] == least) {
+                return slot;
+            }
+        }
+        return EMPTY;
+    }
+
+    private void insertSlot(long most, long least, int row) {
+        int mask = slotRows.length - 1;
+        int slot = hash(most, least) & mask;
+        while (slotRows[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slotMostBits[slot] = most;
+        slotLeastBits[slot] = least;
+        slotRows[slot] = row;
+    }
+
+    /**
+     * Backward-shift deletion: pulls later entries of the probe run into the gap so lookups
+     * never need tombstones.
+     */
+    private void deleteSlot(int gap) {
+        int mask = slotRows.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (slotRows[slot] == EMPTY) {
+                break;
+            }
+            int home = hash(slotMostBits[slot], slotLeastBits[slot]) & mask;
+            // move the entry back unless its home lies cyclically in (gap, slot]
+            boolean stays = gap <= slot ? gap < home && home <= slot : gap < home || home <= slot;
+            if (!stays) {
+                slotMostBits[gap] = slotMostBits[slot];
+                slotLeastBits[gap] = slotLeastBits[slot];
+                slotRows[gap] = slotRows[slot];
+                gap = slot;
+            }
+        }
+        slotRows[gap] = EMPTY;
+    }
+
+    /**
+     * Makes room for {@code rows} rows, keeping the table at most half full.
+     */
+    private void grow(int rows) {
+        if (rows > mostBits.length) {
+            int capacity = Math.max(rows, Math.max(16, mostBits.length * 2));
+            mostBits = Arrays.copyOf(mostBits, capacity);
+            leastBits = Arrays.copyOf(leastBits, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            purchaseDays = Arrays.copyOf(purchaseDays, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            models = Arrays.copyOf(models, capacity);
+            motorizations = Arrays.copyOf(motorizations, capacity);
+            colors = Arrays.copyOf(colors, capacity);
+            plates = Arrays.copyOf(plates, capacity);
+        }
+        if (rows * 2 > slotRows.length) {
+            int slots = Integer.highestOneBit(Math.max(32, rows * 2 - 1)) << 1;
+            slotMostBits = new long[slots];
+            slotLeastBits = new long[slots];
+            slotRows = new int[slots];
+            Arrays.fill(slotRows, EMPTY);
+            for (int row = 0; row < size; row++) {
+                insertSlot(mostBits[row], leastBits[row], row);
+            }
+        }
+    }
+
+    private Vehicle toVehicle(int row) {
+        return new Vehicle(new UUID(mostBits[row], leastBits[row]), brands[row], models[row], motorizations[row],
+            colors[row], plates[row], purchaseDays[row] == NO_DATE ? null : LocalDate.ofEpochDay(purchaseDays[row]),
+            STATUSES[statuses[row]]);
+    }
+
+    private static int hash(long most, long least) {
+        long h = most * 0x9E3779B97F4A7C15L ^ least;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -3,28 +3,115 @@ package com.bfb.infrastructure.vehicle;
 import com.bfb.business.vehicle.model.Vehicle;
 import com.bfb.business.vehicle.model.VehicleStatus;
 import com.bfb.business.vehicle.service.VehicleRepository;
+import com.bfb.business.vehicle.exception.DuplicateVehicleException;
+import com.bfb.infrastructure.common.ConstraintViolations;
+import com.bfb.infrastructure.common.CountingBloomFilter;
+import com.bfb.infrastructure.common.EntityIds;
+import com.bfb.infrastructure.common.RowCountEstimator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class VehicleRepositoryImpl implements VehicleRepository {
 
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "INSERT INTO vehicles "
+        + "(id, brand, model, motorization, color, registration_plate, purchase_date, status) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final VehicleJpaRepository jpaRepository;
+    private final FleetAvailabilityCalendar availabilityCalendar;
+    private final RowCountEstimator rowCountEstimator;
+    private final JdbcTemplate jdbcTemplate;
+    private final VehicleRegistry registry;
+    private final MeterRegistry meterRegistry;
+    private final boolean plateFilterEnabled;
+    private final long plateFilterEntries;
+    private final double plateFilterFalsePositiveRate;
+    private CountingBloomFilter plateFilter;
 
-    public VehicleRepositoryImpl(VehicleJpaRepository jpaRepository) {
+    public VehicleRepositoryImpl(VehicleJpaRepository jpaRepository, FleetAvailabilityCalendar availabilityCalendar,
+                                 RowCountEstimator rowCountEstimator, JdbcTemplate jdbcTemplate,
+                                 VehicleRegistry registry, MeterRegistry meterRegistry,
+                                 @Value("${bfb.uniqueness-filter.enabled:false}") boolean plateFilterEnabled,
+                                 @Value("${bfb.uniqueness-filter.expected-entries:100000}") long plateFilterEntries,
+                                 @Value("${bfb.uniqueness-filter.false-positive-rate:0.01}") double plateFilterFalsePositiveRate) {
         this.jpaRepository = jpaRepository;
+        this.availabilityCalendar = availabilityCalendar;
+        this.rowCountEstimator = rowCountEstimator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.registry = registry;
+        this.meterRegistry = meterRegistry;
+        this.plateFilterEnabled = plateFilterEnabled;
+        this.plateFilterEntries = plateFilterEntries;
+        this.plateFilterFalsePositiveRate = plateFilterFalsePositiveRate;
+    }
+
+    /**
+     * Builds the registration plate filter, sized for twice the current fleet at least.
+     */
+    @PostConstruct
+    void loadPlateFilter() {
+        if (!plateFilterEnabled) {
+            return;
+        }
+        List<String> plates = jpaRepository.findAllRegistrationPlates();
+        CountingBloomFilter filter = new CountingBloomFilter("vehicle-plate",
+            Math.max(plateFilterEntries, 2L * plates.size()), plateFilterFalsePositiveRate, meterRegistry);
+        plates.forEach(filter::add);
+        plateFilter = filter;
+    }
+
+    /**
+     * Refills the registration plate filter from the database, picking up other instances' writes.
+     */
+    @Scheduled(fixedDelayString = "${bfb.uniqueness-filter.rebuild-interval-ms:300000}",
+        initialDelayString = "${bfb.uniqueness-filter.rebuild-interval-ms:300000}")
+    void rebuildPlateFilter() {
+        if (plateFilter != null) {
+            plateFilter.reset(jpaRepository.findAllRegistrationPlates());
+        }
     }
 
     @Override
     public Vehicle save(Vehicle vehicle) {
+        // the entity is normally in the persistence context already, merge would load it anyway
+        String previousPlate = plateFilter == null || vehicle.getId() == null ? null
+            : jpaRepository.findById(vehicle.getId()).map(VehicleEntity::getRegistrationPlate).orElse(null);
         VehicleEntity entity = toEntity(vehicle);
-        VehicleEntity saved = jpaRepository.save(entity);
+        VehicleEntity saved;
+        try {
+            saved = jpaRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, vehicle);
+        }
+        if (plateFilter != null && !saved.getRegistrationPlate().equals(previousPlate)) {
+            plateFilter.add(saved.getRegistrationPlate());
+            if (previousPlate != null) {
+                plateFilter.removeAfterCommit(previousPlate);
+            }
+        }
         return toDomain(saved);
     }
 
@@ -47,8 +134,39 @@ public class VehicleRepositoryImpl implements VehicleRepository {
             .map(this::toDomain);
     }
 
+    @Override
+    public Slice<Vehicle> findSlice(VehicleStatus status, Pageable pageable) {
+        return jpaRepository.findSliceByStatus(status, pageable)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public long estimateCount(VehicleStatus status) {
+        if (registry.isReady()) {
+            return registry.count(status);
+        }
+        if (status == null) {
+            return rowCountEstimator.estimateTable("vehicles", jpaRepository::count);
+        }
+        return rowCountEstimator.cached("vehicles:" + status, () -> jpaRepository.countByStatus(status));
+    }
+
+    @Override
+    public List<Vehicle> findAfter(VehicleStatus status, String afterBrand, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<VehicleEntity> entities = afterId == null
+            ? jpaRepository.findFirstByStatus(status, page)
+            : jpaRepository.findByStatusAfter(status, afterBrand, afterId, page);
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Vehicle> findByStatus(VehicleStatus status) {
+        if (registry.isReady()) {
+            return registry.findByStatus(status);
+        }
         return jpaRepository.findByStatus(status)
             .stream()
             .map(this::toDomain)
@@ -63,6 +181,9 @@ public class VehicleRepositoryImpl implements VehicleRepository {
 
     @Override
     public void deleteById(UUID id) {
+        if (plateFilter != null) {
+            jpaRepository.findById(id).ifPresent(entity -> plateFilter.removeAfterCommit(entity.getRegistrationPlate()));
+        }
         jpaRepository.deleteById(id);
     }
 
@@ -72,8 +193,102 @@ public class VehicleRepositoryImpl implements VehicleRepository {
     }
 
     @Override
-    public boolean existsByRegistrationPlate(String registrationPlate) {
-        return jpaRepository.existsByRegistrationPlate(registrationPlate);
+    public Map<UUID, VehicleStatus> findStatusesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findStatusesByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(VehicleStatusView::getId, VehicleStatusView::getStatus));
+    }
+
+    /**
+     * Answered by the registry; a vehicle it does not know, e.g. one just created by another
+     * instance, is looked up in the database and registered.
+     */
+    @Override
+    public Optional<VehicleStatus> findStatusById(UUID id) {
+        if (!registry.isReady()) {
+            return Optional.ofNullable(findStatusesByIds(List.of(id)).get(id));
+        }
+        Optional<VehicleStatus> status = registry.findStatus(id);
+        if (status.isPresent()) {
+            return status;
+        }
+        Optional<Vehicle> vehicle = jpaRepository.findById(id).map(this::toDomain);
+        vehicle.ifPresent(registry::register);
+        return vehicle.map(Vehicle::getStatus);
+    }
+
+    @Override
+    public Set<String> findExistingRegistrationPlates(Collection<String> registrationPlates) {
+        if (plateFilter != null) {
+            return plateFilter.existing(registrationPlates, jpaRepository::findExistingRegistrationPlates);
+        }
+        if (registrationPlates.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.findExistingRegistrationPlates(registrationPlates));
+    }
+
+    /**
+     * Plain JDBC rather than persist: no entity instances or merge checks, and the inserts go out
+     * as JDBC batches (multi-row statements with reWriteBatchedInserts on PostgreSQL).
+     * A batch does not tell which row the database refused, so only a single-vehicle insert has
+     * its violation translated to a {@link DuplicateVehicleException}.
+     */
+    @Override
+    public List<Vehicle> insertAll(List<Vehicle> vehicles) {
+        List<Vehicle> inserted = vehicles.stream()
+            .map(vehicle -> new Vehicle(EntityIds.next(), vehicle.getBrand(), vehicle.getModel(),
+                vehicle.getMotorization(), vehicle.getColor(), vehicle.getRegistrationPlate(),
+                vehicle.getPurchaseDate(), vehicle.getStatus()))
+            .collect(Collectors.toList());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserted, INSERT_BATCH_SIZE, (statement, vehicle) -> {
+                statement.setObject(1, vehicle.getId());
+                statement.setString(2, vehicle.getBrand());
+                statement.setString(3, vehicle.getModel());
+                statement.setString(4, vehicle.getMotorization());
+                statement.setString(5, vehicle.getColor());
+                statement.setString(6, vehicle.getRegistrationPlate());
+                statement.setObject(7, vehicle.getPurchaseDate());
+                statement.setString(8, vehicle.getStatus().name());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw inserted.size() == 1 ? translate(e, inserted.get(0)) : e;
+        }
+        if (plateFilter != null) {
+            inserted.forEach(vehicle -> plateFilter.add(vehicle.getRegistrationPlate()));
+        }
+        return inserted;
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException failure, Vehicle vehicle) {
+        if (ConstraintViolations.violates(failure, VehicleEntity.REGISTRATION_PLATE_CONSTRAINT)) {
+            return new DuplicateVehicleException(
+                String.format("A vehicle with registration plate '%s' already exists. " +
+                    "Each registration plate must be unique.", vehicle.getRegistrationPlate()));
+        }
+        return failure;
+    }
+
+    @Override
+    public List<Vehicle> findAvailable(LocalDate from, LocalDate to) {
+        Optional<List<UUID>> availableIds = availabilityCalendar.findAvailable(from, to);
+        if (availableIds.isEmpty()) {
+            return jpaRepository.findAvailable(from, to)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+        }
+        List<UUID> ids = availableIds.get();
+        List<Vehicle> vehicles = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += ID_LOOKUP_CHUNK_SIZE) {
+            jpaRepository.findAllById(ids.subList(i, Math.min(i + ID_LOOKUP_CHUNK_SIZE, ids.size())))
+                .forEach(entity -> vehicles.add(toDomain(entity)));
+        }
+        return vehicles;
     }
 
     private VehicleEntity toEntity(Vehicle vehicle) {
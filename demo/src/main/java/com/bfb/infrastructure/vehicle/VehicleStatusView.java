@@ -0,0 +1,13 @@
+package com.bfb.infrastructure.vehicle;
+
+import com.bfb.business.vehicle.model.VehicleStatus;
+
+import java.util.UUID;
+
+/**
+ * Projection used to read vehicle statuses without loading whole entities.
+ */
+public interface VehicleStatusView {
+    UUID getId();
+    VehicleStatus getStatus();
+}
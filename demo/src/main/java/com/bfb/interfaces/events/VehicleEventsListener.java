@@ -3,11 +3,13 @@ package com.bfb.interfaces.events;
 import com.bfb.business.contract.service.ContractService;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -37,6 +39,22 @@ public class VehicleEventsListener {
             .body(new VehicleMarkedDownResponse(request.vehicleId(), canceledCount));
     }
     
+    /**
+     * Batch variant of {@link #handleVehicleMarkedDown}: a depot-wide outage is reported in one call
+     * and all pending contracts of those vehicles are cancelled in a single transaction.
+     */
+    @PostMapping("/marked-down/batch")
+    public ResponseEntity<VehiclesMarkedDownResponse> handleVehiclesMarkedDown(
+            @Valid @RequestBody VehiclesMarkedDownRequest request) {
+
+        List<UUID> cancelled = contractService.cancelPendingContractsForVehicles(request.vehicleIds());
+
+        return ResponseEntity
+            .status(HttpStatus.ACCEPTED)
+            .body(new VehiclesMarkedDownResponse((int) request.vehicleIds().stream().distinct().count(),
+                cancelled.size(), cancelled));
+    }
+
     /**
      * Request DTO for "vehicle marked as broken" event.
      */
@@ -49,4 +67,17 @@ public class VehicleEventsListener {
      * Response DTO for "vehicle marked as broken" event.
      */
     public record VehicleMarkedDownResponse(UUID vehicleId, int contractsCancelled) {}
+
+    /**
+     * Request DTO for "vehicles marked as broken" batch event.
+     */
+    public record VehiclesMarkedDownRequest(
+        @NotEmpty(message = "At least one vehicle ID is required")
+        List<@NotNull(message = "Vehicle ID is required") UUID> vehicleIds
+    ) {}
+
+    /**
+     * Response DTO for "vehicles marked as broken" batch event.
+     */
+    public record VehiclesMarkedDownResponse(int vehicles, int contractsCancelled, List<UUID> cancelledContractIds) {}
 }
@@ -1,8 +1,10 @@
 package com.bfb.interfaces.rest.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,12 +19,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.bfb.business.client.exception.ClientNotFoundException;
 import com.bfb.business.client.model.Client;
 import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.service.ContractService;
 import com.bfb.interfaces.rest.client.dto.ClientDto;
 import com.bfb.interfaces.rest.client.dto.CreateClientRequest;
 import com.bfb.interfaces.rest.client.mapper.ClientMapper;
 import com.bfb.interfaces.rest.common.BaseRestController;
+import com.bfb.interfaces.rest.common.Cursor;
+import com.bfb.interfaces.rest.common.CsvImporter;
+import com.bfb.interfaces.rest.common.TotalsMode;
+import com.bfb.interfaces.rest.common.dto.CursorPage;
+import com.bfb.interfaces.rest.common.dto.ImportResponse;
+import com.bfb.interfaces.rest.contract.dto.ContractDto;
+import com.bfb.interfaces.rest.contract.mapper.ContractMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,12 +46,22 @@ import jakarta.validation.Valid;
 @Tag(name = "Clients", description = "Client management API")
 public class ClientController extends BaseRestController<Client, ClientDto> {
 
+    private static final List<String> IMPORT_COLUMNS =
+        List.of("firstName", "lastName", "licenseNumber", "birthDate");
+
     private final ClientService clientService;
     private final ClientMapper clientMapper;
+    private final CsvImporter csvImporter;
+    private final ContractService contractService;
+    private final ContractMapper contractMapper;
 
-    public ClientController(ClientService clientService, ClientMapper clientMapper) {
+    public ClientController(ClientService clientService, ClientMapper clientMapper, CsvImporter csvImporter,
+                            ContractService contractService, ContractMapper contractMapper) {
         this.clientService = clientService;
         this.clientMapper = clientMapper;
+        this.csvImporter = csvImporter;
+        this.contractService = contractService;
+        this.contractMapper = contractMapper;
     }
 
     @PostMapping
@@ -55,6 +77,39 @@ public class ClientController extends BaseRestController<Client, ClientDto> {
         return created(clientMapper.toDto(client));
     }
 
+    /**
+     * Columns: firstName, lastName, licenseNumber, birthDate (yyyy-MM-dd) and an optional address.
+     * Refused rows are reported by line; the others are imported.
+     */
+    @PostMapping(value = "/import", consumes = CsvImporter.TEXT_CSV_VALUE)
+    @Operation(summary = "Import clients in bulk from a CSV file")
+    public ResponseEntity<ImportResponse> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(csvImporter.importCsv(body, IMPORT_COLUMNS,
+            row -> {
+                CreateClientRequest request = csvImporter.validated(new CreateClientRequest(
+                    row.get("firstName"), row.get("lastName"), row.get("address"),
+                    row.get("licenseNumber"), row.getDate("birthDate")));
+                return new Client(null, request.firstName(), request.lastName(), request.address(),
+                    request.licenseNumber(), request.birthDate());
+            },
+            clientService::importAll));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get clients by cursor",
+        description = "Keyset pagination in last name order; pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPage<ClientDto>> scroll(
+        @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+        @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size
+    ) {
+        checkCursorPageSize(size);
+        Cursor after = Cursor.decode(cursor);
+        List<Client> clients = clientService.findAfter(
+            after == null ? null : after.key(), after == null ? null : after.id(), size + 1);
+        return okCursorPage(clients, size, clientMapper::toDto,
+            client -> new Cursor(client.getLastName(), client.getId()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get client by ID")
     public ResponseEntity<ClientDto> getById(@PathVariable UUID id) {
@@ -62,12 +117,36 @@ public class ClientController extends BaseRestController<Client, ClientDto> {
         return ok(clientMapper.toDto(client));
     }
 
+    /**
+     * The client's existence is only checked when its first page comes back empty, so a
+     * history page is a single index range scan.
+     */
+    @GetMapping("/{id}/contracts")
+    @Operation(summary = "Get the contract history of a client",
+        description = "Newest first, keyset pagination; pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPage<ContractDto>> contracts(
+        @PathVariable UUID id,
+        @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+        @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size
+    ) {
+        checkCursorPageSize(size);
+        Cursor before = Cursor.decode(cursor);
+        List<Contract> contracts = contractService.findByClientBefore(id,
+            before == null ? null : before.dateKey(), before == null ? null : before.id(), size + 1);
+        if (contracts.isEmpty() && before == null && !clientService.exists(id)) {
+            throw new ClientNotFoundException(String.format("Client %s not found", id));
+        }
+        return okCursorPage(contracts, size, contractMapper::toDto,
+            contract -> new Cursor(contract.getStartDate().toString(), contract.getId()));
+    }
+
     @GetMapping
     @Operation(summary = "Get all clients")
-    public ResponseEntity<Page<ClientDto>> getAll(
+    public ResponseEntity<?> getAll(
         @RequestParam(defaultValue = "0") @Parameter(description = "Page number") int page,
         @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size,
-        @RequestParam(defaultValue = "lastName,asc") @Parameter(description = "Sort criteria") String sort
+        @RequestParam(defaultValue = "lastName,asc") @Parameter(description = "Sort criteria") String sort,
+        @RequestParam(required = false) @Parameter(description = "none, estimated or exact") String totals
     ) {
         String[] sortParams = sort.split(",");
         Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc") 
@@ -75,8 +154,8 @@ public class ClientController extends BaseRestController<Client, ClientDto> {
             : Sort.Direction.ASC;
         
         Pageable pageable = PageRequest.of(page, size, direction, sortParams[0]);
-        Page<Client> clients = clientService.findAll(pageable);
-        return okPage(clients.map(clientMapper::toDto));
+        return okPage(TotalsMode.of(totals), pageable, clientService::findAll, clientService::findSlice,
+            clientService::estimateCount, clientMapper::toDto);
     }
 
     @PutMapping("/{id}")
@@ -1,11 +1,22 @@
 package com.bfb.interfaces.rest.common;
 
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.interfaces.rest.common.dto.CursorPage;
+import com.bfb.interfaces.rest.common.dto.PageResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
 public abstract class BaseRestController<T, D> {
 
+    protected static final int MAX_CURSOR_PAGE_SIZE = 500;
+
     protected ResponseEntity<D> created(D dto) {
         return ResponseEntity
             .status(HttpStatus.CREATED)
@@ -24,6 +35,48 @@ public abstract class BaseRestController<T, D> {
         return ResponseEntity.ok(page);
     }
 
+    /**
+     * Page in the requested totals mode. Without a mode the Spring Data page is returned as before;
+     * with one, a {@link PageResponse} that says how its total was computed.
+     */
+    protected ResponseEntity<?> okPage(TotalsMode totals, Pageable pageable,
+                                       Function<Pageable, Page<T>> exact, Function<Pageable, Slice<T>> slice,
+                                       LongSupplier estimate, Function<T, D> toDto) {
+        if (totals == null) {
+            return okPage(exact.apply(pageable).map(toDto));
+        }
+        return switch (totals) {
+            case EXACT -> ResponseEntity.ok(PageResponse.from(exact.apply(pageable).map(toDto)));
+            case NONE -> ResponseEntity.ok(PageResponse.from(slice.apply(pageable).map(toDto)));
+            case ESTIMATED -> {
+                Slice<D> page = slice.apply(pageable).map(toDto);
+                // the last page knows its exact total, skip the estimate
+                long estimated = page.hasNext() ? estimate.getAsLong() : 0;
+                yield ResponseEntity.ok(PageResponse.estimated(page, estimated));
+            }
+        };
+    }
+
+    /**
+     * Builds a keyset page from up to {@code size + 1} rows fetched after the previous cursor;
+     * the extra row only tells whether there is a next page. Rows may be of another resource,
+     * e.g. a sub-collection listed under this one.
+     */
+    protected <R, E> ResponseEntity<CursorPage<E>> okCursorPage(List<R> rows, int size,
+                                                                Function<R, E> toDto, Function<R, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(size - 1)).encode() : null;
+        return ResponseEntity.ok(new CursorPage<>(page.stream().map(toDto).toList(), nextCursor));
+    }
+
+    protected static void checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ValidationException(
+                String.format("Page size must be between 1 and %d, got %d", MAX_CURSOR_PAGE_SIZE, size));
+        }
+    }
+
     protected ResponseEntity<D> accepted(D dto) {
         return ResponseEntity
             .status(HttpStatus.ACCEPTED)
@@ -0,0 +1,36 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean validation for request objects that do not come through a {@code @Valid} controller
+ * parameter, such as the items of a batch or the rows of an import.
+ */
+public final class BeanValidation {
+
+    private BeanValidation() {}
+
+    /**
+     * Returns the request when it satisfies its bean validation constraints.
+     *
+     * @throws ValidationException listing every violation
+     */
+    public static <R> R validated(Validator validator, R request) {
+        Set<ConstraintViolation<R>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return request;
+        }
+        String errors = violations.stream()
+            .map(violation -> violation.getPropertyPath().toString().isEmpty()
+                ? violation.getMessage()
+                : violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+        throw new ValidationException("Validation errors: " + errors);
+    }
+}
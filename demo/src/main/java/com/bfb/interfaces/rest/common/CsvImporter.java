@@ -0,0 +1,198 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.interfaces.rest.common.dto.ImportError;
+import com.bfb.interfaces.rest.common.dto.ImportResponse;
+import com.bfb.interfaces.rest.config.ProblemDetails;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Drives CSV uploads: reads the body record by record, turns each row into an item and hands the
+ * items over chunk by chunk, so each chunk is checked and inserted in its own transaction and
+ * the file is never held in memory. Chunks already imported stay committed if a later one fails.
+ * A chunk the database refuses as a whole, e.g. because another request inserted one of its keys
+ * after the pre-check, is retried row by row so only the conflicting rows are reported.
+ */
+@Component
+public class CsvImporter {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvImporter.class);
+
+    private final Validator validator;
+    private final int chunkSize;
+
+    public CsvImporter(
+            Validator validator,
+            @Value("${bfb.import.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param columns     header names every file must have, in any order and case
+     * @param toItem      converts a row, throwing to refuse it
+     * @param importChunk imports a chunk of items and returns the refused ones by position
+     */
+    public <T> ImportResponse importCsv(
+            InputStream body,
+            List<String> columns,
+            Function<Row, T> toItem,
+            Function<List<T>, Map<Integer, RuntimeException>> importChunk) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        Map<String, Integer> header = readHeader(reader, columns);
+
+        List<ImportError> errors = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        int imported = 0;
+        while (true) {
+            List<String> values;
+            try {
+                values = reader.next();
+            } catch (ValidationException e) {
+                errors.add(rejected(reader.recordLine(), e));
+                break;
+            }
+            if (values == null) {
+                break;
+            }
+            try {
+                chunk.add(toItem.apply(new Row(header, values)));
+                chunkLines.add(reader.recordLine());
+            } catch (RuntimeException e) {
+                errors.add(rejected(reader.recordLine(), e));
+            }
+            if (chunk.size() == chunkSize) {
+                imported += flush(chunk, chunkLines, importChunk, errors);
+            }
+        }
+        imported += flush(chunk, chunkLines, importChunk, errors);
+
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        return new ImportResponse(imported, errors.size(), errors);
+    }
+
+    /**
+     * Returns the request when it satisfies its bean validation constraints.
+     */
+    public <R> R validated(R request) {
+        return BeanValidation.validated(validator, request);
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader, List<String> columns) throws IOException {
+        List<String> names = reader.next();
+        if (names == null) {
+            throw new ValidationException("CSV payload is empty, a header line is required");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).strip();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            header.put(name.toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = columns.stream()
+            .filter(column -> !header.containsKey(column.toLowerCase(Locale.ROOT)))
+            .toList();
+        if (!missing.isEmpty()) {
+            throw new ValidationException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return header;
+    }
+
+    private <T> int flush(List<T> chunk, List<Long> chunkLines,
+                          Function<List<T>, Map<Integer, RuntimeException>> importChunk, List<ImportError> errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int imported;
+        try {
+            Map<Integer, RuntimeException> rejections = importChunk.apply(chunk);
+            rejections.forEach((position, rejection) -> errors.add(rejected(chunkLines.get(position), rejection)));
+            imported = chunk.size() - rejections.size();
+        } catch (RuntimeException chunkFailure) {
+            logger.warn("Import of a chunk of {} rows failed, retrying one by one", chunk.size(), chunkFailure);
+            imported = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    RuntimeException rejection = importChunk.apply(List.of(chunk.get(i))).get(0);
+                    if (rejection == null) {
+                        imported++;
+                    } else {
+                        errors.add(rejected(chunkLines.get(i), rejection));
+                    }
+                } catch (RuntimeException e) {
+                    errors.add(rejected(chunkLines.get(i), e));
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+        return imported;
+    }
+
+    private ImportError rejected(long line, RuntimeException rejection) {
+        ProblemDetail problem = ProblemDetails.of(rejection);
+        return new ImportError(line, problem.getStatus(), problem);
+    }
+
+    /**
+     * One data row, read by header name.
+     */
+    public static final class Row {
+
+        private final Map<String, Integer> header;
+        private final List<String> values;
+
+        private Row(Map<String, Integer> header, List<String> values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        /**
+         * The trimmed value of the column, or null when it is empty or absent.
+         */
+        public String get(String column) {
+            Integer index = header.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * The column as an ISO date, or null when it is empty or absent.
+         */
+        public LocalDate getDate(String column) {
+            String value = get(column);
+            try {
+                return value == null ? null : LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException(String.format("%s: '%s' is not a date (yyyy-MM-dd)", column, value));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma-separated fields, optionally double-quoted, with {@code ""}
+ * for a quote and line breaks allowed inside quotes. Reads one record at a time.
+ */
+class CsvReader {
+
+    private static final int END = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = NONE;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The next record, or null at the end of the input. Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == END) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END) {
+                    throw new ValidationException("Unterminated quoted field in the record starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        field.append('"');
+                        c = read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                if (c == '\r' || c == '\n') {
+                    endLine(c);
+                    field.append('\n');
+                    c = read();
+                    continue;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == END) {
+                if (c != END) {
+                    endLine(c);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the last returned record started, one-based.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Counts the line break starting with {@code c}, consuming the LF of a CRLF.
+     */
+    private void endLine(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int next = reader.read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
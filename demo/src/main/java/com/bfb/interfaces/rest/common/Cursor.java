@@ -0,0 +1,47 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page: its sort key and id, encoded as an opaque
+ * URL-safe token so clients pass it back unchanged.
+ */
+public record Cursor(String key, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + encode());
+        }
+    }
+
+    /**
+     * Returns null for a null cursor, i.e. the first page.
+     */
+    public static Cursor decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+}
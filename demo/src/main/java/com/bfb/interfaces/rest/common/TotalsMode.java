@@ -0,0 +1,38 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing computes its total, chosen with the {@code totals} request parameter.
+ */
+public enum TotalsMode {
+    /** No total: limit + 1 rows are fetched to tell whether there is a next page. */
+    NONE,
+    /** Planner statistics or a periodically refreshed count; never below what the pages show. */
+    ESTIMATED,
+    /** A count(*) per request. */
+    EXACT;
+
+    /**
+     * Parses the request parameter; null when it is absent.
+     */
+    public static TotalsMode of(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(
+                String.format("Unknown totals mode '%s', expected none, estimated or exact", value));
+        }
+    }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bfb.interfaces.rest.common.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. nextCursor is null on the last page; there is no total,
+ * so a page costs the same at any depth.
+ *
+ * @param <T> the type of content in the page
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {}
@@ -0,0 +1,19 @@
+package com.bfb.interfaces.rest.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Reason one row of a CSV import was refused.
+ */
+@Schema(description = "Refused row of a CSV import")
+public record ImportError(
+    @Schema(description = "One-based line of the file the row starts on, the header being line 1", example = "42")
+    long line,
+
+    @Schema(description = "HTTP status the row would have received on its own", example = "409")
+    int status,
+
+    @Schema(description = "Reason for rejection")
+    ProblemDetail error
+) {}
@@ -0,0 +1,19 @@
+package com.bfb.interfaces.rest.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Response DTO for a CSV import: counts and the rows that were refused.
+ */
+@Schema(description = "Outcome of a CSV import")
+public record ImportResponse(
+    @Schema(description = "Number of rows imported", example = "99998")
+    int imported,
+
+    @Schema(description = "Number of rows refused", example = "2")
+    int rejected,
+
+    @Schema(description = "Refused rows, in file order")
+    List<ImportError> errors
+) {}
@@ -1,24 +1,30 @@
 package com.bfb.interfaces.rest.common.dto;
 
+import com.bfb.interfaces.rest.common.TotalsMode;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 /**
  * Generic wrapper for paginated API responses.
  * Provides a consistent structure for all paginated endpoints.
+ * totals tells how totalElements was computed; both totals are absent when it is {@code none}.
  * 
  * @param <T> the type of content in the page
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageResponse<T>(
     List<T> content,
     int pageNumber,
     int pageSize,
-    long totalElements,
-    int totalPages,
+    Long totalElements,
+    Integer totalPages,
     boolean first,
     boolean last,
-    boolean empty
+    boolean empty,
+    TotalsMode totals
 ) {
     /**
      * Creates a PageResponse from a Spring Data Page.
@@ -36,7 +42,45 @@ public record PageResponse<T>(
             page.getTotalPages(),
             page.isFirst(),
             page.isLast(),
-            page.isEmpty()
+            page.isEmpty(),
+            TotalsMode.EXACT
+        );
+    }
+
+    /**
+     * Creates a PageResponse without totals from a Spring Data Slice.
+     */
+    public static <T> PageResponse<T> from(Slice<T> slice) {
+        return new PageResponse<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            null,
+            null,
+            slice.isFirst(),
+            slice.isLast(),
+            slice.isEmpty(),
+            TotalsMode.NONE
+        );
+    }
+
+    /**
+     * Creates a PageResponse from a Spring Data Slice and an estimated total. The total is exact
+     * on the last page and never smaller than the rows the slice proves to exist.
+     */
+    public static <T> PageResponse<T> estimated(Slice<T> slice, long estimatedTotal) {
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : seen;
+        return new PageResponse<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            total,
+            slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()),
+            slice.isFirst(),
+            slice.isLast(),
+            slice.isEmpty(),
+            TotalsMode.ESTIMATED
         );
     }
 }
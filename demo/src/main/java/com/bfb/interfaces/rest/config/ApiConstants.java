@@ -13,6 +13,7 @@ public final class ApiConstants {
         public static final String VALIDATION = ERROR_BASE_URI + "/validation";
         public static final String CONFLICT = ERROR_BASE_URI + "/conflict";
         public static final String TRANSITION_NOT_ALLOWED = ERROR_BASE_URI + "/transition-not-allowed";
+        public static final String SERVICE_UNAVAILABLE = ERROR_BASE_URI + "/service-unavailable";
         public static final String INTERNAL_ERROR = ERROR_BASE_URI + "/internal";
     }
 
@@ -24,6 +25,7 @@ public final class ApiConstants {
         public static final String PARAMETER_VALIDATION_FAILED = "Parameter validation failed";
         public static final String BUSINESS_CONFLICT = "Business conflict";
         public static final String TRANSITION_NOT_ALLOWED = "State transition not allowed";
+        public static final String SERVICE_UNAVAILABLE = "Service temporarily unavailable";
         public static final String INTERNAL_ERROR = "Internal error";
     }
 
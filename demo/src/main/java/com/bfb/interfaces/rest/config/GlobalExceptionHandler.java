@@ -1,8 +1,8 @@
 package com.bfb.interfaces.rest.config;
 
 import com.bfb.business.contract.exception.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.net.URI;
 
-import static com.bfb.interfaces.rest.config.ApiConstants.ErrorMessages;
 import static com.bfb.interfaces.rest.config.ApiConstants.ErrorTitles;
 import static com.bfb.interfaces.rest.config.ApiConstants.ErrorTypes;
 
@@ -22,32 +21,18 @@ import static com.bfb.interfaces.rest.config.ApiConstants.ErrorTypes;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
-
     @ExceptionHandler({
         ContractNotFoundException.class,
         com.bfb.business.vehicle.exception.VehicleNotFoundException.class,
         com.bfb.business.client.exception.ClientNotFoundException.class
     })
     public ProblemDetail handleNotFound(RuntimeException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-            HttpStatus.NOT_FOUND, 
-            ex.getMessage()
-        );
-        problemDetail.setTitle(ErrorTitles.NOT_FOUND);
-        problemDetail.setType(URI.create(ErrorTypes.NOT_FOUND));
-        return problemDetail;
+        return ProblemDetails.notFound(ex);
     }
 
     @ExceptionHandler({ValidationException.class})
     public ProblemDetail handleValidation(ValidationException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-            HttpStatus.BAD_REQUEST, 
-            ex.getMessage()
-        );
-        problemDetail.setTitle(ErrorTitles.VALIDATION_FAILED);
-        problemDetail.setType(URI.create(ErrorTypes.VALIDATION));
-        return problemDetail;
+        return ProblemDetails.validation(ex);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -74,38 +59,30 @@ public class GlobalExceptionHandler {
         com.bfb.business.client.exception.DuplicateEmailException.class,
         com.bfb.business.client.exception.DuplicateClientException.class,
         com.bfb.business.client.exception.DuplicateLicenseException.class,
-        com.bfb.business.vehicle.exception.DuplicateVehicleException.class
+        com.bfb.business.vehicle.exception.DuplicateVehicleException.class,
+        OptimisticLockingFailureException.class
     })
     public ProblemDetail handleConflict(RuntimeException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-            HttpStatus.CONFLICT, 
-            ex.getMessage()
-        );
-        problemDetail.setTitle(ErrorTitles.BUSINESS_CONFLICT);
-        problemDetail.setType(URI.create(ErrorTypes.CONFLICT));
-        return problemDetail;
+        return ProblemDetails.conflict(ex);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return ProblemDetails.dataIntegrityViolation(ex);
     }
 
     @ExceptionHandler(TransitionNotAllowedException.class)
     public ProblemDetail handleTransitionNotAllowed(TransitionNotAllowedException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-            HttpStatus.UNPROCESSABLE_ENTITY, 
-            ex.getMessage()
-        );
-        problemDetail.setTitle(ErrorTitles.TRANSITION_NOT_ALLOWED);
-        problemDetail.setType(URI.create(ErrorTypes.TRANSITION_NOT_ALLOWED));
-        return problemDetail;
+        return ProblemDetails.transitionNotAllowed(ex);
+    }
+
+    @ExceptionHandler(BookingTimeoutException.class)
+    public ProblemDetail handleServiceUnavailable(BookingTimeoutException ex) {
+        return ProblemDetails.serviceUnavailable(ex);
     }
 
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGenericException(Exception ex) {
-        log.error("Unexpected error occurred", ex);
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-            HttpStatus.INTERNAL_SERVER_ERROR, 
-            ErrorMessages.INTERNAL_ERROR
-        );
-        problemDetail.setTitle(ErrorTitles.INTERNAL_ERROR);
-        problemDetail.setType(URI.create(ErrorTypes.INTERNAL_ERROR));
-        return problemDetail;
+        return ProblemDetails.internalError(ex);
     }
 }
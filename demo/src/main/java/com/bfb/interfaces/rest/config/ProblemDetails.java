@@ -0,0 +1,116 @@
+package com.bfb.interfaces.rest.config;
+
+import com.bfb.business.client.exception.ClientNotFoundException;
+import com.bfb.business.client.exception.DuplicateClientException;
+import com.bfb.business.client.exception.DuplicateEmailException;
+import com.bfb.business.client.exception.DuplicateLicenseException;
+import com.bfb.business.contract.constants.ContractConstants;
+import com.bfb.business.contract.exception.*;
+import com.bfb.business.vehicle.exception.DuplicateVehicleException;
+import com.bfb.business.vehicle.exception.VehicleNotFoundException;
+import com.bfb.infrastructure.common.ConstraintViolations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+import static com.bfb.interfaces.rest.config.ApiConstants.ErrorMessages;
+import static com.bfb.interfaces.rest.config.ApiConstants.ErrorTitles;
+import static com.bfb.interfaces.rest.config.ApiConstants.ErrorTypes;
+
+/**
+ * Maps exceptions to RFC 7807 Problem Details. Shared by GlobalExceptionHandler and the endpoints
+ * that report failures in the body rather than throwing them, e.g. per-item batch and import results.
+ */
+public final class ProblemDetails {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemDetails.class);
+
+    private ProblemDetails() {}
+
+    /**
+     * Problem detail the exception produces when it escapes a controller.
+     */
+    public static ProblemDetail of(RuntimeException ex) {
+        if (ex instanceof ContractNotFoundException
+                || ex instanceof VehicleNotFoundException
+                || ex instanceof ClientNotFoundException) {
+            return notFound(ex);
+        }
+        if (ex instanceof ValidationException) {
+            return validation(ex);
+        }
+        if (ex instanceof OverlapException
+                || ex instanceof VehicleUnavailableException
+                || ex instanceof ClientUnknownException
+                || ex instanceof DuplicateEmailException
+                || ex instanceof DuplicateClientException
+                || ex instanceof DuplicateLicenseException
+                || ex instanceof DuplicateVehicleException
+                || ex instanceof OptimisticLockingFailureException) {
+            return conflict(ex);
+        }
+        if (ex instanceof DataIntegrityViolationException violation) {
+            return dataIntegrityViolation(violation);
+        }
+        if (ex instanceof TransitionNotAllowedException) {
+            return transitionNotAllowed(ex);
+        }
+        if (ex instanceof BookingTimeoutException) {
+            return serviceUnavailable(ex);
+        }
+        return internalError(ex);
+    }
+
+    public static ProblemDetail notFound(RuntimeException ex) {
+        return problem(HttpStatus.NOT_FOUND, ex.getMessage(), ErrorTitles.NOT_FOUND, ErrorTypes.NOT_FOUND);
+    }
+
+    public static ProblemDetail validation(RuntimeException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage(), ErrorTitles.VALIDATION_FAILED, ErrorTypes.VALIDATION);
+    }
+
+    public static ProblemDetail conflict(RuntimeException ex) {
+        return problem(HttpStatus.CONFLICT, ex.getMessage(), ErrorTitles.BUSINESS_CONFLICT, ErrorTypes.CONFLICT);
+    }
+
+    /**
+     * Overlaps that slipped past OverlapValidator under concurrency are rejected by the
+     * contracts exclusion constraint; they get the same response as an OverlapException.
+     */
+    public static ProblemDetail dataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (ConstraintViolations.violates(ex, ContractConstants.VEHICLE_PERIOD_EXCLUSION_CONSTRAINT)) {
+            return conflict(new OverlapException(
+                "Cannot create contract: the vehicle is already booked during the requested period."
+            ));
+        }
+        return internalError(ex);
+    }
+
+    public static ProblemDetail transitionNotAllowed(RuntimeException ex) {
+        return problem(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(),
+            ErrorTitles.TRANSITION_NOT_ALLOWED, ErrorTypes.TRANSITION_NOT_ALLOWED);
+    }
+
+    public static ProblemDetail serviceUnavailable(RuntimeException ex) {
+        return problem(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(),
+            ErrorTitles.SERVICE_UNAVAILABLE, ErrorTypes.SERVICE_UNAVAILABLE);
+    }
+
+    public static ProblemDetail internalError(Exception ex) {
+        log.error("Unexpected error occurred", ex);
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ErrorMessages.INTERNAL_ERROR,
+            ErrorTitles.INTERNAL_ERROR, ErrorTypes.INTERNAL_ERROR);
+    }
+
+    private static ProblemDetail problem(HttpStatus status, String detail, String title, String type) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle(title);
+        problemDetail.setType(URI.create(type));
+        return problemDetail;
+    }
+}
@@ -1,19 +1,52 @@
 package com.bfb.interfaces.rest.contract;
 
+import com.bfb.business.contract.exception.ValidationException;
 import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.service.BatchItemResult;
+import com.bfb.business.contract.service.ContractBatchService;
 import com.bfb.business.contract.service.ContractService;
+import com.bfb.business.contract.validation.ContractCreationContext;
 import com.bfb.interfaces.rest.common.BaseRestController;
+import com.bfb.interfaces.rest.common.BeanValidation;
+import com.bfb.interfaces.rest.common.Cursor;
+import com.bfb.interfaces.rest.common.TotalsMode;
+import com.bfb.interfaces.rest.common.dto.CursorPage;
+import com.bfb.interfaces.rest.config.ProblemDetails;
+import com.bfb.interfaces.rest.contract.dto.BatchContractResponse;
+import com.bfb.interfaces.rest.contract.dto.BatchContractResult;
 import com.bfb.interfaces.rest.contract.dto.ContractDto;
 import com.bfb.interfaces.rest.contract.dto.CreateContractRequest;
 import com.bfb.interfaces.rest.contract.dto.MarkLateResponse;
 import com.bfb.interfaces.rest.contract.mapper.ContractMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,11 +55,25 @@ import java.util.UUID;
 public class ContractController extends BaseRestController<Contract, ContractDto> {
 
     private final ContractService contractService;
+    private final ContractBatchService contractBatchService;
     private final ContractMapper contractMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchChunkSize;
 
-    public ContractController(ContractService contractService, ContractMapper contractMapper) {
+    public ContractController(
+            ContractService contractService,
+            ContractBatchService contractBatchService,
+            ContractMapper contractMapper,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${bfb.contract.batch.chunk-size:500}") int batchChunkSize) {
         this.contractService = contractService;
+        this.contractBatchService = contractBatchService;
         this.contractMapper = contractMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchChunkSize = batchChunkSize;
     }
 
     @PostMapping
@@ -41,6 +88,61 @@ public class ContractController extends BaseRestController<Contract, ContractDto
         return created(contractMapper.toDto(contract));
     }
 
+    /**
+     * Reads the array incrementally and creates its items chunk by chunk, each chunk validated
+     * and inserted in its own transaction. Items are reported individually; a malformed document
+     * stops the upload at the offending position, chunks already processed stay committed.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create contracts in bulk from a JSON array")
+    public ResponseEntity<BatchContractResponse> createBatch(InputStream body) throws IOException {
+        List<BatchContractResult> results = new ArrayList<>();
+        List<ContractCreationContext> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ValidationException("Batch payload must be a JSON array of contracts");
+            }
+            while (true) {
+                JsonNode item;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    item = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    results.add(rejected(index, new ValidationException(
+                        "Malformed batch payload: " + e.getOriginalMessage())));
+                    break;
+                }
+
+                try {
+                    CreateContractRequest request = BeanValidation.validated(validator,
+                        objectMapper.treeToValue(item, CreateContractRequest.class));
+                    chunk.add(new ContractCreationContext(
+                        request.clientId(), request.vehicleId(), request.startDate(), request.endDate()));
+                    chunkIndexes.add(index);
+                } catch (JsonProcessingException e) {
+                    results.add(rejected(index, new ValidationException("Unreadable contract: " + e.getOriginalMessage())));
+                } catch (ValidationException e) {
+                    results.add(rejected(index, e));
+                }
+                index++;
+
+                if (chunk.size() == batchChunkSize) {
+                    flush(chunk, chunkIndexes, results);
+                }
+            }
+        }
+        flush(chunk, chunkIndexes, results);
+
+        results.sort(Comparator.comparingInt(BatchContractResult::index));
+        int created = (int) results.stream().filter(result -> result.contract() != null).count();
+        return ResponseEntity.ok(new BatchContractResponse(created, results.size() - created, results));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get contract by ID")
     public ResponseEntity<ContractDto> getById(@PathVariable UUID id) {
@@ -50,17 +152,66 @@ public class ContractController extends BaseRestController<Contract, ContractDto
 
     @GetMapping
     @Operation(summary = "Search contracts")
-    public ResponseEntity<org.springframework.data.domain.Page<ContractDto>> search(
+    public ResponseEntity<?> search(
             @RequestParam(required = false) UUID clientId,
             @RequestParam(required = false) UUID vehicleId,
             @RequestParam(required = false) ContractStatus status,
+            @RequestParam(required = false) @Parameter(description = "none, estimated or exact") String totals,
             org.springframework.data.domain.Pageable pageable
     ) {
-        org.springframework.data.domain.Page<Contract> contracts = contractService.findByCriteria(
-            clientId, vehicleId, status, pageable
-        );
-        org.springframework.data.domain.Page<ContractDto> dtos = contracts.map(contractMapper::toDto);
-        return okPage(dtos);
+        return okPage(TotalsMode.of(totals), pageable,
+            page -> contractService.findByCriteria(clientId, vehicleId, status, page),
+            page -> contractService.findSliceByCriteria(clientId, vehicleId, status, page),
+            () -> contractService.estimateCount(clientId, vehicleId, status),
+            contractMapper::toDto);
+    }
+
+    /**
+     * Written on the request thread straight to the servlet output stream: one contract per line,
+     * read through a server-side cursor, so neither the heap nor an async request timeout limits
+     * the size of an export.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export contracts as newline-delimited JSON")
+    public void export(
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(required = false) UUID vehicleId,
+            @RequestParam(required = false) ContractStatus status,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(ContractDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            contractService.exportByCriteria(clientId, vehicleId, status, contract -> {
+                try {
+                    writer.writeValue(generator, contractMapper.toDto(contract));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Search contracts by cursor",
+        description = "Keyset pagination in start date order; pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPage<ContractDto>> scroll(
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(required = false) UUID vehicleId,
+            @RequestParam(required = false) ContractStatus status,
+            @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+            @RequestParam(defaultValue = "50") @Parameter(description = "Page size") int size
+    ) {
+        checkCursorPageSize(size);
+        Cursor after = Cursor.decode(cursor);
+        List<Contract> contracts = contractService.findByCriteriaAfter(clientId, vehicleId, status,
+            after == null ? null : after.dateKey(), after == null ? null : after.id(), size + 1);
+        return okCursorPage(contracts, size, contractMapper::toDto,
+            contract -> new Cursor(contract.getStartDate().toString(), contract.getId()));
     }
 
     @PatchMapping("/{id}/start")
@@ -84,6 +235,26 @@ public class ContractController extends BaseRestController<Contract, ContractDto
         return ok(contractMapper.toDto(contract));
     }
 
+    private void flush(List<ContractCreationContext> chunk, List<Integer> chunkIndexes,
+                       List<BatchContractResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (BatchItemResult result : contractBatchService.createAll(chunk, chunkIndexes)) {
+            results.add(result.isCreated()
+                ? new BatchContractResult(result.index(), HttpStatus.CREATED.value(),
+                    contractMapper.toDto(result.contract()), null)
+                : rejected(result.index(), result.rejection()));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private BatchContractResult rejected(int index, RuntimeException rejection) {
+        ProblemDetail problem = ProblemDetails.of(rejection);
+        return new BatchContractResult(index, problem.getStatus(), null, problem);
+    }
+
     @PostMapping("/jobs/mark-late")
     @Operation(summary = "Mark late contracts")
     public ResponseEntity<MarkLateResponse> markLate() {
@@ -0,0 +1,18 @@
+package com.bfb.interfaces.rest.contract.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Response DTO for batch contract creation.
+ */
+@Schema(description = "Per-item results of a batch upload")
+public record BatchContractResponse(
+    @Schema(description = "Number of contracts created", example = "998")
+    int created,
+
+    @Schema(description = "Number of items refused", example = "2")
+    int rejected,
+
+    List<BatchContractResult> results
+) {}
@@ -0,0 +1,24 @@
+package com.bfb.interfaces.rest.contract.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Outcome of one item of a batch upload.
+ */
+@Schema(description = "Result of one contract of a batch upload")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchContractResult(
+    @Schema(description = "Zero-based position of the item in the uploaded array", example = "0")
+    int index,
+
+    @Schema(description = "HTTP status the item would have received on its own", example = "201")
+    int status,
+
+    @Schema(description = "Created contract, present when the item was accepted")
+    ContractDto contract,
+
+    @Schema(description = "Reason for rejection, present when the item was refused")
+    ProblemDetail error
+) {}
@@ -4,6 +4,11 @@ import com.bfb.business.vehicle.model.Vehicle;
 import com.bfb.business.vehicle.model.VehicleStatus;
 import com.bfb.business.vehicle.service.VehicleService;
 import com.bfb.interfaces.rest.common.BaseRestController;
+import com.bfb.interfaces.rest.common.Cursor;
+import com.bfb.interfaces.rest.common.CsvImporter;
+import com.bfb.interfaces.rest.common.TotalsMode;
+import com.bfb.interfaces.rest.common.dto.CursorPage;
+import com.bfb.interfaces.rest.common.dto.ImportResponse;
 import com.bfb.interfaces.rest.vehicle.dto.CreateVehicleRequest;
 import com.bfb.interfaces.rest.vehicle.dto.VehicleDto;
 import com.bfb.interfaces.rest.vehicle.mapper.VehicleMapper;
@@ -11,13 +16,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,12 +34,17 @@ import java.util.UUID;
 @Tag(name = "Vehicles", description = "Vehicle management API")
 public class VehicleController extends BaseRestController<Vehicle, VehicleDto> {
 
+    private static final List<String> IMPORT_COLUMNS =
+        List.of("brand", "model", "motorization", "color", "registrationPlate", "purchaseDate");
+
     private final VehicleService vehicleService;
     private final VehicleMapper vehicleMapper;
+    private final CsvImporter csvImporter;
 
-    public VehicleController(VehicleService vehicleService, VehicleMapper vehicleMapper) {
+    public VehicleController(VehicleService vehicleService, VehicleMapper vehicleMapper, CsvImporter csvImporter) {
         this.vehicleService = vehicleService;
         this.vehicleMapper = vehicleMapper;
+        this.csvImporter = csvImporter;
     }
 
     @PostMapping
@@ -40,6 +54,50 @@ public class VehicleController extends BaseRestController<Vehicle, VehicleDto> {
         return created(vehicleMapper.toDto(vehicle));
     }
 
+    /**
+     * Columns: brand, model, motorization, color, registrationPlate, purchaseDate (yyyy-MM-dd).
+     * Refused rows are reported by line; the others are imported.
+     */
+    @PostMapping(value = "/import", consumes = CsvImporter.TEXT_CSV_VALUE)
+    @Operation(summary = "Import vehicles in bulk from a CSV file")
+    public ResponseEntity<ImportResponse> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(csvImporter.importCsv(body, IMPORT_COLUMNS,
+            row -> {
+                CreateVehicleRequest request = csvImporter.validated(new CreateVehicleRequest(
+                    row.get("brand"), row.get("model"), row.get("motorization"), row.get("color"),
+                    row.get("registrationPlate"), row.getDate("purchaseDate")));
+                return new Vehicle(null, request.brand(), request.model(), request.motorization(),
+                    request.color(), request.registrationPlate(), request.purchaseDate(), VehicleStatus.AVAILABLE);
+            },
+            vehicleService::importAll));
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Find vehicles free for a date range")
+    public ResponseEntity<List<VehicleDto>> findAvailable(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First day of the range") LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last day of the range") LocalDate to
+    ) {
+        List<Vehicle> vehicles = vehicleService.findAvailable(from, to);
+        return ResponseEntity.ok(vehicles.stream().map(vehicleMapper::toDto).toList());
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get vehicles by cursor",
+        description = "Keyset pagination in brand order; pass nextCursor back to get the next page")
+    public ResponseEntity<CursorPage<VehicleDto>> scroll(
+        @RequestParam(required = false) VehicleStatus status,
+        @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+        @RequestParam(defaultValue = "50") @Parameter(description = "Page size") int size
+    ) {
+        checkCursorPageSize(size);
+        Cursor after = Cursor.decode(cursor);
+        List<Vehicle> vehicles = vehicleService.findAfter(status,
+            after == null ? null : after.key(), after == null ? null : after.id(), size + 1);
+        return okCursorPage(vehicles, size, vehicleMapper::toDto,
+            vehicle -> new Cursor(vehicle.getBrand(), vehicle.getId()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get vehicle by ID")
     public ResponseEntity<VehicleDto> getById(@PathVariable UUID id) {
@@ -49,11 +107,12 @@ public class VehicleController extends BaseRestController<Vehicle, VehicleDto> {
 
     @GetMapping
     @Operation(summary = "Get all vehicles")
-    public ResponseEntity<Page<VehicleDto>> getAll(
+    public ResponseEntity<?> getAll(
         @RequestParam(defaultValue = "0") @Parameter(description = "Page number") int page,
         @RequestParam(defaultValue = "50") @Parameter(description = "Page size") int size,
         @RequestParam(defaultValue = "brand,asc") @Parameter(description = "Sort criteria") String sort,
-        @RequestParam(required = false) VehicleStatus status
+        @RequestParam(required = false) VehicleStatus status,
+        @RequestParam(required = false) @Parameter(description = "none, estimated or exact") String totals
     ) {
         String[] sortParams = sort.split(",");
         Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
@@ -61,10 +120,13 @@ public class VehicleController extends BaseRestController<Vehicle, VehicleDto> {
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, direction, sortParams[0]);
-        Page<Vehicle> vehicles = status != null
-                ? vehicleService.findByStatus(status, pageable)
-                : vehicleService.findAll(pageable);
-        return okPage(vehicles.map(vehicleMapper::toDto));
+        return okPage(TotalsMode.of(totals), pageable,
+            request -> status != null
+                ? vehicleService.findByStatus(status, request)
+                : vehicleService.findAll(request),
+            request -> vehicleService.findSlice(status, request),
+            () -> vehicleService.estimateCount(status),
+            vehicleMapper::toDto);
     }
 
     @PatchMapping("/{id}/mark-broken")
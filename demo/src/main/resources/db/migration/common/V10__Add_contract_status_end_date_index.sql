@@ -0,0 +1,6 @@
+-- V10: Index for the mark-late job, replacing the status-only index
+-- The job selects IN_PROGRESS contracts whose end date has passed; (status, end_date) answers that
+-- with one range scan and still serves every status-only lookup
+
+CREATE INDEX idx_contract_status_end_date ON contracts(status, end_date);
+DROP INDEX idx_contract_status;
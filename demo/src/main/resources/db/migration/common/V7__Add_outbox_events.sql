@@ -0,0 +1,18 @@
+-- V7: Transactional outbox for contract and vehicle state changes
+-- Rows are written in the transaction of the change they describe and drained by OutboxRelay
+
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+-- Relay scan: unpublished events in id order
+CREATE INDEX idx_outbox_unpublished ON outbox_events(published_at, id);
+-- Per-aggregate ordering check
+CREATE INDEX idx_outbox_aggregate ON outbox_events(aggregate_id, id);
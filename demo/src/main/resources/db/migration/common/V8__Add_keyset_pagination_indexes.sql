@@ -0,0 +1,6 @@
+-- V8: Indexes backing the cursor (keyset) listings
+-- Each matches the ORDER BY of its listing, so a page is an index range scan at any depth
+
+CREATE INDEX idx_contract_start_date_id ON contracts(start_date, id);
+CREATE INDEX idx_vehicle_brand_id ON vehicles(brand, id);
+CREATE INDEX idx_client_last_name_id ON clients(last_name, id);
@@ -0,0 +1,4 @@
+-- V9: Optimistic-locking version on contracts
+-- Status transitions are conditional UPDATEs on (id, version, status) that increment it
+
+ALTER TABLE contracts ADD version BIGINT NOT NULL DEFAULT 0;
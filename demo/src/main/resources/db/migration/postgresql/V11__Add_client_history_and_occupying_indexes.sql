@@ -0,0 +1,11 @@
+-- V11: Client contract history and overlap check indexes
+
+-- GET /clients/{id}/contracts walks this index newest first; the INCLUDE columns make it
+-- an index-only scan, so the table is not read at all
+CREATE INDEX idx_contract_client_start_date ON contracts(client_id, start_date DESC, id DESC)
+    INCLUDE (vehicle_id, end_date, status, version);
+
+-- Overlap checks only ever look at occupying contracts; COMPLETED and CANCELLED history,
+-- the bulk of the table, stays out of this index
+CREATE INDEX idx_contract_occupying_vehicle_dates ON contracts(vehicle_id, start_date, end_date)
+    WHERE status IN ('PENDING', 'IN_PROGRESS', 'LATE');
@@ -0,0 +1,14 @@
+-- V6: Enforce "no double booking" in the database
+-- Two occupying contracts of the same vehicle may not share a single day,
+-- so concurrent creates are safe at READ COMMITTED without application locks
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Inclusive period, matching the overlap rule used by OverlapValidator
+ALTER TABLE contracts
+    ADD COLUMN period DATERANGE GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+ALTER TABLE contracts
+    ADD CONSTRAINT ex_contract_vehicle_period
+    EXCLUDE USING gist (vehicle_id WITH =, period WITH &&)
+    WHERE (status IN ('PENDING', 'IN_PROGRESS', 'LATE'));
@@ -12,6 +12,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -47,13 +50,9 @@ class ClientServiceUniquenessTest {
     }
 
     @Test
-    @DisplayName("Should create client when identity is unique")
+    @DisplayName("Should create client with a single insert and no existence queries")
     void testCreate_WhenIdentityIsUnique_ShouldSucceed() {
         // Arrange
-        when(clientRepository.existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate))
-            .thenReturn(false);
-        when(clientRepository.existsByLicenseNumber(licenseNumber))
-            .thenReturn(false);
         when(clientRepository.save(any(Client.class)))
             .thenReturn(new Client(UUID.randomUUID(), firstName, lastName, address, licenseNumber, birthDate));
 
@@ -63,17 +62,15 @@ class ClientServiceUniquenessTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo(firstName);
-        verify(clientRepository).existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate);
-        verify(clientRepository).existsByLicenseNumber(licenseNumber);
         verify(clientRepository).save(any(Client.class));
     }
 
     @Test
     @DisplayName("Should throw DuplicateClientException when client with same identity exists")
     void testCreate_WhenClientIdentityExists_ShouldThrowException() {
-        // Arrange
-        when(clientRepository.existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate))
-            .thenReturn(true);
+        // Arrange - the repository reports the identity constraint violation
+        when(clientRepository.save(any(Client.class)))
+            .thenThrow(new DuplicateClientException("A client with name 'John Doe' and birth date '1990-05-15' already exists."));
 
         // Act & Assert
         assertThatThrownBy(() -> 
@@ -83,19 +80,14 @@ class ClientServiceUniquenessTest {
             .hasMessageContaining("John Doe")
             .hasMessageContaining("1990-05-15");
 
-        verify(clientRepository).existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate);
-        verify(clientRepository, never()).existsByLicenseNumber(anyString());
-        verify(clientRepository, never()).save(any(Client.class));
     }
 
     @Test
     @DisplayName("Should throw DuplicateLicenseException when license number exists")
     void testCreate_WhenLicenseNumberExists_ShouldThrowException() {
-        // Arrange
-        when(clientRepository.existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate))
-            .thenReturn(false);
-        when(clientRepository.existsByLicenseNumber(licenseNumber))
-            .thenReturn(true);
+        // Arrange - the repository reports the license number constraint violation
+        when(clientRepository.save(any(Client.class)))
+            .thenThrow(new DuplicateLicenseException("License number 'DL123456' is already registered to another client."));
 
         // Act & Assert
         assertThatThrownBy(() -> 
@@ -105,9 +97,6 @@ class ClientServiceUniquenessTest {
             .hasMessageContaining("DL123456")
             .hasMessageContaining("already registered");
 
-        verify(clientRepository).existsByFirstNameAndLastNameAndBirthDate(firstName, lastName, birthDate);
-        verify(clientRepository).existsByLicenseNumber(licenseNumber);
-        verify(clientRepository, never()).save(any(Client.class));
     }
 
     @Test
@@ -118,7 +107,6 @@ class ClientServiceUniquenessTest {
         Client existingClient = new Client(clientId, firstName, lastName, address, licenseNumber, birthDate);
         
         when(clientRepository.findById(clientId)).thenReturn(java.util.Optional.of(existingClient));
-        when(clientRepository.existsByLicenseNumberAndIdNot(licenseNumber, clientId)).thenReturn(false);
         when(clientRepository.save(any(Client.class))).thenReturn(existingClient);
 
         // Act
@@ -126,7 +114,6 @@ class ClientServiceUniquenessTest {
 
         // Assert
         assertThat(result).isNotNull();
-        verify(clientRepository).existsByLicenseNumberAndIdNot(licenseNumber, clientId);
         verify(clientRepository).save(any(Client.class));
     }
 
@@ -139,7 +126,8 @@ class ClientServiceUniquenessTest {
         Client existingClient = new Client(clientId, firstName, lastName, address, licenseNumber, birthDate);
         
         when(clientRepository.findById(clientId)).thenReturn(java.util.Optional.of(existingClient));
-        when(clientRepository.existsByLicenseNumberAndIdNot(newLicenseNumber, clientId)).thenReturn(true);
+        when(clientRepository.save(any(Client.class)))
+            .thenThrow(new DuplicateLicenseException("License number 'DL999999' is already registered to another client."));
 
         // Act & Assert
         assertThatThrownBy(() -> 
@@ -148,44 +136,34 @@ class ClientServiceUniquenessTest {
             .isInstanceOf(DuplicateLicenseException.class)
             .hasMessageContaining("DL999999");
 
-        verify(clientRepository).existsByLicenseNumberAndIdNot(newLicenseNumber, clientId);
-        verify(clientRepository, never()).save(any(Client.class));
     }
 
     @Test
-    @DisplayName("Should validate business rule: client unique by (firstName, lastName, birthDate)")
-    void testBusinessRule_ClientUniqueness() {
-        // This test documents the business rule
-        // Rule: "Un client doit être unique (par son nom, son prénom et sa date de naissance)"
-        
-        String testFirstName = "Alice";
-        String testLastName = "Smith";
-        LocalDate testBirthDate = LocalDate.of(1985, 3, 20);
-        
-        when(clientRepository.existsByFirstNameAndLastNameAndBirthDate(testFirstName, testLastName, testBirthDate))
-            .thenReturn(true);
-
-        assertThatThrownBy(() -> 
-            clientService.create(testFirstName, testLastName, "Address 1", "LIC001", testBirthDate)
-        )
-            .isInstanceOf(DuplicateClientException.class);
-    }
+    @DisplayName("Should import only clients unknown to the store and to earlier rows")
+    void testImportAll_RejectsStoredAndRepeatedIdentitiesAndLicenses() {
+        // Arrange
+        when(clientRepository.findExistingLicenseNumbers(anyCollection()))
+            .thenReturn(Set.of("TAKEN-LIC"));
+        when(clientRepository.findByLastNamesAndBirthDates(anyCollection(), anyCollection()))
+            .thenReturn(List.of(new Client(UUID.randomUUID(), firstName, lastName, address, "OTHER-LIC", birthDate)));
+        List<Client> rows = List.of(
+            new Client(null, firstName, lastName, address, "NEW-LIC-1", birthDate),
+            new Client(null, "Jane", lastName, address, "TAKEN-LIC", birthDate),
+            new Client(null, "Jane", lastName, address, "NEW-LIC-2", birthDate),
+            new Client(null, "Jane", lastName, address, "NEW-LIC-3", birthDate),
+            new Client(null, "Jim", lastName, address, "NEW-LIC-2", birthDate)
+        );
 
-    @Test
-    @DisplayName("Should validate business rule: license number uniqueness")
-    void testBusinessRule_LicenseNumberUniqueness() {
-        // This test documents the business rule
-        // Rule: "Deux clients distincts ne peuvent pas avoir le même numéro de permis"
-        
-        when(clientRepository.existsByFirstNameAndLastNameAndBirthDate(anyString(), anyString(), any()))
-            .thenReturn(false);
-        when(clientRepository.existsByLicenseNumber("SHARED-LICENSE"))
-            .thenReturn(true);
+        // Act
+        Map<Integer, RuntimeException> rejections = clientService.importAll(rows);
 
-        assertThatThrownBy(() -> 
-            clientService.create("Bob", "Jones", "Address", "SHARED-LICENSE", LocalDate.of(1992, 1, 1))
-        )
-            .isInstanceOf(DuplicateLicenseException.class)
-            .hasMessageContaining("SHARED-LICENSE");
+        // Assert
+        assertThat(rejections).containsOnlyKeys(0, 1, 3, 4);
+        assertThat(rejections.get(0)).isInstanceOf(DuplicateClientException.class);
+        assertThat(rejections.get(1)).isInstanceOf(DuplicateLicenseException.class);
+        assertThat(rejections.get(3)).isInstanceOf(DuplicateClientException.class);
+        assertThat(rejections.get(4)).isInstanceOf(DuplicateLicenseException.class);
+        verify(clientRepository).insertAll(argThat(clients -> clients.size() == 1
+            && clients.get(0).getLicenseNumber().equals("NEW-LIC-2")));
     }
 }
@@ -4,6 +4,7 @@ import com.bfb.business.contract.exception.TransitionNotAllowedException;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -171,4 +172,14 @@ class ContractTest {
         // When & Then
         assertThrows(TransitionNotAllowedException.class, contract::markLate);
     }
+
+    @Test
+    void testAllowedSourcesMirrorAllowedTransitions() {
+        // When & Then
+        assertEquals(EnumSet.noneOf(ContractStatus.class), ContractStatus.PENDING.getAllowedSources());
+        assertEquals(EnumSet.of(ContractStatus.PENDING), ContractStatus.IN_PROGRESS.getAllowedSources());
+        assertEquals(EnumSet.of(ContractStatus.IN_PROGRESS, ContractStatus.LATE),
+            ContractStatus.COMPLETED.getAllowedSources());
+        assertEquals(EnumSet.of(ContractStatus.PENDING), ContractStatus.CANCELLED.getAllowedSources());
+    }
 }
@@ -0,0 +1,351 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.exception.BookingTimeoutException;
+import com.bfb.business.contract.exception.ClientUnknownException;
+import com.bfb.business.contract.exception.OverlapException;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.validation.*;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingSequencer.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingSequencerTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingSequencer sequencer;
+    private LocalDate startDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sequencer = new BookingSequencer(chain(), contractRepository, eventPublisher,
+            transactionManager, meterRegistry, 4, 16, 256, 5_000);
+        sequencer.start();
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(clientService.exists(any())).thenReturn(true);
+        when(vehicleService.getStatus(any())).thenReturn(VehicleStatus.AVAILABLE);
+        // Nothing is visible in the database yet: only the lane can prevent double booking
+        when(contractRepository.findOverlappingContracts(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> {
+            Contract contract = invocation.getArgument(0);
+            contract.setId(UUID.randomUUID());
+            return contract;
+        });
+        startDate = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    void create_ConcurrentOverlappingBookingsForSameVehicle_OnlyOneAccepted() throws Exception {
+        // Given - overlap query sees what earlier batches committed
+        List<Contract> committed = new CopyOnWriteArrayList<>();
+        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> {
+            Contract contract = invocation.getArgument(0);
+            contract.setId(UUID.randomUUID());
+            committed.add(contract);
+            return contract;
+        });
+        when(contractRepository.findOverlappingContracts(any(), any(), any())).thenAnswer(invocation -> {
+            UUID vehicle = invocation.getArgument(0);
+            LocalDate from = invocation.getArgument(1);
+            LocalDate to = invocation.getArgument(2);
+            return committed.stream()
+                .filter(c -> c.getVehicleId().equals(vehicle))
+                .filter(c -> !c.getEndDate().isBefore(from) && !c.getStartDate().isAfter(to))
+                .toList();
+        });
+        UUID vehicleId = UUID.randomUUID();
+        int attempts = 32;
+        ExecutorService callers = Executors.newFixedThreadPool(attempts);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < attempts; i++) {
+            int offset = i % 3;
+            futures.add(callers.submit(() -> {
+                go.await();
+                try {
+                    sequencer.create(new ContractCreationContext(UUID.randomUUID(), vehicleId,
+                        startDate.plusDays(offset), startDate.plusDays(offset + 5)));
+                    accepted.incrementAndGet();
+                } catch (OverlapException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        // Then
+        assertEquals(1, accepted.get());
+        assertEquals(attempts - 1, rejected.get());
+        assertEquals(1, committed.size());
+    }
+
+    @Test
+    void create_OverlappingRequestsInOneBatch_SecondRejected() throws Exception {
+        // Given - single lane, so both requests are drained together when queued while it is busy
+        sequencer.shutdown();
+        CountDownLatch inFirstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID blockerVehicle = UUID.randomUUID();
+        when(vehicleService.getStatus(blockerVehicle)).thenAnswer(invocation -> {
+            inFirstBatch.countDown();
+            release.await();
+            return VehicleStatus.AVAILABLE;
+        });
+        sequencer = new BookingSequencer(chain(),
+            contractRepository, eventPublisher, transactionManager, new SimpleMeterRegistry(), 1, 16, 16, 5_000);
+        sequencer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        UUID vehicleId = UUID.randomUUID();
+
+        // When
+        Future<Contract> blocker = callers.submit(() -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), blockerVehicle, startDate, startDate.plusDays(1))));
+        assertTrue(inFirstBatch.await(5, TimeUnit.SECONDS));
+        Future<Contract> first = callers.submit(() -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), vehicleId, startDate, startDate.plusDays(5))));
+        Thread.sleep(100);
+        Future<Contract> second = callers.submit(() -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), vehicleId, startDate.plusDays(3), startDate.plusDays(8))));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertNotNull(blocker.get(5, TimeUnit.SECONDS));
+        assertNotNull(first.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OverlapException.class, failure.getCause());
+        callers.shutdown();
+    }
+
+    @Test
+    void create_ValidationFailure_PropagatesBusinessException() {
+        // Given
+        UUID clientId = UUID.randomUUID();
+        when(clientService.exists(clientId)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ClientUnknownException.class, () -> sequencer.create(
+            new ContractCreationContext(clientId, UUID.randomUUID(), startDate, startDate.plusDays(2))));
+        verify(contractRepository, never()).save(any());
+    }
+
+    @Test
+    void create_DifferentVehicles_AllAcceptedAndMetricsPublished() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            Contract contract = sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+                startDate, startDate.plusDays(2)));
+            assertNotNull(contract.getId());
+        }
+
+        // Then
+        assertEquals(4, meterRegistry.find("bfb.booking.lane.queue.depth").gauges().size());
+        long recorded = meterRegistry.find("bfb.booking.lane.latency").timers().stream()
+            .mapToLong(timer -> timer.count())
+            .sum();
+        assertEquals(10, recorded);
+        verify(eventPublisher, times(10)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void create_LaneStuck_TimesOutAndSkipsAbandonedBooking() throws Exception {
+        // Given - one lane, stuck on the first booking, and a short timeout
+        sequencer.shutdown();
+        CountDownLatch stuckInLane = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID stuckVehicle = UUID.randomUUID();
+        when(vehicleService.getStatus(stuckVehicle)).thenAnswer(invocation -> {
+            stuckInLane.countDown();
+            release.await();
+            return VehicleStatus.AVAILABLE;
+        });
+        sequencer = new BookingSequencer(chain(), contractRepository, eventPublisher, transactionManager,
+            new SimpleMeterRegistry(), 1, 16, 16, 200);
+        sequencer.start();
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        Future<Contract> stuck = callers.submit(() -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), stuckVehicle, startDate, startDate.plusDays(1))));
+        assertTrue(stuckInLane.await(5, TimeUnit.SECONDS));
+        UUID abandonedVehicle = UUID.randomUUID();
+
+        // When
+        long start = System.nanoTime();
+        assertThrows(BookingTimeoutException.class, () -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), abandonedVehicle, startDate, startDate.plusDays(1))));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Then
+        assertTrue(waitedMillis < 2_000, "waited " + waitedMillis + " ms");
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> stuck.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BookingTimeoutException.class, failure.getCause());
+        assertNotNull(sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            startDate, startDate.plusDays(1))).getId());
+        verify(vehicleService, never()).getStatus(abandonedVehicle);
+        callers.shutdown();
+    }
+
+    @Test
+    void create_TimeoutDuringValidation_AbandonedBookingIsNotCommitted() throws Exception {
+        // Given - validating the booking outlasts the short timeout
+        sequencer.shutdown();
+        UUID slowVehicle = UUID.randomUUID();
+        CountDownLatch validated = new CountDownLatch(1);
+        when(vehicleService.getStatus(slowVehicle)).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            validated.countDown();
+            return VehicleStatus.AVAILABLE;
+        });
+        sequencer = new BookingSequencer(chain(), contractRepository, eventPublisher, transactionManager,
+            new SimpleMeterRegistry(), 1, 16, 16, 200);
+        sequencer.start();
+
+        // When
+        assertThrows(BookingTimeoutException.class, () -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), slowVehicle, startDate, startDate.plusDays(1))));
+        assertTrue(validated.await(5, TimeUnit.SECONDS));
+        Contract next = sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            startDate, startDate.plusDays(1)));
+
+        // Then - the lane moved on without writing the booking its caller was told failed
+        assertNotNull(next.getId());
+        verify(contractRepository, times(1)).save(any(Contract.class));
+    }
+
+    @Test
+    void create_TimeoutWhileCommitting_WaitsForTheCommitInsteadOfTimingOut() {
+        // Given - the insert outlasts the short timeout
+        sequencer.shutdown();
+        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            Contract contract = invocation.getArgument(0);
+            contract.setId(UUID.randomUUID());
+            return contract;
+        });
+        sequencer = new BookingSequencer(chain(), contractRepository, eventPublisher, transactionManager,
+            new SimpleMeterRegistry(), 1, 16, 16, 200);
+        sequencer.start();
+
+        // When
+        Contract contract = sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            startDate, startDate.plusDays(1)));
+
+        // Then - a 503 here would invite a retry of a booking that is recorded
+        assertNotNull(contract.getId());
+        verify(contractRepository, times(1)).save(any(Contract.class));
+    }
+
+    @Test
+    void create_ErrorInBatch_FailsThatBatchOnlyAndLaneKeepsRunning() {
+        // Given - single lane, so the next booking needs the same thread
+        sequencer.shutdown();
+        UUID faultyVehicle = UUID.randomUUID();
+        when(vehicleService.getStatus(faultyVehicle)).thenThrow(new StackOverflowError());
+        sequencer = new BookingSequencer(chain(), contractRepository, eventPublisher, transactionManager,
+            new SimpleMeterRegistry(), 1, 16, 16, 5_000);
+        sequencer.start();
+
+        // When
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> sequencer.create(
+            new ContractCreationContext(UUID.randomUUID(), faultyVehicle, startDate, startDate.plusDays(1))));
+        Contract next = sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            startDate, startDate.plusDays(1)));
+
+        // Then
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertNotNull(next.getId());
+    }
+
+    @Test
+    void create_GroupCommitFailure_RetriesIndividually() {
+        // Given - the first commit attempt fails, the individual retry succeeds
+        AtomicInteger commits = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (commits.getAndIncrement() == 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            return null;
+        }).when(transactionManager).commit(any());
+
+        // When
+        Contract contract = sequencer.create(new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            startDate, startDate.plusDays(2)));
+
+        // Then
+        assertNotNull(contract.getId());
+        assertEquals(2, commits.get());
+    }
+
+    private ContractValidationChain chain() {
+        return new ContractValidationChain(
+            new DateValidator(),
+            new ClientExistenceValidator(clientService),
+            new VehicleAvailabilityValidator(vehicleService),
+            new OverlapValidator(contractRepository),
+            new SimpleMeterRegistry(),
+            "sequential",
+            0,
+            false,
+            10
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.validation.BatchContractValidator;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractBatchService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractBatchServiceTest {
+
+    @Mock
+    private BatchContractValidator batchValidator;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContractBatchService service;
+    private LocalDate startDate;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContractBatchService(batchValidator, contractRepository, eventPublisher, transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        startDate = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void createAll_ChunkInsertFails_RetriesOneByOneAndRejectsOnlyTheOffendingItem() {
+        // Given - the second contract collides with a booking committed concurrently
+        UUID contestedVehicle = UUID.randomUUID();
+        List<ContractCreationContext> contexts = List.of(
+            context(UUID.randomUUID()),
+            context(contestedVehicle),
+            context(UUID.randomUUID())
+        );
+        when(batchValidator.validateAll(contexts, List.of(10, 11, 12))).thenReturn(Map.of());
+        when(contractRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Contract> contracts = invocation.getArgument(0);
+            if (contracts.stream().anyMatch(contract -> contract.getVehicleId().equals(contestedVehicle))) {
+                throw new DataIntegrityViolationException("contracts_vehicle_period_excl");
+            }
+            contracts.forEach(contract -> contract.setId(UUID.randomUUID()));
+            return contracts;
+        });
+
+        // When
+        List<BatchItemResult> results = service.createAll(contexts, List.of(10, 11, 12));
+
+        // Then
+        assertEquals(List.of(10, 11, 12), results.stream().map(BatchItemResult::index).toList());
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertInstanceOf(DataIntegrityViolationException.class, results.get(1).rejection());
+        assertTrue(results.get(2).isCreated());
+        verify(contractRepository, times(4)).saveAll(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    private ContractCreationContext context(UUID vehicleId) {
+        return new ContractCreationContext(UUID.randomUUID(), vehicleId, startDate, startDate.plusDays(3));
+    }
+}
@@ -0,0 +1,121 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.client.model.Client;
+import com.bfb.business.client.service.ClientRepository;
+import com.bfb.business.contract.validation.ContractCreationContext;
+import com.bfb.business.contract.validation.ContractValidationChain;
+import com.bfb.business.contract.validation.DateValidator;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of one contract creation through the validation chain against the single-statement
+ * insert, on the test H2 database. H2 runs in process, so this measures the statements, not the
+ * network round-trips a remote database adds to each of them. Only runs with -Dbfb.benchmark=true.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+@EnabledIfSystemProperty(named = "bfb.benchmark", matches = "true")
+class ContractCreatorBenchmarkTest {
+
+    private static final int VEHICLES = 100;
+    private static final int WARMUP = 500;
+    private static final int SAMPLES = 2_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DateValidator dateValidator;
+
+    @Autowired
+    private ContractValidationChain validationChain;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int booked;
+
+    @Test
+    void create_SingleStatement_FasterThanValidationChainAtP50AndP99() {
+        // Given
+        UUID clientId = clientRepository.save(new Client(null, "Ada", "Booker", null,
+            "LIC-" + UUID.randomUUID(), LocalDate.of(1980, 1, 1))).getId();
+        List<UUID> vehicleIds = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicleIds.add(vehicleRepository.save(new Vehicle(null, "Renault", "Clio", "Essence", "Bleu",
+                "PL-" + UUID.randomUUID(), LocalDate.of(2022, 1, 1), VehicleStatus.AVAILABLE)).getId());
+        }
+        ContractCreator validating =
+            new ValidatingContractCreator(contractRepository, validationChain, eventPublisher, transactionManager);
+        ContractCreator singleStatement =
+            new SingleStatementContractCreator(contractRepository, dateValidator, validationChain, eventPublisher);
+        sampleMicros(validating, clientId, vehicleIds, WARMUP);
+        sampleMicros(singleStatement, clientId, vehicleIds, WARMUP);
+
+        // When
+        long[] chain = sampleMicros(validating, clientId, vehicleIds, SAMPLES);
+        long[] single = sampleMicros(singleStatement, clientId, vehicleIds, SAMPLES);
+
+        // Then
+        System.out.printf("%,d creations: validation chain p50 %,d us, p99 %,d us; single statement p50 %,d us, p99 %,d us%n",
+            SAMPLES, percentile(chain, 50), percentile(chain, 99), percentile(single, 50), percentile(single, 99));
+        assertTrue(percentile(single, 50) < percentile(chain, 50),
+            "single statement p50 " + percentile(single, 50) + " us, chain p50 " + percentile(chain, 50) + " us");
+        assertTrue(percentile(single, 99) < percentile(chain, 99),
+            "single statement p99 " + percentile(single, 99) + " us, chain p99 " + percentile(chain, 99) + " us");
+    }
+
+    /**
+     * Books the vehicles in turn, each on the three days after its previous booking.
+     */
+    private long[] sampleMicros(ContractCreator creator, UUID clientId, List<UUID> vehicleIds, int samples) {
+        long[] micros = new long[samples];
+        for (int i = 0; i < samples; i++, booked++) {
+            LocalDate start = FIRST_DAY.plusDays(booked / VEHICLES * 3L);
+            ContractCreationContext context = new ContractCreationContext(clientId,
+                vehicleIds.get(booked % VEHICLES), start, start.plusDays(2));
+            long started = System.nanoTime();
+            creator.create(context);
+            micros[i] = (System.nanoTime() - started) / 1_000;
+            // each request starts from an empty persistence context
+            entityManager.clear();
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+    }
+}
@@ -1,5 +1,6 @@
 package com.bfb.business.contract.service;
 
+import com.bfb.business.contract.event.ContractStateChangedEvent;
 import com.bfb.business.contract.exception.*;
 import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.model.ContractStatus;
@@ -12,6 +13,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -27,6 +33,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ContractServiceTest {
 
+    private static final int MARK_LATE_CHUNK_SIZE = 2;
+
     @Mock
     private ContractRepository contractRepository;
 
@@ -36,6 +44,12 @@ class ContractServiceTest {
     @Mock
     private ClientService clientService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ContractValidationChain validationChain;
     private ContractService contractService;
 
@@ -56,10 +70,22 @@ class ContractServiceTest {
             dateValidator,
             clientExistenceValidator,
             vehicleAvailabilityValidator,
-            overlapValidator
+            overlapValidator,
+            new SimpleMeterRegistry(),
+            "sequential",
+            0,
+            false,
+            10
         );
         
-        contractService = new ContractService(contractRepository, validationChain);
+        contractService = new ContractService(
+            contractRepository,
+            new ValidatingContractCreator(contractRepository, validationChain, eventPublisher, transactionManager),
+            eventPublisher,
+            transactionManager,
+            MARK_LATE_CHUNK_SIZE
+        );
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
         
         clientId = UUID.randomUUID();
         vehicleId = UUID.randomUUID();
@@ -98,6 +124,7 @@ class ContractServiceTest {
         verify(vehicleService).getStatus(vehicleId);
         verify(contractRepository).findOverlappingContracts(vehicleId, startDate, endDate);
         verify(contractRepository).save(any(Contract.class));
+        verify(eventPublisher).publishEvent(ContractStateChangedEvent.created(result));
     }
 
     @Test
@@ -173,29 +200,52 @@ class ContractServiceTest {
         // Given
         UUID contractId = UUID.randomUUID();
         Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.PENDING);
+        contract.setVersion(3L);
         
-        when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
-        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.IN_PROGRESS))
+            .thenReturn(Optional.of(contract));
 
         // When
         Contract result = contractService.start(contractId);
 
         // Then
         assertEquals(ContractStatus.IN_PROGRESS, result.getStatus());
-        verify(contractRepository).findById(contractId);
-        verify(contractRepository).save(contract);
+        assertEquals(4L, result.getVersion());
+        verify(contractRepository, never()).findById(any());
+        verify(contractRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ContractStateChangedEvent(result, ContractStatus.PENDING));
+    }
+
+    @Test
+    void startContract_ChangedConcurrently_ThrowsOptimisticLockingFailureException() {
+        // Given - no row matched, yet the contract read right after is in a status that allows the start
+        UUID contractId = UUID.randomUUID();
+        Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.PENDING);
+
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.IN_PROGRESS))
+            .thenReturn(Optional.empty());
+        when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () ->
+            contractService.start(contractId)
+        );
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void startContract_NotFound_ThrowsContractNotFoundException() {
         // Given
         UUID contractId = UUID.randomUUID();
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.IN_PROGRESS))
+            .thenReturn(Optional.empty());
         when(contractRepository.findById(contractId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ContractNotFoundException.class, () ->
             contractService.start(contractId)
         );
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -204,12 +254,15 @@ class ContractServiceTest {
         UUID contractId = UUID.randomUUID();
         Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.IN_PROGRESS);
         
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.IN_PROGRESS))
+            .thenReturn(Optional.empty());
         when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
 
         // When & Then
         assertThrows(TransitionNotAllowedException.class, () ->
             contractService.start(contractId)
         );
+        verifyNoInteractions(eventPublisher);
     }
 
     // ========== TERMINATE TESTS ==========
@@ -218,17 +271,19 @@ class ContractServiceTest {
     void terminateContract_Success() {
         // Given
         UUID contractId = UUID.randomUUID();
-        Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.IN_PROGRESS);
+        Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.LATE);
+        contract.setVersion(3L);
         
-        when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
-        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.IN_PROGRESS, ContractStatus.LATE), ContractStatus.COMPLETED))
+            .thenReturn(Optional.of(contract));
 
         // When
         Contract result = contractService.terminate(contractId);
 
         // Then
         assertEquals(ContractStatus.COMPLETED, result.getStatus());
-        verify(contractRepository).save(contract);
+        verify(eventPublisher).publishEvent(new ContractStateChangedEvent(result, ContractStatus.LATE));
+        verify(contractRepository, never()).save(any());
     }
 
     @Test
@@ -237,6 +292,8 @@ class ContractServiceTest {
         UUID contractId = UUID.randomUUID();
         Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.PENDING);
         
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.IN_PROGRESS, ContractStatus.LATE), ContractStatus.COMPLETED))
+            .thenReturn(Optional.empty());
         when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
 
         // When & Then
@@ -252,16 +309,17 @@ class ContractServiceTest {
         // Given
         UUID contractId = UUID.randomUUID();
         Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.PENDING);
+        contract.setVersion(3L);
         
-        when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
-        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.CANCELLED))
+            .thenReturn(Optional.of(contract));
 
         // When
         Contract result = contractService.cancel(contractId);
 
         // Then
         assertEquals(ContractStatus.CANCELLED, result.getStatus());
-        verify(contractRepository).save(contract);
+        verify(contractRepository, never()).save(any());
     }
 
     @Test
@@ -270,6 +328,8 @@ class ContractServiceTest {
         UUID contractId = UUID.randomUUID();
         Contract contract = new Contract(contractId, clientId, vehicleId, startDate, endDate, ContractStatus.IN_PROGRESS);
         
+        when(contractRepository.transition(contractId, EnumSet.of(ContractStatus.PENDING), ContractStatus.CANCELLED))
+            .thenReturn(Optional.empty());
         when(contractRepository.findById(contractId)).thenReturn(Optional.of(contract));
 
         // When & Then
@@ -281,38 +341,48 @@ class ContractServiceTest {
     // ========== MARK LATE TESTS ==========
 
     @Test
-    void markLateIfOverdue_MarksOverdueContracts() {
+    void markLateIfOverdue_MarksOverdueContractsChunkByChunk() {
+        // Given - three overdue contracts, moved two at a time
+        LocalDate pastDate = LocalDate.now().minusDays(5);
+        Contract overdue1 = lateContract(vehicleId, pastDate);
+        Contract overdue2 = lateContract(UUID.randomUUID(), pastDate);
+        Contract overdue3 = lateContract(UUID.randomUUID(), pastDate);
+        when(contractRepository.transitionOverdue(eq(ContractStatus.IN_PROGRESS), eq(ContractStatus.LATE),
+                any(LocalDate.class), eq(MARK_LATE_CHUNK_SIZE)))
+            .thenReturn(List.of(overdue1, overdue2), List.of(overdue3));
+
+        // When
+        int count = contractService.markLateIfOverdue();
+
+        // Then
+        assertEquals(3, count);
+        verify(contractRepository, times(2)).transitionOverdue(any(), any(), any(), anyInt());
+        verify(contractRepository, never()).save(any());
+        verify(eventPublisher, times(3)).publishEvent(argThat((Object event) ->
+            event instanceof ContractStateChangedEvent changed
+                && changed.previousStatus() == ContractStatus.IN_PROGRESS
+                && changed.contract().getStatus() == ContractStatus.LATE));
+    }
+
+    @Test
+    void markLateIfOverdue_FullLastChunk_ChecksForMore() {
         // Given
         LocalDate pastDate = LocalDate.now().minusDays(5);
-        
-        Contract overdueContract1 = new Contract(
-            UUID.randomUUID(), clientId, vehicleId, 
-            LocalDate.now().minusDays(10), pastDate, ContractStatus.IN_PROGRESS
-        );
-        Contract overdueContract2 = new Contract(
-            UUID.randomUUID(), clientId, UUID.randomUUID(), 
-            LocalDate.now().minusDays(8), pastDate, ContractStatus.IN_PROGRESS
-        );
-        
-        // Mock the new optimized query method
-        when(contractRepository.findOverdueContracts(eq(ContractStatus.IN_PROGRESS), any(LocalDate.class)))
-            .thenReturn(List.of(overdueContract1, overdueContract2));
-        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.transitionOverdue(any(), any(), any(), anyInt()))
+            .thenReturn(List.of(lateContract(vehicleId, pastDate), lateContract(vehicleId, pastDate)), List.of());
 
         // When
         int count = contractService.markLateIfOverdue();
 
         // Then
         assertEquals(2, count);
-        assertEquals(ContractStatus.LATE, overdueContract1.getStatus());
-        assertEquals(ContractStatus.LATE, overdueContract2.getStatus());
-        verify(contractRepository, times(2)).save(any(Contract.class));
+        verify(contractRepository, times(2)).transitionOverdue(any(), any(), any(), anyInt());
     }
 
     @Test
     void markLateIfOverdue_NoOverdueContracts() {
-        // Given - mock the new optimized query method
-        when(contractRepository.findOverdueContracts(eq(ContractStatus.IN_PROGRESS), any(LocalDate.class)))
+        // Given
+        when(contractRepository.transitionOverdue(any(), any(), any(), anyInt()))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -320,7 +390,34 @@ class ContractServiceTest {
 
         // Then
         assertEquals(0, count);
-        verify(contractRepository, never()).save(any());
+        verify(contractRepository, times(1)).transitionOverdue(any(), any(), any(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void markLate_ByIds_PublishesEventPerMovedContract() {
+        // Given - three ids, chunked two at a time; one of them is no longer in progress
+        LocalDate pastDate = LocalDate.now().minusDays(1);
+        Contract moved1 = lateContract(vehicleId, pastDate);
+        Contract moved2 = lateContract(vehicleId, pastDate);
+        List<UUID> ids = List.of(moved1.getId(), UUID.randomUUID(), moved2.getId());
+        when(contractRepository.transitionOverdue(eq(ids.subList(0, 2)), eq(ContractStatus.IN_PROGRESS),
+                eq(ContractStatus.LATE), any(LocalDate.class)))
+            .thenReturn(List.of(moved1));
+        when(contractRepository.transitionOverdue(eq(ids.subList(2, 3)), eq(ContractStatus.IN_PROGRESS),
+                eq(ContractStatus.LATE), any(LocalDate.class)))
+            .thenReturn(List.of(moved2));
+
+        // When
+        int count = contractService.markLate(ids);
+
+        // Then
+        assertEquals(2, count);
+        verify(eventPublisher, times(2)).publishEvent(any(ContractStateChangedEvent.class));
+    }
+
+    private Contract lateContract(UUID vehicle, LocalDate endDate) {
+        return new Contract(UUID.randomUUID(), clientId, vehicle, endDate.minusDays(5), endDate, ContractStatus.LATE);
     }
 
     // ========== CANCEL PENDING FOR VEHICLE TESTS ==========
@@ -328,31 +425,31 @@ class ContractServiceTest {
     @Test
     void cancelPendingContractsForVehicle_Success() {
         // Given
-        Contract pending1 = new Contract(
-            UUID.randomUUID(), clientId, vehicleId, startDate, endDate, ContractStatus.PENDING
+        Contract cancelled1 = new Contract(
+            UUID.randomUUID(), clientId, vehicleId, startDate, endDate, ContractStatus.CANCELLED
         );
-        Contract pending2 = new Contract(
-            UUID.randomUUID(), UUID.randomUUID(), vehicleId, startDate, endDate, ContractStatus.PENDING
+        Contract cancelled2 = new Contract(
+            UUID.randomUUID(), UUID.randomUUID(), vehicleId, startDate, endDate, ContractStatus.CANCELLED
         );
         
-        when(contractRepository.findByVehicleIdAndStatus(vehicleId, ContractStatus.PENDING))
-            .thenReturn(List.of(pending1, pending2));
-        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.transitionForVehicles(
+                Set.of(vehicleId), ContractStatus.PENDING, ContractStatus.CANCELLED))
+            .thenReturn(List.of(cancelled1, cancelled2));
 
         // When
         int count = contractService.cancelPendingContractsForVehicle(vehicleId);
 
         // Then
         assertEquals(2, count);
-        assertEquals(ContractStatus.CANCELLED, pending1.getStatus());
-        assertEquals(ContractStatus.CANCELLED, pending2.getStatus());
-        verify(contractRepository, times(2)).save(any(Contract.class));
+        verify(eventPublisher, times(2)).publishEvent(any(ContractStateChangedEvent.class));
+        verify(contractRepository, never()).save(any());
     }
 
     @Test
     void cancelPendingContractsForVehicle_NoPendingContracts() {
         // Given
-        when(contractRepository.findByVehicleIdAndStatus(vehicleId, ContractStatus.PENDING))
+        when(contractRepository.transitionForVehicles(
+                Set.of(vehicleId), ContractStatus.PENDING, ContractStatus.CANCELLED))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -360,7 +457,30 @@ class ContractServiceTest {
 
         // Then
         assertEquals(0, count);
-        verify(contractRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void cancelPendingContractsForVehicles_ReturnsCancelledIdsAcrossVehicles() {
+        // Given
+        UUID otherVehicle = UUID.randomUUID();
+        Contract cancelled1 = new Contract(
+            UUID.randomUUID(), clientId, vehicleId, startDate, endDate, ContractStatus.CANCELLED
+        );
+        Contract cancelled2 = new Contract(
+            UUID.randomUUID(), clientId, otherVehicle, startDate, endDate, ContractStatus.CANCELLED
+        );
+        when(contractRepository.transitionForVehicles(
+                Set.of(vehicleId, otherVehicle), ContractStatus.PENDING, ContractStatus.CANCELLED))
+            .thenReturn(List.of(cancelled1, cancelled2));
+
+        // When
+        List<UUID> ids = contractService.cancelPendingContractsForVehicles(
+            List.of(vehicleId, otherVehicle, vehicleId));
+
+        // Then
+        assertEquals(List.of(cancelled1.getId(), cancelled2.getId()), ids);
+        verify(eventPublisher, times(2)).publishEvent(any(ContractStateChangedEvent.class));
     }
 
     // ========== FIND TESTS ==========
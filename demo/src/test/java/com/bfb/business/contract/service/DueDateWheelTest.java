@@ -0,0 +1,109 @@
+package com.bfb.business.contract.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DueDateWheel.
+ */
+class DueDateWheelTest {
+
+    private static final long TODAY = 20_000;
+
+    @Test
+    void advanceTo_ReturnsEntriesOnTheirDueDayOnly() {
+        // Given
+        DueDateWheel wheel = new DueDateWheel(TODAY);
+        UUID tomorrow = UUID.randomUUID();
+        UUID inThreeDays = UUID.randomUUID();
+        wheel.add(tomorrow, TODAY + 1);
+        wheel.add(inThreeDays, TODAY + 3);
+
+        // When & Then
+        assertEquals(List.of(tomorrow), wheel.advanceTo(TODAY + 1));
+        assertTrue(wheel.advanceTo(TODAY + 2).isEmpty());
+        assertEquals(List.of(inThreeDays), wheel.advanceTo(TODAY + 3));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_AlreadyDueEntry_ReturnedOnNextAdvance() {
+        // Given
+        DueDateWheel wheel = new DueDateWheel(TODAY);
+        UUID overdue = UUID.randomUUID();
+        wheel.add(overdue, TODAY - 10);
+
+        // When & Then
+        assertEquals(List.of(overdue), wheel.advanceTo(TODAY));
+    }
+
+    @Test
+    void advanceTo_FarEntriesCascadeThroughBothLevelsAndOverflow() {
+        // Given - due days spread over level 0, level 1 and the overflow bucket; +288 starts a 64-day span
+        DueDateWheel wheel = new DueDateWheel(TODAY);
+        long[] offsets = {1, 63, 64, 65, 127, 128, 288, 500, 4_095, 4_096, 4_200, 10_000};
+        List<UUID> ids = new ArrayList<>();
+        for (long offset : offsets) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            wheel.add(id, TODAY + offset);
+        }
+
+        // When & Then - each entry fires exactly on its day, in one pass over every day
+        for (long day = TODAY + 1; day <= TODAY + 10_000; day++) {
+            List<UUID> due = wheel.advanceTo(day);
+            for (int i = 0; i < offsets.length; i++) {
+                assertEquals(TODAY + offsets[i] == day, due.contains(ids.get(i)),
+                    "offset " + offsets[i] + " on day +" + (day - TODAY));
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_LargeJump_ReturnsEverythingDueInBetween() {
+        // Given
+        DueDateWheel wheel = new DueDateWheel(TODAY);
+        Set<UUID> expected = new HashSet<>();
+        for (int offset = 1; offset <= 300; offset += 7) {
+            UUID id = UUID.randomUUID();
+            expected.add(id);
+            wheel.add(id, TODAY + offset);
+        }
+        UUID later = UUID.randomUUID();
+        wheel.add(later, TODAY + 301);
+
+        // When
+        List<UUID> due = wheel.advanceTo(TODAY + 300);
+
+        // Then
+        assertEquals(expected, new HashSet<>(due));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void remove_EntryNeverFires() {
+        // Given
+        DueDateWheel wheel = new DueDateWheel(TODAY);
+        UUID near = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+        wheel.add(near, TODAY + 2);
+        wheel.add(far, TODAY + 100);
+        wheel.advanceTo(TODAY + 64); // far is still in level 1 although within 64 days now
+
+        // When
+        assertTrue(wheel.remove(far, TODAY + 100));
+        assertFalse(wheel.remove(UUID.randomUUID(), TODAY + 100));
+
+        // Then
+        assertTrue(wheel.advanceTo(TODAY + 200).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,155 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LateContractTimer.
+ */
+@ExtendWith(MockitoExtension.class)
+class LateContractTimerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 10);
+
+    @Mock
+    private ContractService contractService;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    private MutableClock clock;
+    private LateContractTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY);
+        timer = new LateContractTimer(contractService, contractRepository, clock);
+    }
+
+    @Test
+    void tick_FiresOnTheDayAfterEndDate() {
+        // Given
+        Contract contract = inProgress(TODAY.plusDays(2));
+        timer.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.PENDING));
+
+        // When - end date itself is not late yet
+        clock.set(TODAY.plusDays(2));
+        timer.tick();
+
+        // Then
+        verifyNoInteractions(contractService);
+
+        // When
+        clock.set(TODAY.plusDays(3));
+        timer.tick();
+
+        // Then
+        verify(contractService).markLate(List.of(contract.getId()));
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void onContractStateChanged_Terminated_RemovedFromWheel() {
+        // Given
+        Contract contract = inProgress(TODAY.plusDays(2));
+        timer.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.PENDING));
+
+        // When
+        contract.terminate();
+        timer.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.IN_PROGRESS));
+        clock.set(TODAY.plusDays(10));
+        timer.tick();
+
+        // Then
+        assertEquals(0, timer.pending());
+        verifyNoInteractions(contractService);
+    }
+
+    @Test
+    void onContractStateChanged_StartedAfterEndDate_MarkedImmediately() {
+        // Given
+        Contract contract = inProgress(TODAY.minusDays(1));
+
+        // When
+        timer.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.PENDING));
+
+        // Then
+        verify(contractService).markLate(List.of(contract.getId()));
+    }
+
+    @Test
+    void loadOnStartup_OverdueContractsMarkedAndOthersScheduled() {
+        // Given
+        Contract overdue = inProgress(TODAY.minusDays(3));
+        Contract running = inProgress(TODAY.plusDays(5));
+        when(contractRepository.findByStatus(ContractStatus.IN_PROGRESS)).thenReturn(List.of(overdue, running));
+
+        // When
+        timer.loadOnStartup();
+
+        // Then
+        verify(contractService).markLate(List.of(overdue.getId()));
+        assertEquals(1, timer.pending());
+    }
+
+    @Test
+    void tick_ServiceFailure_DoesNotPropagate() {
+        // Given
+        timer.onContractStateChanged(new ContractStateChangedEvent(inProgress(TODAY), ContractStatus.PENDING));
+        when(contractService.markLate(any())).thenThrow(new IllegalStateException("database down"));
+        clock.set(TODAY.plusDays(1));
+
+        // When & Then
+        assertDoesNotThrow(timer::tick);
+    }
+
+    private Contract inProgress(LocalDate endDate) {
+        return new Contract(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            endDate.minusDays(5), endDate, ContractStatus.IN_PROGRESS);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            set(date);
+        }
+
+        void set(LocalDate date) {
+            instant = date.atTime(0, 0, 1).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.exception.ClientUnknownException;
+import com.bfb.business.contract.exception.OverlapException;
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.business.contract.exception.VehicleUnavailableException;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.validation.*;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SingleStatementContractCreator.
+ */
+@ExtendWith(MockitoExtension.class)
+class SingleStatementContractCreatorTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ContractValidationChain validationChain;
+    private SingleStatementContractCreator creator;
+    private ContractCreationContext context;
+
+    @BeforeEach
+    void setUp() {
+        validationChain = new ContractValidationChain(
+            new DateValidator(),
+            new ClientExistenceValidator(clientService),
+            new VehicleAvailabilityValidator(vehicleService),
+            new OverlapValidator(contractRepository),
+            new SimpleMeterRegistry(),
+            "sequential",
+            0,
+            false,
+            10
+        );
+        creator = new SingleStatementContractCreator(contractRepository, new DateValidator(),
+            validationChain, eventPublisher);
+        context = new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            LocalDate.now().plusDays(1), LocalDate.now().plusDays(7));
+    }
+
+    @Test
+    void create_Bookable_InsertsWithoutLookupsAndPublishesCreated() {
+        // Given
+        when(contractRepository.insertIfBookable(any())).thenAnswer(invocation -> Optional.of(inserted(invocation)));
+
+        // When
+        Contract contract = creator.create(context);
+
+        // Then
+        assertEquals(ContractStatus.PENDING, contract.getStatus());
+        assertNotNull(contract.getId());
+        verify(eventPublisher).publishEvent(ContractStateChangedEvent.created(contract));
+        verifyNoInteractions(clientService, vehicleService);
+        verify(contractRepository, never()).findOverlappingContracts(any(), any(), any());
+    }
+
+    @Test
+    void create_InvalidDates_NoStatementIssued() {
+        // Given
+        ContractCreationContext invalid = new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            LocalDate.now().plusDays(7), LocalDate.now().plusDays(1));
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> creator.create(invalid));
+        verifyNoInteractions(contractRepository, clientService, vehicleService, eventPublisher);
+    }
+
+    @Test
+    void create_Rejected_ReportsCauseFromValidationChain() {
+        // Given
+        when(contractRepository.insertIfBookable(any())).thenReturn(Optional.empty());
+        when(clientService.exists(any())).thenReturn(false, true, true);
+        when(vehicleService.getStatus(any())).thenReturn(VehicleStatus.BROKEN, VehicleStatus.AVAILABLE);
+        when(contractRepository.findOverlappingContracts(any(), any(), any()))
+            .thenReturn(List.of(new Contract(UUID.randomUUID(), UUID.randomUUID(), context.getVehicleId(),
+                context.getStartDate(), context.getEndDate(), ContractStatus.PENDING)));
+
+        // When & Then
+        assertThrows(ClientUnknownException.class, () -> creator.create(context));
+        assertThrows(VehicleUnavailableException.class, () -> creator.create(context));
+        assertThrows(OverlapException.class, () -> creator.create(context));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void create_RejectedButEveryCheckPassesNow_ThrowsOptimisticLockingFailure() {
+        // Given
+        when(contractRepository.insertIfBookable(any())).thenReturn(Optional.empty());
+        when(clientService.exists(any())).thenReturn(true);
+        when(vehicleService.getStatus(any())).thenReturn(VehicleStatus.AVAILABLE);
+        when(contractRepository.findOverlappingContracts(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> creator.create(context));
+    }
+
+    private static Contract inserted(InvocationOnMock invocation) {
+        Contract contract = invocation.getArgument(0);
+        return new Contract(UUID.randomUUID(), contract.getClientId(), contract.getVehicleId(),
+            contract.getStartDate(), contract.getEndDate(), contract.getStatus());
+    }
+}
@@ -0,0 +1,170 @@
+package com.bfb.business.contract.service;
+
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VehicleDownCascade.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VehicleDownCascadeTest {
+
+    @Mock
+    private ContractService contractService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    private final UUID blocker = UUID.randomUUID();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private VehicleDownCascade cascade;
+
+    @BeforeEach
+    void setUp() {
+        // The first batch holds the worker until the test releases it, so later submits pile up
+        when(vehicleService.getStatuses(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            if (ids.contains(blocker)) {
+                blocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return ids.stream().collect(Collectors.toMap(Function.identity(), id -> VehicleStatus.BROKEN));
+        });
+        when(contractService.cancelPendingContractsForVehicles(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        cascade.shutdown();
+    }
+
+    @Test
+    void coalescesDuplicatesAndCascadesQueuedVehiclesInOneBatch() throws Exception {
+        // Given
+        cascade = new VehicleDownCascade(contractService, vehicleService, new SimpleMeterRegistry(), 100, 50);
+        cascade.start();
+        blockWorker();
+        UUID broken1 = UUID.randomUUID();
+        UUID broken2 = UUID.randomUUID();
+
+        // When
+        boolean first = cascade.submit(broken1);
+        boolean duplicate = cascade.submit(broken1);
+        cascade.submit(broken2);
+        int pending = cascade.pending();
+        release.countDown();
+
+        // Then
+        assertTrue(first);
+        assertFalse(duplicate);
+        assertEquals(2, pending);
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(broken1, broken2));
+    }
+
+    @Test
+    void skipsVehiclesThatAreNoLongerBroken() throws Exception {
+        // Given
+        cascade = new VehicleDownCascade(contractService, vehicleService, new SimpleMeterRegistry(), 100, 50);
+        cascade.start();
+        UUID repaired = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        when(vehicleService.getStatuses(List.of(repaired, broken)))
+            .thenReturn(Map.of(repaired, VehicleStatus.AVAILABLE, broken, VehicleStatus.BROKEN));
+        blockWorker();
+
+        // When
+        cascade.submit(repaired);
+        cascade.submit(broken);
+        release.countDown();
+
+        // Then
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(broken));
+        verify(contractService, never()).cancelPendingContractsForVehicles(List.of(repaired, broken));
+    }
+
+    @Test
+    void fullQueueDefersToASweepOfAllBrokenVehicles() throws Exception {
+        // Given
+        cascade = new VehicleDownCascade(contractService, vehicleService, new SimpleMeterRegistry(), 2, 50);
+        cascade.start();
+        blockWorker();
+        UUID queued1 = UUID.randomUUID();
+        UUID queued2 = UUID.randomUUID();
+        UUID deferred = UUID.randomUUID();
+        cascade.submit(queued1);
+        cascade.submit(queued2);
+        when(vehicleService.findByStatus(VehicleStatus.BROKEN)).thenReturn(List.of(broken(deferred)));
+
+        // When
+        long start = System.nanoTime();
+        boolean accepted = cascade.submit(deferred);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Then - the publisher returned at once and the sweep picked the vehicle up
+        assertFalse(accepted);
+        assertTrue(waitedMillis < 100, "waited " + waitedMillis + " ms");
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(queued1, queued2));
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(deferred));
+    }
+
+    @Test
+    void failedBatchIsRetriedOneVehicleAtATime() throws Exception {
+        // Given
+        cascade = new VehicleDownCascade(contractService, vehicleService, new SimpleMeterRegistry(), 100, 50);
+        cascade.start();
+        UUID vehicle1 = UUID.randomUUID();
+        UUID vehicle2 = UUID.randomUUID();
+        when(contractService.cancelPendingContractsForVehicles(List.of(vehicle1, vehicle2)))
+            .thenThrow(new IllegalStateException("deadlock"));
+        when(contractService.cancelPendingContractsForVehicles(List.of(vehicle2)))
+            .thenThrow(new IllegalStateException("still failing"));
+        blockWorker();
+
+        // When
+        cascade.submit(vehicle1);
+        cascade.submit(vehicle2);
+        release.countDown();
+
+        // Then
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(vehicle1));
+        verify(contractService, timeout(2000)).cancelPendingContractsForVehicles(List.of(vehicle2));
+    }
+
+    private static Vehicle broken(UUID id) {
+        return new Vehicle(id, "Renault", "Clio", "Essence", "Bleu", "PL-" + id, LocalDate.of(2022, 1, 1),
+            VehicleStatus.BROKEN);
+    }
+
+    private void blockWorker() throws InterruptedException {
+        cascade.submit(blocker);
+        assertTrue(blocked.await(2, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,193 @@
+package com.bfb.business.contract.validation;
+
+import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.exception.ClientUnknownException;
+import com.bfb.business.contract.exception.OverlapException;
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.business.contract.exception.VehicleUnavailableException;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
+import com.bfb.business.contract.service.ContractRepository;
+import com.bfb.business.vehicle.exception.VehicleNotFoundException;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchContractValidator.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchContractValidatorTest {
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    private BatchContractValidator validator;
+    private UUID clientId;
+    private UUID vehicleId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        validator = new BatchContractValidator(new DateValidator(), clientService, vehicleService, contractRepository);
+        clientId = UUID.randomUUID();
+        vehicleId = UUID.randomUUID();
+        today = LocalDate.now();
+    }
+
+    @Test
+    void validateAll_ValidBatch_NoRejectionsAndOneQueryPerRule() {
+        // Given
+        UUID otherVehicleId = UUID.randomUUID();
+        List<ContractCreationContext> contexts = List.of(
+            context(vehicleId, 1, 5),
+            context(otherVehicleId, 1, 5),
+            context(vehicleId, 10, 15)
+        );
+        when(clientService.findExistingIds(Set.of(clientId))).thenReturn(Set.of(clientId));
+        when(vehicleService.getStatuses(Set.of(vehicleId, otherVehicleId)))
+            .thenReturn(Map.of(vehicleId, VehicleStatus.AVAILABLE, otherVehicleId, VehicleStatus.AVAILABLE));
+        // each vehicle is looked up over the span of its own items only
+        when(contractRepository.findOverlappingContractsForVehicles(Map.of(
+                vehicleId, Period.of(today.plusDays(1), today.plusDays(15)),
+                otherVehicleId, Period.of(today.plusDays(1), today.plusDays(5)))))
+            .thenReturn(List.of());
+
+        // When
+        Map<Integer, RuntimeException> rejections = validator.validateAll(contexts, positions(contexts.size()));
+
+        // Then
+        assertTrue(rejections.isEmpty());
+        verify(clientService, times(1)).findExistingIds(anyCollection());
+        verify(vehicleService, times(1)).getStatuses(anyCollection());
+        verify(contractRepository, times(1)).findOverlappingContractsForVehicles(anyMap());
+        verify(contractRepository, never()).findOverlappingContracts(any(UUID.class), any(), any());
+    }
+
+    @Test
+    void validateAll_EachRuleRejectsItsItem() {
+        // Given
+        UUID unknownClientId = UUID.randomUUID();
+        UUID brokenVehicleId = UUID.randomUUID();
+        UUID missingVehicleId = UUID.randomUUID();
+        List<ContractCreationContext> contexts = List.of(
+            context(vehicleId, 5, 1),
+            new ContractCreationContext(unknownClientId, vehicleId, today.plusDays(1), today.plusDays(2)),
+            context(brokenVehicleId, 1, 2),
+            context(missingVehicleId, 1, 2),
+            context(vehicleId, 1, 3)
+        );
+        when(clientService.findExistingIds(anyCollection())).thenReturn(Set.of(clientId));
+        when(vehicleService.getStatuses(anyCollection()))
+            .thenReturn(Map.of(vehicleId, VehicleStatus.AVAILABLE, brokenVehicleId, VehicleStatus.BROKEN));
+        when(contractRepository.findOverlappingContractsForVehicles(
+                Map.of(vehicleId, Period.of(today.plusDays(1), today.plusDays(3)))))
+            .thenReturn(List.of());
+
+        // When
+        Map<Integer, RuntimeException> rejections = validator.validateAll(contexts, positions(contexts.size()));
+
+        // Then
+        assertEquals(4, rejections.size());
+        assertInstanceOf(ValidationException.class, rejections.get(0));
+        assertInstanceOf(ClientUnknownException.class, rejections.get(1));
+        assertInstanceOf(VehicleUnavailableException.class, rejections.get(2));
+        assertInstanceOf(VehicleNotFoundException.class, rejections.get(3));
+        assertFalse(rejections.containsKey(4));
+    }
+
+    @Test
+    void validateAll_OverlapWithExistingContract_Rejected() {
+        // Given
+        UUID existingId = UUID.randomUUID();
+        Contract existing = new Contract(existingId, clientId, vehicleId,
+            today.plusDays(4), today.plusDays(6), ContractStatus.PENDING);
+        List<ContractCreationContext> contexts = List.of(
+            context(vehicleId, 1, 3),
+            context(vehicleId, 5, 8)
+        );
+        when(clientService.findExistingIds(anyCollection())).thenReturn(Set.of(clientId));
+        when(vehicleService.getStatuses(anyCollection())).thenReturn(Map.of(vehicleId, VehicleStatus.AVAILABLE));
+        when(contractRepository.findOverlappingContractsForVehicles(anyMap())).thenReturn(List.of(existing));
+
+        // When
+        Map<Integer, RuntimeException> rejections = validator.validateAll(contexts, positions(contexts.size()));
+
+        // Then
+        assertEquals(Set.of(1), rejections.keySet());
+        assertInstanceOf(OverlapException.class, rejections.get(1));
+        assertTrue(rejections.get(1).getMessage().contains(existingId.toString()));
+    }
+
+    @Test
+    void validateAll_OverlapWithinBatch_LaterItemRejected() {
+        // Given
+        List<ContractCreationContext> contexts = List.of(
+            context(vehicleId, 1, 5),
+            context(vehicleId, 5, 9),
+            context(vehicleId, 6, 9)
+        );
+        when(clientService.findExistingIds(anyCollection())).thenReturn(Set.of(clientId));
+        when(vehicleService.getStatuses(anyCollection())).thenReturn(Map.of(vehicleId, VehicleStatus.AVAILABLE));
+        when(contractRepository.findOverlappingContractsForVehicles(anyMap())).thenReturn(List.of());
+
+        // When
+        Map<Integer, RuntimeException> rejections = validator.validateAll(contexts, positions(contexts.size()));
+
+        // Then
+        assertEquals(Set.of(1), rejections.keySet());
+        assertInstanceOf(OverlapException.class, rejections.get(1));
+        assertTrue(rejections.get(1).getMessage().contains("item 0 of the same batch"));
+    }
+
+    @Test
+    void validateAll_OverlapWithinLaterChunk_NamesConflictingItemByUploadPosition() {
+        // Given - the second chunk of an upload whose item 501 was refused before validation
+        List<ContractCreationContext> contexts = List.of(
+            context(vehicleId, 1, 5),
+            context(vehicleId, 3, 9)
+        );
+        when(clientService.findExistingIds(anyCollection())).thenReturn(Set.of(clientId));
+        when(vehicleService.getStatuses(anyCollection())).thenReturn(Map.of(vehicleId, VehicleStatus.AVAILABLE));
+        when(contractRepository.findOverlappingContractsForVehicles(anyMap())).thenReturn(List.of());
+
+        // When
+        Map<Integer, RuntimeException> rejections = validator.validateAll(contexts, List.of(500, 502));
+
+        // Then
+        assertEquals(Set.of(1), rejections.keySet());
+        assertTrue(rejections.get(1).getMessage().contains("item 500 of the same batch"));
+    }
+
+    private static List<Integer> positions(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    private ContractCreationContext context(UUID vehicle, int startOffset, int endOffset) {
+        return new ContractCreationContext(clientId, vehicle, today.plusDays(startOffset), today.plusDays(endOffset));
+    }
+}
@@ -0,0 +1,169 @@
+package com.bfb.business.contract.validation;
+
+import com.bfb.business.client.service.ClientService;
+import com.bfb.business.contract.exception.ClientUnknownException;
+import com.bfb.business.contract.exception.ValidationException;
+import com.bfb.business.contract.exception.VehicleUnavailableException;
+import com.bfb.business.contract.service.ContractRepository;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the parallel mode of ContractValidationChain, with simulated database latency.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractValidationChainParallelTest {
+
+    private static final long DB_DELAY_MS = 150;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    private ContractValidationChain sequentialChain;
+    private ContractValidationChain parallelChain;
+    private ContractCreationContext context;
+
+    @BeforeEach
+    void setUp() {
+        sequentialChain = chain("sequential");
+        parallelChain = chain("parallel");
+        context = new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            LocalDate.now().plusDays(1), LocalDate.now().plusDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelChain.shutdown();
+    }
+
+    @Test
+    void validateAll_ParallelMode_LatencyIsSlowestLookupNotSum() {
+        // Given
+        when(clientService.exists(any())).thenAnswer(delayed(true));
+        when(vehicleService.getStatus(any())).thenAnswer(delayed(VehicleStatus.AVAILABLE));
+        when(contractRepository.findOverlappingContracts(any(), any(), any()))
+            .thenAnswer(delayed(Collections.emptyList()));
+        parallelChain.validateAll(context); // warm up the pool threads
+
+        // When
+        long sequential = timeMillis(() -> sequentialChain.validateAll(context));
+        long parallel = timeMillis(() -> parallelChain.validateAll(context));
+
+        // Then
+        assertTrue(sequential >= 3 * DB_DELAY_MS, "sequential took " + sequential + " ms");
+        assertTrue(parallel < 2 * DB_DELAY_MS, "parallel took " + parallel + " ms");
+    }
+
+    @Test
+    void validateAll_SeveralFailures_ReportsFirstInDeclarationOrder() {
+        // Given - the vehicle check fails first in time, the client check fails later
+        when(clientService.exists(any())).thenAnswer(delayed(false));
+        when(vehicleService.getStatus(any())).thenReturn(VehicleStatus.BROKEN);
+        lenient().when(contractRepository.findOverlappingContracts(any(), any(), any()))
+            .thenReturn(Collections.emptyList());
+
+        // When & Then
+        assertThrows(ClientUnknownException.class, () -> parallelChain.validateAll(context));
+    }
+
+    @Test
+    void validateAll_LaterValidatorFails_ReportedOnceEarlierOnesPass() {
+        // Given
+        when(clientService.exists(any())).thenReturn(true);
+        when(vehicleService.getStatus(any())).thenAnswer(delayed(VehicleStatus.BROKEN));
+        lenient().when(contractRepository.findOverlappingContracts(any(), any(), any()))
+            .thenReturn(Collections.emptyList());
+
+        // When & Then
+        assertThrows(VehicleUnavailableException.class, () -> parallelChain.validateAll(context));
+    }
+
+    @Test
+    void validateAll_ParallelModeInsideTransaction_RunsLookupsOnCallerThread() {
+        // Given - the caller already holds a connection, lookups must not wait for pooled ones
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Answer<Object> recordThread = invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.getMethod().getReturnType() == boolean.class ? true
+                : invocation.getMethod().getReturnType() == VehicleStatus.class ? VehicleStatus.AVAILABLE
+                : Collections.emptyList();
+        };
+        when(clientService.exists(any())).thenAnswer(recordThread);
+        when(vehicleService.getStatus(any())).thenAnswer(recordThread);
+        when(contractRepository.findOverlappingContracts(any(), any(), any())).thenAnswer(recordThread);
+
+        // When
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            parallelChain.validateAll(context);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void validateAll_InvalidDates_NoLookupStarted() {
+        // Given
+        ContractCreationContext invalid = new ContractCreationContext(UUID.randomUUID(), UUID.randomUUID(),
+            LocalDate.now().plusDays(7), LocalDate.now().plusDays(1));
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> parallelChain.validateAll(invalid));
+        verifyNoInteractions(clientService, vehicleService, contractRepository);
+    }
+
+    private ContractValidationChain chain(String mode) {
+        return new ContractValidationChain(
+            new DateValidator(),
+            new ClientExistenceValidator(clientService),
+            new VehicleAvailabilityValidator(vehicleService),
+            new OverlapValidator(contractRepository),
+            new SimpleMeterRegistry(),
+            mode,
+            4,
+            false,
+            10
+        );
+    }
+
+    private static <T> Answer<T> delayed(T value) {
+        return invocation -> {
+            Thread.sleep(DB_DELAY_MS);
+            return value;
+        };
+    }
+
+    private static long timeMillis(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
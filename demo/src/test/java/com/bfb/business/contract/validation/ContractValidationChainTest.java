@@ -6,6 +6,7 @@ import com.bfb.business.contract.model.Contract;
 import com.bfb.business.contract.service.ContractRepository;
 import com.bfb.business.vehicle.model.VehicleStatus;
 import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,7 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -53,7 +55,12 @@ class ContractValidationChainTest {
             dateValidator,
             clientExistenceValidator,
             vehicleAvailabilityValidator,
-            overlapValidator
+            overlapValidator,
+            new SimpleMeterRegistry(),
+            "sequential",
+            0,
+            false,
+            10
         );
 
         clientId = UUID.randomUUID();
@@ -162,4 +169,84 @@ class ContractValidationChainTest {
         inOrder.verify(vehicleService).getStatus(vehicleId);
         inOrder.verify(contractRepository).findOverlappingContracts(vehicleId, startDate, endDate);
     }
+
+    @Test
+    void validateAll_RecordsTimingAndRejectionRatePerValidator() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ContractValidationChain chain = chain(meterRegistry, false);
+        when(clientService.exists(clientId)).thenReturn(true, false);
+        when(vehicleService.getStatus(vehicleId)).thenReturn(VehicleStatus.AVAILABLE);
+        when(contractRepository.findOverlappingContracts(vehicleId, startDate, endDate))
+            .thenReturn(Collections.emptyList());
+        ContractCreationContext context = new ContractCreationContext(clientId, vehicleId, startDate, endDate);
+
+        // When
+        chain.validateAll(context);
+        assertThrows(ClientUnknownException.class, () -> chain.validateAll(context));
+
+        // Then
+        assertEquals(1, meterRegistry.get("bfb.validation.duration")
+            .tags("validator", "ClientExistenceValidator", "outcome", "rejected").timer().count());
+        assertEquals(1, meterRegistry.get("bfb.validation.duration")
+            .tags("validator", "ClientExistenceValidator", "outcome", "passed").timer().count());
+        assertEquals(2, meterRegistry.get("bfb.validation.duration")
+            .tags("validator", "DateValidator", "outcome", "passed").timer().count());
+        assertEquals(0.5, meterRegistry.get("bfb.validation.rejection.rate")
+            .tag("validator", "ClientExistenceValidator").gauge().value());
+        assertDoesNotThrow(chain::logSummary);
+    }
+
+    @Test
+    void validateAll_AdaptiveOrdering_FrequentRejectorsFirstWithoutBreakingDependencies() {
+        // Given - client never rejects, vehicle rejects half the time, overlap rejects whenever it runs
+        ContractValidationChain chain = chain(new SimpleMeterRegistry(), true);
+        when(clientService.exists(clientId)).thenReturn(true);
+        AtomicInteger calls = new AtomicInteger();
+        when(vehicleService.getStatus(vehicleId)).thenAnswer(invocation ->
+            calls.incrementAndGet() % 2 == 0 ? VehicleStatus.BROKEN : VehicleStatus.AVAILABLE);
+        Contract existingContract = new Contract(UUID.randomUUID(), clientId, vehicleId,
+            startDate, endDate, com.bfb.business.contract.model.ContractStatus.PENDING);
+        when(contractRepository.findOverlappingContracts(vehicleId, startDate, endDate))
+            .thenReturn(List.of(existingContract));
+        ContractCreationContext context = new ContractCreationContext(clientId, vehicleId, startDate, endDate);
+
+        // When
+        for (int i = 0; i <= ContractValidationChain.REORDER_INTERVAL; i++) {
+            assertThrows(RuntimeException.class, () -> chain.validateAll(context));
+        }
+
+        // Then - overlap has the best yield but must still follow the vehicle check it depends on
+        List<Class<?>> order = chain.currentOrder().stream().<Class<?>>map(Object::getClass).toList();
+        assertEquals(List.of(VehicleAvailabilityValidator.class, OverlapValidator.class,
+            ClientExistenceValidator.class), order);
+    }
+
+    @Test
+    void reorder_NotEnoughSamples_KeepsDeclaredOrder() {
+        // Given
+        ContractValidationChain chain = chain(new SimpleMeterRegistry(), true);
+
+        // When
+        chain.reorder();
+
+        // Then
+        List<Class<?>> order = chain.currentOrder().stream().<Class<?>>map(Object::getClass).toList();
+        assertEquals(List.of(ClientExistenceValidator.class, VehicleAvailabilityValidator.class,
+            OverlapValidator.class), order);
+    }
+
+    private ContractValidationChain chain(SimpleMeterRegistry meterRegistry, boolean adaptiveOrdering) {
+        return new ContractValidationChain(
+            new DateValidator(),
+            new ClientExistenceValidator(clientService),
+            new VehicleAvailabilityValidator(vehicleService),
+            new OverlapValidator(contractRepository),
+            meterRegistry,
+            "sequential",
+            0,
+            adaptiveOrdering,
+            10
+        );
+    }
 }
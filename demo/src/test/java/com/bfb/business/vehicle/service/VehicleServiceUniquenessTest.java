@@ -10,12 +10,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +32,9 @@ class VehicleServiceUniquenessTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -49,11 +56,9 @@ class VehicleServiceUniquenessTest {
     }
 
     @Test
-    @DisplayName("Should create vehicle when registration plate is unique")
+    @DisplayName("Should create vehicle with a single insert and no existence query")
     void testCreate_WhenRegistrationPlateIsUnique_ShouldSucceed() {
         // Arrange
-        when(vehicleRepository.existsByRegistrationPlate(registrationPlate))
-            .thenReturn(false);
         when(vehicleRepository.save(any(Vehicle.class)))
             .thenReturn(new Vehicle(UUID.randomUUID(), brand, model, motorization, color, 
                 registrationPlate, purchaseDate, VehicleStatus.AVAILABLE));
@@ -65,16 +70,15 @@ class VehicleServiceUniquenessTest {
         assertThat(result).isNotNull();
         assertThat(result.getRegistrationPlate()).isEqualTo(registrationPlate);
         assertThat(result.getStatus()).isEqualTo(VehicleStatus.AVAILABLE);
-        verify(vehicleRepository).existsByRegistrationPlate(registrationPlate);
         verify(vehicleRepository).save(any(Vehicle.class));
     }
 
     @Test
     @DisplayName("Should throw DuplicateVehicleException when registration plate exists")
     void testCreate_WhenRegistrationPlateExists_ShouldThrowException() {
-        // Arrange
-        when(vehicleRepository.existsByRegistrationPlate(registrationPlate))
-            .thenReturn(true);
+        // Arrange - the repository reports the plate constraint violation
+        when(vehicleRepository.save(any(Vehicle.class)))
+            .thenThrow(new DuplicateVehicleException("A vehicle with registration plate 'AB-123-CD' already exists."));
 
         // Act & Assert
         assertThatThrownBy(() -> 
@@ -84,90 +88,33 @@ class VehicleServiceUniquenessTest {
             .hasMessageContaining("AB-123-CD")
             .hasMessageContaining("already exists");
 
-        verify(vehicleRepository).existsByRegistrationPlate(registrationPlate);
-        verify(vehicleRepository, never()).save(any(Vehicle.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    @DisplayName("Should reject duplicate registration plates with different vehicles")
-    void testCreate_WhenTryingToRegisterDuplicatePlate_ShouldThrowException() {
-        // Arrange - Simulating that registration plate is already taken
-        String duplicatePlate = "XY-789-ZZ";
-        when(vehicleRepository.existsByRegistrationPlate(duplicatePlate))
-            .thenReturn(true);
-
-        // Act & Assert
-        assertThatThrownBy(() -> 
-            vehicleService.create("Toyota", "Camry", "Hybrid", "Red", duplicatePlate, LocalDate.now())
-        )
-            .isInstanceOf(DuplicateVehicleException.class);
-
-        verify(vehicleRepository).existsByRegistrationPlate(duplicatePlate);
-    }
-
-    @Test
-    @DisplayName("Should allow creating multiple vehicles with different registration plates")
-    void testCreate_WhenMultipleVehiclesHaveUniquePlates_ShouldSucceed() {
+    @DisplayName("Should import only plates unknown to the store and to earlier rows")
+    void testImportAll_RejectsStoredAndRepeatedPlates() {
         // Arrange
-        String plate1 = "AA-111-AA";
-        String plate2 = "BB-222-BB";
-        
-        when(vehicleRepository.existsByRegistrationPlate(plate1)).thenReturn(false);
-        when(vehicleRepository.existsByRegistrationPlate(plate2)).thenReturn(false);
-        when(vehicleRepository.save(any(Vehicle.class)))
+        when(vehicleRepository.findExistingRegistrationPlates(anyCollection()))
+            .thenReturn(Set.of("TAKEN-1"));
+        when(vehicleRepository.insertAll(anyList()))
             .thenAnswer(invocation -> invocation.getArgument(0));
+        List<Vehicle> rows = List.of(
+            new Vehicle(null, brand, model, motorization, color, "NEW-1", purchaseDate, null),
+            new Vehicle(null, brand, model, motorization, color, "TAKEN-1", purchaseDate, null),
+            new Vehicle(null, brand, model, motorization, color, "NEW-1", purchaseDate, null),
+            new Vehicle(null, brand, model, motorization, color, "NEW-2", purchaseDate, null)
+        );
 
         // Act
-        Vehicle vehicle1 = vehicleService.create("Honda", "Civic", "Petrol", "White", plate1, purchaseDate);
-        Vehicle vehicle2 = vehicleService.create("Mazda", "CX-5", "Diesel", "Black", plate2, purchaseDate);
+        Map<Integer, RuntimeException> rejections = vehicleService.importAll(rows);
 
         // Assert
-        assertThat(vehicle1.getRegistrationPlate()).isEqualTo(plate1);
-        assertThat(vehicle2.getRegistrationPlate()).isEqualTo(plate2);
-        verify(vehicleRepository).existsByRegistrationPlate(plate1);
-        verify(vehicleRepository).existsByRegistrationPlate(plate2);
-        verify(vehicleRepository, times(2)).save(any(Vehicle.class));
-    }
-
-    @Test
-    @DisplayName("Should validate business rule: vehicle unique by registration plate")
-    void testBusinessRule_RegistrationPlateUniqueness() {
-        // This test documents the business rule
-        // Rule: "Un véhicule doit être unique (par leur numéro d'immatriculation)"
-        
-        String testPlate = "TEST-PLATE-123";
-        
-        when(vehicleRepository.existsByRegistrationPlate(testPlate))
-            .thenReturn(true);
-
-        assertThatThrownBy(() -> 
-            vehicleService.create("Brand", "Model", "Motor", "Color", testPlate, LocalDate.now())
-        )
-            .isInstanceOf(DuplicateVehicleException.class)
-            .hasMessageContaining(testPlate);
-    }
-
-    @Test
-    @DisplayName("Should prevent registration plate conflicts across different vehicle types")
-    void testBusinessRule_PlateUniquenessAcrossAllVehicleTypes() {
-        // Even if brand/model/color differ, same plate should be rejected
-        String sharedPlate = "CONFLICT-PLATE";
-        
-        when(vehicleRepository.existsByRegistrationPlate(sharedPlate))
-            .thenReturn(false)  // First vehicle succeeds
-            .thenReturn(true);  // Second vehicle fails
-
-        when(vehicleRepository.save(any(Vehicle.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
-
-        // First vehicle - should succeed
-        Vehicle first = vehicleService.create("Audi", "A4", "Diesel", "Silver", sharedPlate, purchaseDate);
-        assertThat(first).isNotNull();
-
-        // Second vehicle with same plate - should fail
-        assertThatThrownBy(() -> 
-            vehicleService.create("BMW", "X5", "Petrol", "Blue", sharedPlate, purchaseDate)
-        )
-            .isInstanceOf(DuplicateVehicleException.class);
+        assertThat(rejections).containsOnlyKeys(1, 2);
+        assertThat(rejections.values()).allMatch(DuplicateVehicleException.class::isInstance);
+        verify(vehicleRepository).findExistingRegistrationPlates(Set.of("NEW-1", "TAKEN-1", "NEW-2"));
+        verify(vehicleRepository).insertAll(argThat(vehicles -> vehicles.size() == 2
+            && vehicles.stream().allMatch(vehicle -> vehicle.getStatus() == VehicleStatus.AVAILABLE)));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
     }
 }
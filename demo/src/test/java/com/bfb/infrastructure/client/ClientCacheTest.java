@@ -0,0 +1,77 @@
+package com.bfb.infrastructure.client;
+
+import com.bfb.business.client.model.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClientCache.
+ */
+class ClientCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_ReturnsACopyAndCountsHitsAndMisses() {
+        // Given
+        ClientCache cache = new ClientCache(meterRegistry, 60_000, 10);
+        Client client = client();
+        cache.put(client);
+
+        // When
+        Client cached = cache.get(client.getId());
+        cached.setLastName("Changed");
+
+        // Then
+        assertEquals("Doe", cache.get(client.getId()).getLastName());
+        assertNull(cache.get(UUID.randomUUID()));
+        assertEquals(2, meterRegistry.get("bfb.client.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("bfb.client.cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void existenceOnlyEntry_AnswersContainsButNotGet() {
+        // Given
+        ClientCache cache = new ClientCache(meterRegistry, 60_000, 10);
+        UUID id = UUID.randomUUID();
+
+        // When
+        cache.putExisting(id);
+
+        // Then
+        assertTrue(cache.contains(id));
+        assertNull(cache.get(id));
+    }
+
+    @Test
+    void boundsAndInvalidation_DropEntries() throws Exception {
+        // Given
+        ClientCache bounded = new ClientCache(meterRegistry, 60_000, 1);
+        ClientCache expiring = new ClientCache(new SimpleMeterRegistry(), 0, 10);
+        Client first = client();
+        Client second = client();
+
+        // When
+        bounded.put(first);
+        bounded.put(second);
+        expiring.put(first);
+        Thread.sleep(5);
+        bounded.invalidate(second.getId());
+
+        // Then
+        assertFalse(bounded.contains(first.getId()));
+        assertFalse(bounded.contains(second.getId()));
+        assertFalse(expiring.contains(first.getId()));
+        assertEquals(1, meterRegistry.get("bfb.client.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    private static Client client() {
+        return new Client(UUID.randomUUID(), "John", "Doe", "1 Main St", "LIC-" + UUID.randomUUID(),
+            LocalDate.of(1990, 1, 1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.bfb.infrastructure.client;
+
+import com.bfb.business.client.exception.DuplicateClientException;
+import com.bfb.business.client.exception.DuplicateLicenseException;
+import com.bfb.business.client.model.Client;
+import com.bfb.business.client.service.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the uniqueness constraints behind ClientRepositoryImpl against H2.
+ */
+@SpringBootTest
+@Transactional
+class ClientRepositoryImplIntegrationTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void save_SameIdentity_ThrowsDuplicateClientException() {
+        // Given
+        clientRepository.save(new Client(null, "Alice", "Smith", null, "LIC-A-1", LocalDate.of(1985, 3, 20)));
+
+        // When & Then
+        DuplicateClientException error = assertThrows(DuplicateClientException.class, () ->
+            clientRepository.save(new Client(null, "Alice", "Smith", null, "LIC-A-2", LocalDate.of(1985, 3, 20))));
+        assertTrue(error.getMessage().contains("Alice Smith"));
+    }
+
+    @Test
+    void save_SameLicenseNumber_ThrowsDuplicateLicenseException() {
+        // Given
+        clientRepository.save(new Client(null, "Bob", "Jones", null, "SHARED-LICENSE", LocalDate.of(1992, 1, 1)));
+
+        // When & Then
+        DuplicateLicenseException error = assertThrows(DuplicateLicenseException.class, () ->
+            clientRepository.save(new Client(null, "Carl", "Jones", null, "SHARED-LICENSE", LocalDate.of(1993, 1, 1))));
+        assertTrue(error.getMessage().contains("SHARED-LICENSE"));
+    }
+
+    @Test
+    void save_UpdateToTakenLicenseNumber_ThrowsDuplicateLicenseException() {
+        // Given
+        clientRepository.save(new Client(null, "Dana", "White", null, "TAKEN-LICENSE", LocalDate.of(1990, 6, 1)));
+        Client other = clientRepository.save(new Client(null, "Eve", "White", null, "OWN-LICENSE", LocalDate.of(1991, 6, 1)));
+
+        // When
+        other.setLicenseNumber("TAKEN-LICENSE");
+
+        // Then
+        assertThrows(DuplicateLicenseException.class, () -> clientRepository.save(other));
+    }
+}
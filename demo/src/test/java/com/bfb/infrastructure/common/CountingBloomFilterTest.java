@@ -0,0 +1,103 @@
+package com.bfb.infrastructure.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CountingBloomFilter.
+ */
+class CountingBloomFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void mightContain_HasNoFalseNegativesAndFewFalsePositives() {
+        // Given
+        CountingBloomFilter filter = new CountingBloomFilter("test", 10_000, 0.01, meterRegistry);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("AB-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("AB-" + i));
+            if (filter.mightContain("ZZ-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    void remove_ForgetsTheKeyButKeepsOthers() {
+        // Given
+        CountingBloomFilter filter = new CountingBloomFilter("test", 1_000, 0.01, meterRegistry);
+        filter.add("kept");
+        filter.add("removed");
+
+        // When
+        filter.remove("removed");
+
+        // Then
+        assertTrue(filter.mightContain("kept"));
+        assertFalse(filter.mightContain("removed"));
+    }
+
+    @Test
+    void reset_ReplacesTheContentWithTheGivenKeys() {
+        // Given - since the filter was filled, another instance deleted one key and added another
+        CountingBloomFilter filter = new CountingBloomFilter("test", 1_000, 0.01, meterRegistry);
+        filter.add("kept");
+        filter.add("deleted-elsewhere");
+
+        // When
+        filter.reset(List.of("kept", "added-elsewhere"));
+
+        // Then
+        assertTrue(filter.mightContain("kept"));
+        assertTrue(filter.mightContain("added-elsewhere"));
+        assertFalse(filter.mightContain("deleted-elsewhere"));
+        filter.add("added-here");
+        assertTrue(filter.mightContain("added-here"));
+        assertTrue(filter.expectedFalsePositiveRate() > 0);
+    }
+
+    @Test
+    void existing_LooksUpOnlyPositivesAndCountsFalsePositives() {
+        // Given
+        CountingBloomFilter filter = new CountingBloomFilter("test", 1_000, 0.01, meterRegistry);
+        filter.add("taken");
+        filter.add("released");
+        List<Collection<String>> lookups = new ArrayList<>();
+
+        // When
+        Set<String> found = filter.existing(List.of("free", "taken", "released"), candidates -> {
+            lookups.add(candidates);
+            return List.of("taken");
+        });
+        Set<String> none = filter.existing(List.of("free"), candidates -> {
+            lookups.add(candidates);
+            return List.of();
+        });
+
+        // Then
+        assertEquals(Set.of("taken"), found);
+        assertTrue(none.isEmpty());
+        assertEquals(List.of(List.of("taken", "released")), lookups);
+        assertEquals(2, meterRegistry.get("bfb.uniqueness.filter.checks").tag("result", "negative").counter().count());
+        assertEquals(2, meterRegistry.get("bfb.uniqueness.filter.checks").tag("result", "positive").counter().count());
+        assertEquals(1, meterRegistry.get("bfb.uniqueness.filter.checks").tag("result", "false_positive").counter().count());
+        assertTrue(meterRegistry.get("bfb.uniqueness.filter.memory").gauge().value() > 0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bfb.infrastructure.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput and storage footprint of a contracts-like table keyed by random v4 vs
+ * time-ordered v7 ids, on a file-backed H2 database. H2 stores B-tree pages copy-on-write, so the
+ * live data ends up the same size either way; what random keys cost is the pages rewritten all
+ * over the tree, which shows in the database file size. Takes about a minute, so it only runs
+ * with -Dbfb.benchmark=true; -Dbfb.benchmark.rows sets the dataset size.
+ */
+@EnabledIfSystemProperty(named = "bfb.benchmark", matches = "true")
+class EntityIdsBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("bfb.benchmark.rows", 1_000_000);
+    private static final int BATCH_SIZE = 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void insert_TimeOrderedIds_FasterAndSmallerThanRandom() throws SQLException, IOException {
+        // Given - a short run of each to warm up the JIT
+        run("warmup-v4", UUID::randomUUID, 20_000);
+        run("warmup-v7", EntityIds::timeOrdered, 20_000);
+
+        // When
+        Result random = run("v4", UUID::randomUUID, ROWS);
+        Result timeOrdered = run("v7", EntityIds::timeOrdered, ROWS);
+
+        // Then
+        System.out.printf("%,d rows: v4 %,d rows/s, %,d KB live, %,d KB file; v7 %,d rows/s, %,d KB live, %,d KB file%n",
+            ROWS, random.rowsPerSecond(), random.liveBytes() / 1024, random.fileBytes() / 1024,
+            timeOrdered.rowsPerSecond(), timeOrdered.liveBytes() / 1024, timeOrdered.fileBytes() / 1024);
+        assertTrue(timeOrdered.rowsPerSecond() > random.rowsPerSecond(),
+            "v7 " + timeOrdered.rowsPerSecond() + " rows/s, v4 " + random.rowsPerSecond() + " rows/s");
+        assertTrue(timeOrdered.fileBytes() < random.fileBytes(),
+            "v7 " + timeOrdered.fileBytes() + " bytes, v4 " + random.fileBytes() + " bytes");
+    }
+
+    private Result run(String name, Supplier<UUID> ids, int rows) throws SQLException, IOException {
+        String url = "jdbc:h2:file:" + directory.resolve(name).toAbsolutePath() + ";MODE=PostgreSQL";
+        long rowsPerSecond;
+        long liveBytes;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE contracts (id UUID PRIMARY KEY, client_id UUID NOT NULL, "
+                    + "vehicle_id UUID NOT NULL, start_date DATE NOT NULL, end_date DATE NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+            LocalDate day = LocalDate.of(2024, 1, 1);
+            long started = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO contracts VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setObject(2, new UUID(0, i % 10_000));
+                    insert.setObject(3, new UUID(1, i % 2_000));
+                    insert.setObject(4, day.plusDays(i % 365));
+                    insert.setObject(5, day.plusDays(i % 365 + 3));
+                    insert.setString(6, "COMPLETED");
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            rowsPerSecond = rows * 1_000_000_000L / (System.nanoTime() - started);
+            try (Statement statement = connection.createStatement();
+                 ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('CONTRACTS')")) {
+                size.next();
+                liveBytes = size.getLong(1);
+            }
+        }
+        return new Result(rowsPerSecond, liveBytes, Files.size(directory.resolve(name + ".mv.db")));
+    }
+
+    private record Result(long rowsPerSecond, long liveBytes, long fileBytes) {}
+}
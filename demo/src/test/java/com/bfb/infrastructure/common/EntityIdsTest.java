@@ -0,0 +1,64 @@
+package com.bfb.infrastructure.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EntityIds.
+ */
+class EntityIdsTest {
+
+    @AfterEach
+    void tearDown() {
+        EntityIds.useTimeOrdered(true);
+    }
+
+    @Test
+    void timeOrdered_IsVersion7WithCreationTime() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID id = EntityIds.timeOrdered();
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1, "timestamp " + millis);
+    }
+
+    @Test
+    void timeOrdered_ManyInSameMillisecond_StrictlyIncreasing() {
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(EntityIds.timeOrdered());
+        }
+
+        // Then - as unsigned bytes, which is how PostgreSQL and H2 compare uuids
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                ids.get(i).getMostSignificantBits()) < 0, "id " + i + " not after its predecessor");
+        }
+    }
+
+    @Test
+    void next_FollowsSwitch() {
+        // When
+        EntityIds.useTimeOrdered(false);
+        UUID random = EntityIds.next();
+        EntityIds.useTimeOrdered(true);
+        UUID timeOrdered = EntityIds.next();
+
+        // Then
+        assertEquals(4, random.version());
+        assertEquals(7, timeOrdered.version());
+    }
+}
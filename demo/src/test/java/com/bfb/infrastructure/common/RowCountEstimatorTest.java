@@ -0,0 +1,64 @@
+package com.bfb.infrastructure.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for RowCountEstimator's cached counts.
+ */
+class RowCountEstimatorTest {
+
+    private RowCountEstimator estimator;
+
+    @AfterEach
+    void tearDown() {
+        estimator.shutdown();
+    }
+
+    @Test
+    void cached_CountsOnceWithinTtl() {
+        // Given
+        estimator = new RowCountEstimator(mock(JdbcTemplate.class), mock(DatabaseProduct.class), 60_000, 100);
+        AtomicLong rows = new AtomicLong(7);
+        AtomicLong calls = new AtomicLong();
+
+        // When
+        long first = estimator.cached("contracts", () -> { calls.incrementAndGet(); return rows.get(); });
+        rows.set(9);
+        long second = estimator.cached("contracts", () -> { calls.incrementAndGet(); return rows.get(); });
+
+        // Then
+        assertEquals(7, first);
+        assertEquals(7, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void cached_ServesStaleCountWhileRecountingInBackground() throws Exception {
+        // Given
+        estimator = new RowCountEstimator(mock(JdbcTemplate.class), mock(DatabaseProduct.class), 0, 100);
+        estimator.cached("vehicles", () -> 3);
+        Thread.sleep(5);
+        CountDownLatch recounted = new CountDownLatch(1);
+
+        // When
+        long stale = estimator.cached("vehicles", () -> {
+            recounted.countDown();
+            return 4;
+        });
+
+        // Then
+        assertEquals(3, stale);
+        assertTrue(recounted.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(4, estimator.cached("vehicles", () -> 5));
+    }
+}
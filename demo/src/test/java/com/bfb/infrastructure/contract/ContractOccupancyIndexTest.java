@@ -0,0 +1,143 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractOccupancyIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractOccupancyIndexTest {
+
+    @Mock
+    private ContractJpaRepository jpaRepository;
+
+    private ContractOccupancyIndex index;
+    private UUID vehicleId;
+    private LocalDate base;
+
+    @BeforeEach
+    void setUp() {
+        index = new ContractOccupancyIndex(jpaRepository, true);
+        vehicleId = UUID.randomUUID();
+        base = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    void loadOnStartup_LoadsOccupyingContractsFromDatabase() {
+        // Given
+        ContractEntity entity = new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), vehicleId,
+            base, base.plusDays(5), ContractStatus.IN_PROGRESS);
+        when(jpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())).thenReturn(List.of(entity));
+
+        // When
+        index.loadOnStartup();
+
+        // Then
+        assertTrue(index.isReady());
+        assertEquals(1, index.findOverlapping(vehicleId, base.plusDays(5), base.plusDays(6)).size());
+    }
+
+    @Test
+    void loadOnStartup_Disabled_StaysNotReady() {
+        // Given
+        ContractOccupancyIndex disabled = new ContractOccupancyIndex(jpaRepository, false);
+
+        // When
+        disabled.loadOnStartup();
+
+        // Then
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    void findOverlapping_MatchesDatabaseSemantics() {
+        // Given - inclusive bounds, like "NOT (end < start OR start > end)"
+        Contract existing = contract(base, base.plusDays(5), ContractStatus.PENDING);
+        index.load(List.of(existing));
+
+        // Then
+        assertEquals(List.of(existing.getId()), ids(index.findOverlapping(vehicleId, base.plusDays(5), base.plusDays(9))));
+        assertEquals(List.of(existing.getId()), ids(index.findOverlapping(vehicleId, base.minusDays(3), base)));
+        assertTrue(index.findOverlapping(vehicleId, base.plusDays(6), base.plusDays(9)).isEmpty());
+        assertTrue(index.findOverlapping(vehicleId, base.minusDays(3), base.minusDays(1)).isEmpty());
+        assertTrue(index.findOverlapping(UUID.randomUUID(), base, base.plusDays(5)).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_LongEarlierContractStillFound() {
+        // Given - an early contract spanning past later, shorter ones
+        Contract longOne = contract(base, base.plusDays(60), ContractStatus.LATE);
+        Contract shortOne = contract(base.plusDays(10), base.plusDays(12), ContractStatus.PENDING);
+        Contract lastOne = contract(base.plusDays(40), base.plusDays(42), ContractStatus.PENDING);
+        index.load(List.of(lastOne, shortOne, longOne));
+
+        // When
+        List<Contract> result = index.findOverlapping(vehicleId, base.plusDays(20), base.plusDays(25));
+
+        // Then
+        assertEquals(List.of(longOne.getId()), ids(result));
+        assertEquals(List.of(longOne.getId(), shortOne.getId(), lastOne.getId()),
+            ids(index.findOverlapping(vehicleId, base, base.plusDays(90))));
+    }
+
+    @Test
+    void onContractStateChanged_TracksLifecycle() {
+        // Given
+        index.load(List.of());
+        Contract contract = contract(base, base.plusDays(3), ContractStatus.PENDING);
+
+        // When - created
+        index.onContractStateChanged(ContractStateChangedEvent.created(contract));
+
+        // Then
+        assertEquals(1, index.findOverlapping(vehicleId, base, base).size());
+
+        // When - started, then completed
+        contract.start();
+        index.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.PENDING));
+        assertEquals(ContractStatus.IN_PROGRESS, index.findOverlapping(vehicleId, base, base).get(0).getStatus());
+
+        contract.terminate();
+        index.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.IN_PROGRESS));
+
+        // Then
+        assertTrue(index.findOverlapping(vehicleId, base, base.plusDays(3)).isEmpty());
+    }
+
+    @Test
+    void apply_StoresSnapshotNotCallerInstance() {
+        // Given
+        index.load(List.of());
+        Contract contract = contract(base, base.plusDays(3), ContractStatus.PENDING);
+        index.apply(contract);
+
+        // When - caller mutates its instance without publishing
+        contract.cancel();
+
+        // Then
+        assertEquals(1, index.findOverlapping(vehicleId, base, base.plusDays(3)).size());
+    }
+
+    private Contract contract(LocalDate start, LocalDate end, ContractStatus status) {
+        return new Contract(UUID.randomUUID(), UUID.randomUUID(), vehicleId, start, end, status);
+    }
+
+    private static List<UUID> ids(List<Contract> contracts) {
+        return contracts.stream().map(Contract::getId).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.constants.ContractConstants;
+import com.bfb.business.contract.model.ContractStatus;
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Test-only H2 stand-in for the PostgreSQL ex_contract_vehicle_period exclusion constraint (V6 migration):
+ * rejects an inserted or updated occupying contract whose inclusive period shares a day with
+ * another occupying contract of the same vehicle.
+ * The vehicle row is locked first, so concurrent bookings of one vehicle are checked one after
+ * the other and the second one sees the first once it has committed.
+ */
+public class ContractPeriodExclusionTrigger implements Trigger {
+
+    /** SQLSTATE PostgreSQL reports for an exclusion constraint violation. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final String OCCUPYING_STATUSES = ContractStatus.occupyingStatuses().stream()
+        .map(status -> "'" + status.name() + "'")
+        .collect(Collectors.joining(", "));
+
+    private int idColumn = -1;
+    private int vehicleIdColumn = -1;
+    private int startDateColumn = -1;
+    private int endDateColumn = -1;
+    private int statusColumn = -1;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet columns = metaData.getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                int index = columns.getInt("ORDINAL_POSITION") - 1;
+                switch (columns.getString("COLUMN_NAME").toLowerCase()) {
+                    case "id" -> idColumn = index;
+                    case "vehicle_id" -> vehicleIdColumn = index;
+                    case "start_date" -> startDateColumn = index;
+                    case "end_date" -> endDateColumn = index;
+                    case "status" -> statusColumn = index;
+                    default -> { }
+                }
+            }
+        }
+        if (idColumn < 0 || vehicleIdColumn < 0 || startDateColumn < 0 || endDateColumn < 0 || statusColumn < 0) {
+            throw new SQLException("Table " + tableName + " lacks the columns checked by " + triggerName);
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow == null || !isOccupying(newRow)) {
+            return;
+        }
+        if (oldRow != null && isOccupying(oldRow) && samePeriod(oldRow, newRow)) {
+            // Status change between occupying statuses: cannot create a new overlap
+            return;
+        }
+
+        try (PreparedStatement lock = conn.prepareStatement(
+                "SELECT id FROM vehicles WHERE id = ? FOR UPDATE")) {
+            lock.setObject(1, newRow[vehicleIdColumn]);
+            lock.executeQuery().close();
+        }
+
+        try (PreparedStatement overlap = conn.prepareStatement(
+                "SELECT 1 FROM contracts WHERE vehicle_id = ? AND id <> ? " +
+                "AND status IN (" + OCCUPYING_STATUSES + ") " +
+                "AND start_date <= ? AND end_date >= ? LIMIT 1")) {
+            overlap.setObject(1, newRow[vehicleIdColumn]);
+            overlap.setObject(2, newRow[idColumn]);
+            overlap.setObject(3, newRow[endDateColumn]);
+            overlap.setObject(4, newRow[startDateColumn]);
+            try (ResultSet rs = overlap.executeQuery()) {
+                if (rs.next()) {
+                    throw new SQLException("Conflicting key value violates exclusion constraint \""
+                        + ContractConstants.VEHICLE_PERIOD_EXCLUSION_CONSTRAINT + "\"", EXCLUSION_VIOLATION);
+                }
+            }
+        }
+    }
+
+    private boolean isOccupying(Object[] row) {
+        Object status = row[statusColumn];
+        return status != null && ContractStatus.occupyingStatuses().stream()
+            .anyMatch(occupying -> occupying.name().equals(status));
+    }
+
+    private boolean samePeriod(Object[] oldRow, Object[] newRow) {
+        return Objects.equals(oldRow[vehicleIdColumn], newRow[vehicleIdColumn])
+            && Objects.equals(oldRow[startDateColumn], newRow[startDateColumn])
+            && Objects.equals(oldRow[endDateColumn], newRow[endDateColumn]);
+    }
+}
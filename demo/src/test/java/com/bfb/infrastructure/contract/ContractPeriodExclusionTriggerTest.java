@@ -0,0 +1,163 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.constants.ContractConstants;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the H2 V6 migration: ContractPeriodExclusionTrigger installed by Flyway on a
+ * dedicated in-memory database, on top of the migrated schema rather than the Hibernate-built
+ * one the test profile installs it on.
+ */
+class ContractPeriodExclusionTriggerTest {
+
+    private static final String VEHICLE_ID = "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa";
+    private static final String CLIENT_ID = "11111111-1111-1111-1111-111111111111";
+
+    private String url;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:h2:mem:exclusion-" + UUID.randomUUID()
+            + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+        Flyway.configure()
+            .dataSource(url, "sa", "")
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .load()
+            .migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM contracts");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connection.close();
+    }
+
+    @Test
+    void insert_OverlappingOccupyingContract_IsRejected() throws SQLException {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(10);
+        insert(connection, UUID.randomUUID(), start, start.plusDays(5), "PENDING");
+
+        // When
+        SQLException ex = assertThrows(SQLException.class,
+            () -> insert(connection, UUID.randomUUID(), start.plusDays(5), start.plusDays(8), "PENDING"));
+
+        // Then
+        assertEquals("23P01", ex.getSQLState());
+        assertTrue(ex.getMessage().contains(ContractConstants.VEHICLE_PERIOD_EXCLUSION_CONSTRAINT));
+    }
+
+    @Test
+    void insert_AdjacentOrNonOccupyingContract_IsAccepted() throws SQLException {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(10);
+        insert(connection, UUID.randomUUID(), start, start.plusDays(5), "PENDING");
+
+        // When
+        insert(connection, UUID.randomUUID(), start.plusDays(6), start.plusDays(8), "PENDING");
+        insert(connection, UUID.randomUUID(), start.plusDays(1), start.plusDays(3), "CANCELLED");
+
+        // Then
+        assertEquals(3, count());
+    }
+
+    @Test
+    void update_ReactivatingOverlappingContract_IsRejected() throws SQLException {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(10);
+        insert(connection, UUID.randomUUID(), start, start.plusDays(5), "IN_PROGRESS");
+        UUID cancelled = UUID.randomUUID();
+        insert(connection, cancelled, start.plusDays(2), start.plusDays(4), "CANCELLED");
+
+        // When
+        SQLException ex = assertThrows(SQLException.class, () -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE contracts SET status = 'PENDING' WHERE id = ?")) {
+                update.setObject(1, cancelled);
+                update.executeUpdate();
+            }
+        });
+
+        // Then
+        assertEquals("23P01", ex.getSQLState());
+    }
+
+    @Test
+    void insert_ConcurrentOverlappingContracts_OnlyOneCommits() throws Exception {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection first = DriverManager.getConnection(url, "sa", "");
+             Connection second = DriverManager.getConnection(url, "sa", "")) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            insert(first, UUID.randomUUID(), start, start.plusDays(5), "PENDING");
+
+            // When - the second insert waits on the vehicle row until the first commits
+            Future<?> competing = executor.submit(() -> {
+                insert(second, UUID.randomUUID(), start.plusDays(3), start.plusDays(7), "PENDING");
+                second.commit();
+                return null;
+            });
+            Thread.sleep(200);
+            first.commit();
+
+            // Then
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> competing.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(SQLException.class, ex.getCause());
+            assertEquals("23P01", ((SQLException) ex.getCause()).getSQLState());
+            second.rollback();
+            assertEquals(1, count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void insert(Connection conn, UUID id, LocalDate start, LocalDate end, String status)
+            throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO contracts (id, client_id, vehicle_id, start_date, end_date, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            insert.setObject(1, id);
+            insert.setObject(2, UUID.fromString(CLIENT_ID));
+            insert.setObject(3, UUID.fromString(VEHICLE_ID));
+            insert.setObject(4, start);
+            insert.setObject(5, end);
+            insert.setString(6, status);
+            insert.executeUpdate();
+        }
+    }
+
+    private long count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var rs = statement.executeQuery("SELECT COUNT(*) FROM contracts")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.client.model.Client;
+import com.bfb.business.client.service.ClientRepository;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
+import com.bfb.business.contract.service.ContractRepository;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.business.vehicle.service.VehicleRepository;
+import com.bfb.infrastructure.common.DatabaseProduct;
+import com.bfb.infrastructure.common.RowCountEstimator;
+import com.bfb.interfaces.rest.config.ProblemDetails;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the set-based and single-statement paths of ContractRepositoryImpl against H2.
+ */
+@SpringBootTest
+@Transactional
+class ContractRepositoryImplIntegrationTest {
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ContractJpaRepository contractJpaRepository;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseProduct databaseProduct;
+
+    @Test
+    void transitionOverdue_MovesOnlyOverdueContractsInSourceStatus() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Contract overdue1 = save(today.minusDays(10), today.minusDays(2), ContractStatus.IN_PROGRESS);
+        Contract overdue2 = save(today.minusDays(9), today.minusDays(1), ContractStatus.IN_PROGRESS);
+        Contract overdue3 = save(today.minusDays(8), today.minusDays(3), ContractStatus.IN_PROGRESS);
+        Contract running = save(today.minusDays(2), today.plusDays(2), ContractStatus.IN_PROGRESS);
+        Contract pending = save(today.minusDays(5), today.minusDays(1), ContractStatus.PENDING);
+
+        // When
+        List<Contract> first = contractRepository.transitionOverdue(
+            ContractStatus.IN_PROGRESS, ContractStatus.LATE, today, 2);
+        List<Contract> second = contractRepository.transitionOverdue(
+            ContractStatus.IN_PROGRESS, ContractStatus.LATE, today, 2);
+        List<Contract> third = contractRepository.transitionOverdue(
+            ContractStatus.IN_PROGRESS, ContractStatus.LATE, today, 2);
+
+        // Then
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertTrue(third.isEmpty());
+        assertTrue(first.stream().allMatch(contract -> contract.getStatus() == ContractStatus.LATE));
+        for (Contract contract : List.of(overdue1, overdue2, overdue3)) {
+            assertEquals(ContractStatus.LATE, statusOf(contract));
+        }
+        assertEquals(ContractStatus.IN_PROGRESS, statusOf(running));
+        assertEquals(ContractStatus.PENDING, statusOf(pending));
+    }
+
+    @Test
+    void transitionOverdue_ByIds_SkipsContractsThatNoLongerMatch() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Contract overdue = save(today.minusDays(10), today.minusDays(1), ContractStatus.IN_PROGRESS);
+        Contract completed = save(today.minusDays(10), today.minusDays(1), ContractStatus.COMPLETED);
+        Contract running = save(today.minusDays(2), today, ContractStatus.IN_PROGRESS);
+
+        // When
+        List<Contract> moved = contractRepository.transitionOverdue(
+            List.of(overdue.getId(), completed.getId(), running.getId(), UUID.randomUUID()),
+            ContractStatus.IN_PROGRESS, ContractStatus.LATE, today);
+
+        // Then
+        assertEquals(List.of(overdue.getId()), moved.stream().map(Contract::getId).toList());
+        assertEquals(ContractStatus.LATE, statusOf(overdue));
+        assertEquals(ContractStatus.COMPLETED, statusOf(completed));
+        assertEquals(ContractStatus.IN_PROGRESS, statusOf(running));
+    }
+
+    @Test
+    void transition_SourceStatus_MovesContractAndReturnsItsPreviousState() {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(5);
+        Contract pending = save(start, start.plusDays(2), ContractStatus.PENDING);
+
+        // When
+        Optional<Contract> previous = contractRepository.transition(pending.getId(),
+            ContractStatus.IN_PROGRESS.getAllowedSources(), ContractStatus.IN_PROGRESS);
+
+        // Then
+        assertTrue(previous.isPresent());
+        assertEquals(ContractStatus.PENDING, previous.get().getStatus());
+        assertEquals(pending.getVersion(), previous.get().getVersion());
+        assertEquals(pending.getVehicleId(), previous.get().getVehicleId());
+        assertEquals(pending.getEndDate(), previous.get().getEndDate());
+        Contract reloaded = contractRepository.findById(pending.getId()).orElseThrow();
+        assertEquals(ContractStatus.IN_PROGRESS, reloaded.getStatus());
+        assertEquals(pending.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void transition_OtherStatusOrMissing_MovesNothing() {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(5);
+        Contract completed = save(start, start.plusDays(2), ContractStatus.COMPLETED);
+
+        // When
+        Optional<Contract> wrongStatus = contractRepository.transition(completed.getId(),
+            ContractStatus.CANCELLED.getAllowedSources(), ContractStatus.CANCELLED);
+        Optional<Contract> missing = contractRepository.transition(UUID.randomUUID(),
+            ContractStatus.CANCELLED.getAllowedSources(), ContractStatus.CANCELLED);
+
+        // Then
+        assertTrue(wrongStatus.isEmpty());
+        assertTrue(missing.isEmpty());
+        Contract reloaded = contractRepository.findById(completed.getId()).orElseThrow();
+        assertEquals(ContractStatus.COMPLETED, reloaded.getStatus());
+        assertEquals(completed.getVersion(), reloaded.getVersion());
+    }
+
+    @Test
+    void insertIfBookable_AllConditionsHold_InsertsPendingContract() {
+        // Given
+        UUID clientId = saveClient().getId();
+        UUID vehicleId = saveVehicle(VehicleStatus.AVAILABLE).getId();
+        LocalDate start = LocalDate.now().plusDays(5);
+        save(vehicleId, start.minusDays(4), start.minusDays(1), ContractStatus.PENDING);
+
+        // When
+        Optional<Contract> inserted = contractRepository.insertIfBookable(
+            new Contract(null, clientId, vehicleId, start, start.plusDays(3), ContractStatus.PENDING));
+
+        // Then
+        assertTrue(inserted.isPresent());
+        Contract stored = contractRepository.findById(inserted.get().getId()).orElseThrow();
+        assertEquals(ContractStatus.PENDING, stored.getStatus());
+        assertEquals(clientId, stored.getClientId());
+        assertEquals(0L, stored.getVersion());
+    }
+
+    @Test
+    void insertIfBookable_AnyConditionFails_InsertsNothing() {
+        // Given
+        UUID clientId = saveClient().getId();
+        UUID availableId = saveVehicle(VehicleStatus.AVAILABLE).getId();
+        UUID brokenId = saveVehicle(VehicleStatus.BROKEN).getId();
+        LocalDate start = LocalDate.now().plusDays(5);
+        save(availableId, start.plusDays(2), start.plusDays(6), ContractStatus.IN_PROGRESS);
+        long before = contractRepository.findByCriteria(null, null, null).size();
+
+        // When
+        Optional<Contract> unknownClient = contractRepository.insertIfBookable(
+            new Contract(null, UUID.randomUUID(), brokenId, start, start.plusDays(1), ContractStatus.PENDING));
+        Optional<Contract> brokenVehicle = contractRepository.insertIfBookable(
+            new Contract(null, clientId, brokenId, start, start.plusDays(1), ContractStatus.PENDING));
+        Optional<Contract> unknownVehicle = contractRepository.insertIfBookable(
+            new Contract(null, clientId, UUID.randomUUID(), start, start.plusDays(1), ContractStatus.PENDING));
+        Optional<Contract> overlapping = contractRepository.insertIfBookable(
+            new Contract(null, clientId, availableId, start, start.plusDays(2), ContractStatus.PENDING));
+
+        // Then
+        assertTrue(unknownClient.isEmpty());
+        assertTrue(brokenVehicle.isEmpty());
+        assertTrue(unknownVehicle.isEmpty());
+        assertTrue(overlapping.isEmpty());
+        assertEquals(before, contractRepository.findByCriteria(null, null, null).size());
+    }
+
+    @Test
+    void transitionForVehicles_MovesOnlyContractsOfThoseVehiclesInSourceStatus() {
+        // Given
+        LocalDate start = LocalDate.now().plusDays(5);
+        UUID vehicle1 = UUID.randomUUID();
+        UUID vehicle2 = UUID.randomUUID();
+        Contract pending1 = save(vehicle1, start, start.plusDays(2), ContractStatus.PENDING);
+        Contract pending2 = save(vehicle1, start.plusDays(3), start.plusDays(4), ContractStatus.PENDING);
+        Contract pending3 = save(vehicle2, start, start.plusDays(1), ContractStatus.PENDING);
+        Contract running = save(vehicle2, start.minusDays(6), start.minusDays(4), ContractStatus.IN_PROGRESS);
+        Contract otherVehicle = save(start, start.plusDays(1), ContractStatus.PENDING);
+
+        // When
+        List<Contract> moved = contractRepository.transitionForVehicles(
+            List.of(vehicle1, vehicle2), ContractStatus.PENDING, ContractStatus.CANCELLED);
+
+        // Then
+        assertEquals(3, moved.size());
+        assertTrue(moved.stream().allMatch(contract -> contract.getStatus() == ContractStatus.CANCELLED));
+        for (Contract contract : List.of(pending1, pending2, pending3)) {
+            assertEquals(ContractStatus.CANCELLED, statusOf(contract));
+        }
+        assertEquals(ContractStatus.IN_PROGRESS, statusOf(running));
+        assertEquals(ContractStatus.PENDING, statusOf(otherVehicle));
+    }
+
+    @Test
+    void save_OverlappingOccupyingContract_RejectedByExclusionConstraintAsConflict() {
+        // Given - the test profile installs the H2 stand-in for the exclusion constraint
+        LocalDate start = LocalDate.now().plusDays(5);
+        UUID vehicleId = saveVehicle(VehicleStatus.AVAILABLE).getId();
+        save(vehicleId, start, start.plusDays(4), ContractStatus.PENDING);
+
+        // When - the next query flushes the overlapping insert
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> {
+            save(vehicleId, start.plusDays(4), start.plusDays(6), ContractStatus.PENDING);
+            contractRepository.findByCriteria(null, vehicleId, null);
+        });
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT.value(), ProblemDetails.of(ex).getStatus());
+    }
+
+    @Test
+    void findOverlapping_IndexHitCancelledElsewhere_IsConfirmedAgainstTheDatabase() {
+        // Given - this instance indexed both bookings, another one has since cancelled the first
+        LocalDate start = LocalDate.now().plusDays(5);
+        Contract cancelledElsewhere = save(start, start.plusDays(4), ContractStatus.PENDING);
+        Contract booked = save(start, start.plusDays(4), ContractStatus.PENDING);
+        ContractOccupancyIndex index = new ContractOccupancyIndex(contractJpaRepository, false);
+        index.load(List.of(cancelledElsewhere, booked));
+        ContractRepositoryImpl repository = new ContractRepositoryImpl(contractJpaRepository, index,
+            rowCountEstimator, entityManager, jdbcTemplate, databaseProduct);
+        contractRepository.transition(cancelledElsewhere.getId(),
+            ContractStatus.CANCELLED.getAllowedSources(), ContractStatus.CANCELLED);
+
+        // When
+        List<Contract> single = repository.findOverlappingContracts(
+            cancelledElsewhere.getVehicleId(), start.plusDays(1), start.plusDays(2));
+        Period period = Period.of(start.plusDays(1), start.plusDays(2));
+        List<Contract> batch = repository.findOverlappingContractsForVehicles(Map.of(
+            cancelledElsewhere.getVehicleId(), period, booked.getVehicleId(), period, UUID.randomUUID(), period));
+
+        // Then
+        assertTrue(single.isEmpty());
+        assertEquals(List.of(booked.getId()), batch.stream().map(Contract::getId).toList());
+    }
+
+    @Test
+    void findOverlappingContractsForVehicles_MatchesEachVehicleOnItsOwnPeriod() {
+        // Given - the first vehicle is booked outside its own period but inside the other's
+        LocalDate start = LocalDate.now().plusDays(5);
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        save(early, start.plusDays(20), start.plusDays(22), ContractStatus.PENDING);
+        Contract lateBooking = save(late, start.plusDays(20), start.plusDays(22), ContractStatus.PENDING);
+        save(late, start.plusDays(21), start.plusDays(30), ContractStatus.CANCELLED);
+
+        // When
+        List<Contract> overlapping = contractRepository.findOverlappingContractsForVehicles(Map.of(
+            early, Period.of(start, start.plusDays(3)),
+            late, Period.of(start.plusDays(18), start.plusDays(25))));
+
+        // Then
+        assertEquals(List.of(lateBooking.getId()), overlapping.stream().map(Contract::getId).toList());
+    }
+
+    private Contract save(LocalDate startDate, LocalDate endDate, ContractStatus status) {
+        return save(UUID.randomUUID(), startDate, endDate, status);
+    }
+
+    private Contract save(UUID vehicleId, LocalDate startDate, LocalDate endDate, ContractStatus status) {
+        return contractRepository.save(new Contract(null, UUID.randomUUID(), vehicleId,
+            startDate, endDate, status));
+    }
+
+    private Client saveClient() {
+        return clientRepository.save(new Client(null, "Ada", "Booker", null,
+            "LIC-" + UUID.randomUUID(), LocalDate.of(1980, 1, 1)));
+    }
+
+    private Vehicle saveVehicle(VehicleStatus status) {
+        return vehicleRepository.save(new Vehicle(null, "Renault", "Clio", "Essence", "Bleu",
+            "PL-" + UUID.randomUUID(), LocalDate.of(2022, 1, 1), status));
+    }
+
+    private ContractStatus statusOf(Contract contract) {
+        return contractRepository.findById(contract.getId()).orElseThrow().getStatus();
+    }
+}
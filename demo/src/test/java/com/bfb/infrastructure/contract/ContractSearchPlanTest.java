@@ -0,0 +1,138 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.service.ContractRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN that each contract search filter combination, and the client history, is planned on an index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.bfb.infrastructure.contract.ContractSearchPlanTest$LastStatement")
+@Transactional
+class ContractSearchPlanTest {
+
+    private static final UUID CLIENT_ID = UUID.randomUUID();
+    private static final UUID VEHICLE_ID = UUID.randomUUID();
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByCriteria_Vehicle_UsesVehicleDatesIndex() {
+        assertPlanUses("idx_vehicle_dates", null, VEHICLE_ID, null);
+    }
+
+    @Test
+    void findByCriteria_Status_UsesStatusIndex() {
+        assertPlanUses("idx_contract_status_end_date", null, null, ContractStatus.PENDING);
+    }
+
+    @Test
+    void findByCriteria_VehicleAndStatus_UsesAnIndex() {
+        assertPlanUses("idx_", null, VEHICLE_ID, ContractStatus.PENDING);
+    }
+
+    @Test
+    void findByCriteria_Client_UsesClientIndex() {
+        assertPlanUses("idx_contract_client_start_date", CLIENT_ID, null, null);
+    }
+
+    @Test
+    void findByCriteria_ClientAndStatus_UsesAnIndex() {
+        assertPlanUses("idx_", CLIENT_ID, null, ContractStatus.PENDING);
+    }
+
+    @Test
+    void findByCriteria_ClientAndVehicle_UsesAnIndex() {
+        assertPlanUses("idx_", CLIENT_ID, VEHICLE_ID, null);
+    }
+
+    @Test
+    void findByClientBefore_UsesClientIndex() {
+        // When
+        contractRepository.findByClientBefore(CLIENT_ID, null, null, 20);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql(), String.class, CLIENT_ID, 20)
+            .toLowerCase();
+
+        // Then
+        assertTrue(plan.contains("idx_contract_client_start_date"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    void findByCriteria_AllFilters_UsesAnIndex() {
+        assertPlanUses("idx_", CLIENT_ID, VEHICLE_ID, ContractStatus.PENDING);
+    }
+
+    @Test
+    void findByCriteria_OnlySuppliedFiltersReachTheSql() {
+        // When
+        contractRepository.findByCriteria(null, VEHICLE_ID, null);
+
+        // Then
+        String sql = LastStatement.sql().toLowerCase();
+        assertFalse(sql.contains("is null"), sql);
+        assertFalse(sql.contains("client_id=?") || sql.contains("client_id = ?"), sql);
+        assertFalse(sql.contains("status=?") || sql.contains("status = ?"), sql);
+    }
+
+    private void assertPlanUses(String index, UUID clientId, UUID vehicleId, ContractStatus status) {
+        // When
+        contractRepository.findByCriteria(clientId, vehicleId, status);
+        String plan = explain(LastStatement.sql(), clientId, vehicleId, status);
+
+        // Then
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    /**
+     * Parameters are bound in the order ContractSpecifications adds its predicates.
+     */
+    private String explain(String sql, UUID clientId, UUID vehicleId, ContractStatus status) {
+        List<Object> parameters = new ArrayList<>(3);
+        if (clientId != null) {
+            parameters.add(clientId);
+        }
+        if (vehicleId != null) {
+            parameters.add(vehicleId);
+        }
+        if (status != null) {
+            parameters.add(status.name());
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters.toArray()).toLowerCase();
+    }
+
+    /**
+     * Remembers the last SQL statement Hibernate prepared on the current thread.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            LAST.set(sql);
+            return sql;
+        }
+
+        static String sql() {
+            return LAST.get();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.infrastructure.common.DatabaseProduct;
+import com.bfb.infrastructure.common.RowCountEstimator;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for the PostgreSQL statement of ContractRepositoryImpl.transition, which H2
+ * cannot parse. Runs against a PostgreSQL container migrated with the application's migrations,
+ * and is skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ContractTransitionPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private ContractRepositoryImpl repository;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+            .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+            .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+            .load()
+            .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // transition only needs JDBC; the persistence context it flushes and clears is a mock
+        repository = new ContractRepositoryImpl(mock(ContractJpaRepository.class), mock(ContractOccupancyIndex.class),
+            mock(RowCountEstimator.class), mock(EntityManager.class), jdbcTemplate, new DatabaseProduct(jdbcTemplate));
+    }
+
+    @Test
+    void transition_SourceStatus_ReturnsPreviousStateAndBumpsVersion() {
+        // Given
+        UUID id = insert(ContractStatus.PENDING, 3);
+
+        // When
+        Optional<Contract> previous = repository.transition(id,
+            ContractStatus.IN_PROGRESS.getAllowedSources(), ContractStatus.IN_PROGRESS);
+
+        // Then
+        assertTrue(previous.isPresent());
+        assertEquals(id, previous.get().getId());
+        assertEquals(ContractStatus.PENDING, previous.get().getStatus());
+        assertEquals(3, previous.get().getVersion());
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, version FROM contracts WHERE id = ?", id);
+        assertEquals(ContractStatus.IN_PROGRESS.name(), row.get("status"));
+        assertEquals(4L, ((Number) row.get("version")).longValue());
+    }
+
+    @Test
+    void transition_OtherStatus_MovesNothing() {
+        // Given
+        UUID id = insert(ContractStatus.COMPLETED, 0);
+
+        // When
+        Optional<Contract> previous = repository.transition(id,
+            ContractStatus.IN_PROGRESS.getAllowedSources(), ContractStatus.IN_PROGRESS);
+
+        // Then
+        assertTrue(previous.isEmpty());
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, version FROM contracts WHERE id = ?", id);
+        assertEquals(ContractStatus.COMPLETED.name(), row.get("status"));
+        assertEquals(0L, ((Number) row.get("version")).longValue());
+    }
+
+    private UUID insert(ContractStatus status, long version) {
+        UUID id = UUID.randomUUID();
+        LocalDate start = LocalDate.now().plusDays(5);
+        jdbcTemplate.update("INSERT INTO contracts (id, client_id, vehicle_id, start_date, end_date, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            id, UUID.randomUUID(), UUID.randomUUID(), start, start.plusDays(2), status.name(), version);
+        return id;
+    }
+}
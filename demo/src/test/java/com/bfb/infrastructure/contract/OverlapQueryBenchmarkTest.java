@@ -0,0 +1,127 @@
+package com.bfb.infrastructure.contract;
+
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.contract.model.Period;
+import com.bfb.infrastructure.common.DatabaseProduct;
+import com.bfb.infrastructure.common.RowCountEstimator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Overlap lookup of a contract batch through JPA, on the test H2 database: one envelope over all
+ * the batch's periods, as the batch validator used to query, against each vehicle matched on its
+ * own period. Entity loading is included, since the envelope's cost is mostly the contracts it
+ * loads for nothing. Only runs with -Dbfb.benchmark=true.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+@EnabledIfSystemProperty(named = "bfb.benchmark", matches = "true")
+class OverlapQueryBenchmarkTest {
+
+    private static final int VEHICLES = 2_000;
+    private static final int CONTRACTS_PER_VEHICLE = 50;
+    private static final int BATCH_SIZE = 500;
+    private static final int ROUNDS = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private ContractJpaRepository contractJpaRepository;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseProduct databaseProduct;
+
+    @Test
+    void findOverlapping_PerVehiclePeriods_FasterThanOneEnvelope() {
+        // Given - five-day contracts every two weeks, and a batch booking three days on every fourth vehicle
+        List<UUID> vehicles = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int v = 0; v < VEHICLES; v++) {
+            UUID vehicleId = UUID.randomUUID();
+            vehicles.add(vehicleId);
+            for (int c = 0; c < CONTRACTS_PER_VEHICLE; c++) {
+                LocalDate start = FIRST_DAY.plusDays(c * 14L);
+                rows.add(new Object[] {UUID.randomUUID(), UUID.randomUUID(), vehicleId, start, start.plusDays(4),
+                    ContractStatus.PENDING.name()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO contracts (id, client_id, vehicle_id, start_date, end_date, status, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0)", rows);
+        Random random = new Random(42);
+        Map<UUID, Period> batch = new HashMap<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(CONTRACTS_PER_VEHICLE * 14 - 3));
+            batch.put(vehicles.get(i * (VEHICLES / BATCH_SIZE)), Period.of(start, start.plusDays(2)));
+        }
+        // never loaded, so every lookup goes to the database
+        ContractRepositoryImpl repository = new ContractRepositoryImpl(contractJpaRepository,
+            new ContractOccupancyIndex(contractJpaRepository, false), rowCountEstimator, entityManager,
+            jdbcTemplate, databaseProduct);
+        Supplier<Integer> envelope = () -> findInEnvelope(batch);
+        Supplier<Integer> perVehicle = () -> repository.findOverlappingContractsForVehicles(batch).size();
+        run(envelope, 5);
+        run(perVehicle, 5);
+
+        // When
+        Result envelopeResult = run(envelope, ROUNDS);
+        Result perVehicleResult = run(perVehicle, ROUNDS);
+
+        // Then
+        System.out.printf("%,d contracts, batch of %,d: envelope %,d contracts in %,d us; per vehicle %,d contracts in %,d us%n",
+            rows.size(), BATCH_SIZE, envelopeResult.contracts(), envelopeResult.micros(),
+            perVehicleResult.contracts(), perVehicleResult.micros());
+        assertTrue(perVehicleResult.contracts() < envelopeResult.contracts());
+        assertTrue(perVehicleResult.micros() < envelopeResult.micros(),
+            "per vehicle " + perVehicleResult.micros() + " us, envelope " + envelopeResult.micros() + " us");
+    }
+
+    private int findInEnvelope(Map<UUID, Period> batch) {
+        LocalDate from = batch.values().stream().map(Period::startDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = batch.values().stream().map(Period::endDate).max(LocalDate::compareTo).orElseThrow();
+        return entityManager.createQuery("SELECT c FROM ContractEntity c WHERE c.vehicleId IN :vehicleIds "
+                + "AND c.status IN :statuses AND c.endDate >= :from AND c.startDate <= :to", ContractEntity.class)
+            .setParameter("vehicleIds", batch.keySet())
+            .setParameter("statuses", ContractStatus.occupyingStatuses())
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList()
+            .size();
+    }
+
+    private Result run(Supplier<Integer> lookup, int rounds) {
+        int contracts = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            contracts = lookup.get();
+            // each batch request starts from an empty persistence context
+            entityManager.clear();
+        }
+        return new Result(contracts, (System.nanoTime() - started) / 1_000 / rounds);
+    }
+
+    private record Result(int contracts, long micros) {}
+}
@@ -0,0 +1,117 @@
+package com.bfb.infrastructure.outbox;
+
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the outbox against H2. Not transactional: outbox rows are only written
+ * when the surrounding transaction commits.
+ */
+@SpringBootTest
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxEventJpaRepository outboxRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RecordingPublisher publisher = new RecordingPublisher();
+    private final List<UUID> vehicles = new ArrayList<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        relay = new OutboxRelay(outboxRepository, publisher, transactionManager, new SimpleMeterRegistry(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicles.forEach(vehicleService::delete);
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void vehicleChange_IsWrittenWithItsTransactionAndRelayedOnce() {
+        // Given
+        Vehicle vehicle = vehicleService.create("Renault", "Clio", "Essence", "Bleu",
+            "OB-" + UUID.randomUUID().toString().substring(0, 6), LocalDate.of(2022, 1, 1));
+        vehicles.add(vehicle.getId());
+        vehicleService.markAsBroken(vehicle.getId());
+
+        // When
+        relay.relay();
+        relay.relay();
+
+        // Then
+        assertEquals(List.of("VehicleStateChanged", "VehicleStateChanged"),
+            publisher.sent.stream().map(OutboxMessage::eventType).toList());
+        assertTrue(publisher.sent.get(1).payload().contains("\"status\":\"BROKEN\""));
+        assertTrue(outboxRepository.findByAggregateIdOrderById(vehicle.getId()).stream()
+            .allMatch(event -> event.getPublishedAt() != null));
+        assertEquals(0, relay.lagMillis());
+    }
+
+    @Test
+    void failedEvent_HoldsBackLaterEventsOfTheSameAggregateOnly() {
+        // Given
+        UUID stuck = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        OutboxEventEntity first = save(stuck, "first");
+        save(stuck, "second");
+        save(other, "third");
+        publisher.failing.add(first.getId());
+
+        // When
+        relay.relay();
+        List<String> afterFailure = publisher.payloads();
+        publisher.failing.clear();
+        relay.relay();
+
+        // Then
+        assertEquals(List.of("\"third\""), afterFailure);
+        assertEquals(List.of("\"third\"", "\"first\"", "\"second\""), publisher.payloads());
+    }
+
+    private OutboxEventEntity save(UUID aggregateId, String payload) {
+        return outboxRepository.save(new OutboxEventEntity("Test", aggregateId, "Tested", "\"" + payload + "\""));
+    }
+
+    private static class RecordingPublisher implements OutboxPublisher {
+
+        private final List<OutboxMessage> sent = new ArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+
+        @Override
+        public void publish(OutboxMessage message) {
+            if (failing.contains(message.id())) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            sent.add(message);
+        }
+
+        private List<String> payloads() {
+            return sent.stream().map(OutboxMessage::payload).toList();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.bfb.infrastructure.vehicle;
+
+import com.bfb.business.contract.event.ContractStateChangedEvent;
+import com.bfb.business.contract.model.Contract;
+import com.bfb.business.contract.model.ContractStatus;
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import com.bfb.infrastructure.contract.ContractEntity;
+import com.bfb.infrastructure.contract.ContractJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FleetAvailabilityCalendar.
+ */
+@ExtendWith(MockitoExtension.class)
+class FleetAvailabilityCalendarTest {
+
+    @Mock
+    private VehicleJpaRepository vehicleJpaRepository;
+
+    @Mock
+    private ContractJpaRepository contractJpaRepository;
+
+    private static final int HORIZON_DAYS = 30;
+
+    private MovableClock clock;
+    private FleetAvailabilityCalendar calendar;
+    private LocalDate today;
+    private List<VehicleEntity> fleet;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock();
+        calendar = new FleetAvailabilityCalendar(vehicleJpaRepository, contractJpaRepository, true, HORIZON_DAYS, clock);
+        today = LocalDate.now(clock);
+        fleet = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            fleet.add(vehicle(VehicleStatus.AVAILABLE));
+        }
+    }
+
+    @Test
+    void findAvailable_ExcludesBookedAndBrokenVehicles() {
+        // Given
+        VehicleEntity broken = vehicle(VehicleStatus.BROKEN);
+        fleet.add(broken);
+        VehicleEntity booked = fleet.get(70);
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        when(contractJpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())).thenReturn(List.of(
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), booked.getId(),
+                today.plusDays(5), today.plusDays(10), ContractStatus.PENDING)
+        ));
+        calendar.loadOnStartup();
+
+        // When
+        List<UUID> overlapping = calendar.findAvailable(today.plusDays(10), today.plusDays(12)).orElseThrow();
+        List<UUID> before = calendar.findAvailable(today, today.plusDays(4)).orElseThrow();
+
+        // Then
+        assertEquals(129, overlapping.size());
+        assertFalse(overlapping.contains(booked.getId()));
+        assertFalse(overlapping.contains(broken.getId()));
+        assertEquals(130, before.size());
+        assertTrue(before.contains(booked.getId()));
+    }
+
+    @Test
+    void findAvailable_RangeBeforeOrigin_DefersToDatabase() {
+        // Given
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        calendar.loadOnStartup();
+
+        // When
+        Optional<List<UUID>> result = calendar.findAvailable(today.minusDays(1), today.plusDays(1));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findAvailable_RangeBeyondHorizon_DefersToDatabase() {
+        // Given
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        calendar.loadOnStartup();
+
+        // When
+        Optional<List<UUID>> lastDay = calendar.findAvailable(today, today.plusDays(HORIZON_DAYS - 1));
+        Optional<List<UUID>> beyond = calendar.findAvailable(today.plusDays(5), today.plusDays(HORIZON_DAYS));
+
+        // Then
+        assertTrue(lastDay.isPresent());
+        assertTrue(beyond.isEmpty());
+    }
+
+    @Test
+    void findAvailable_DaysLater_SlidesWindowOverBookingsBeyondTheOldOne() {
+        // Given - one booking ending soon, one starting past the initial window
+        VehicleEntity soon = fleet.get(1);
+        VehicleEntity later = fleet.get(2);
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        when(contractJpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())).thenReturn(List.of(
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), soon.getId(),
+                today.minusDays(3), today.plusDays(12), ContractStatus.IN_PROGRESS),
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), later.getId(),
+                today.plusDays(HORIZON_DAYS + 5), today.plusDays(HORIZON_DAYS + 8), ContractStatus.PENDING)
+        ));
+        calendar.loadOnStartup();
+
+        // When
+        clock.advanceDays(10);
+        List<UUID> stillBooked = calendar.findAvailable(today.plusDays(10), today.plusDays(12)).orElseThrow();
+        List<UUID> released = calendar.findAvailable(today.plusDays(13), today.plusDays(14)).orElseThrow();
+        List<UUID> entered = calendar.findAvailable(today.plusDays(HORIZON_DAYS + 8),
+            today.plusDays(HORIZON_DAYS + 9)).orElseThrow();
+        Optional<List<UUID>> leftBehind = calendar.findAvailable(today.plusDays(9), today.plusDays(10));
+
+        // Then
+        assertFalse(stillBooked.contains(soon.getId()));
+        assertTrue(released.contains(soon.getId()));
+        assertFalse(entered.contains(later.getId()));
+        assertEquals(129, entered.size());
+        assertTrue(leftBehind.isEmpty());
+    }
+
+    @Test
+    void findAvailable_DaysLater_DropsBookingsThatEndedBeforeTheWindow() {
+        // Given - a late contract already over, one ending soon and one running past the move
+        UUID target = fleet.get(0).getId();
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        when(contractJpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())).thenReturn(List.of(
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), target,
+                today.minusDays(6), today.minusDays(2), ContractStatus.LATE),
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), target,
+                today.plusDays(1), today.plusDays(3), ContractStatus.PENDING),
+            new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), target,
+                today.plusDays(4), today.plusDays(8), ContractStatus.PENDING)
+        ));
+        calendar.loadOnStartup();
+        int loaded = calendar.bookingCount();
+
+        // When
+        clock.advanceDays(4);
+        List<UUID> available = calendar.findAvailable(today.plusDays(4), today.plusDays(5)).orElseThrow();
+
+        // Then
+        assertEquals(2, loaded);
+        assertEquals(1, calendar.bookingCount());
+        assertFalse(available.contains(target));
+    }
+
+    @Test
+    void findAvailable_NotLoaded_DefersToDatabase() {
+        // Given
+        FleetAvailabilityCalendar disabled = new FleetAvailabilityCalendar(vehicleJpaRepository, contractJpaRepository,
+            false, HORIZON_DAYS, clock);
+        disabled.loadOnStartup();
+
+        // Then
+        assertTrue(disabled.findAvailable(today, today.plusDays(1)).isEmpty());
+        verifyNoInteractions(vehicleJpaRepository, contractJpaRepository);
+    }
+
+    @Test
+    void events_KeepCalendarInSync() {
+        // Given
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        calendar.loadOnStartup();
+        UUID target = fleet.get(3).getId();
+        Contract contract = new Contract(UUID.randomUUID(), UUID.randomUUID(), target,
+            today.plusDays(1), today.plusDays(3), ContractStatus.PENDING);
+
+        // When - booked
+        calendar.onContractStateChanged(ContractStateChangedEvent.created(contract));
+
+        // Then
+        assertFalse(calendar.findAvailable(today.plusDays(2), today.plusDays(2)).orElseThrow().contains(target));
+
+        // When - cancelled
+        contract.cancel();
+        calendar.onContractStateChanged(new ContractStateChangedEvent(contract, ContractStatus.PENDING));
+
+        // Then
+        assertTrue(calendar.findAvailable(today.plusDays(2), today.plusDays(2)).orElseThrow().contains(target));
+    }
+
+    @Test
+    void events_NewBrokenAndDeletedVehicles() {
+        // Given
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        calendar.loadOnStartup();
+        Vehicle created = new Vehicle(UUID.randomUUID(), "Ford", "Focus", "Diesel", "Red", "NEW-1",
+            LocalDate.of(2022, 1, 1), VehicleStatus.AVAILABLE);
+
+        // When
+        calendar.onVehicleStateChanged(VehicleStateChangedEvent.created(created));
+        created.setStatus(VehicleStatus.BROKEN);
+        calendar.onVehicleStateChanged(new VehicleStateChangedEvent(created, VehicleStatus.AVAILABLE));
+        calendar.onVehicleDeleted(new VehicleDeletedEvent(fleet.get(0).getId()));
+
+        // Then
+        List<UUID> available = calendar.findAvailable(today, today).orElseThrow();
+        assertEquals(129, available.size());
+        assertFalse(available.contains(created.getId()));
+        assertFalse(available.contains(fleet.get(0).getId()));
+    }
+
+    @Test
+    void release_KeepsDaysStillCoveredByAnotherContract() {
+        // Given - legacy overlapping bookings on the same vehicle
+        UUID target = fleet.get(0).getId();
+        ContractEntity first = new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), target,
+            today.plusDays(1), today.plusDays(5), ContractStatus.PENDING);
+        ContractEntity second = new ContractEntity(UUID.randomUUID(), UUID.randomUUID(), target,
+            today.plusDays(4), today.plusDays(8), ContractStatus.PENDING);
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        when(contractJpaRepository.findByStatusIn(ContractStatus.occupyingStatuses())).thenReturn(List.of(first, second));
+        calendar.loadOnStartup();
+
+        // When
+        Contract cancelled = new Contract(first.getId(), first.getClientId(), target,
+            first.getStartDate(), first.getEndDate(), ContractStatus.CANCELLED);
+        calendar.onContractStateChanged(new ContractStateChangedEvent(cancelled, ContractStatus.PENDING));
+
+        // Then
+        assertTrue(calendar.findAvailable(today.plusDays(1), today.plusDays(3)).orElseThrow().contains(target));
+        assertFalse(calendar.findAvailable(today.plusDays(4), today.plusDays(4)).orElseThrow().contains(target));
+    }
+
+    private static VehicleEntity vehicle(VehicleStatus status) {
+        return new VehicleEntity(UUID.randomUUID(), "Peugeot", "308", "Diesel", "Blue",
+            "PL-" + UUID.randomUUID(), LocalDate.of(2020, 1, 1), status);
+    }
+
+    private static final class MovableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advanceDays(int days) {
+            now = now.plus(Duration.ofDays(days));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bfb.infrastructure.vehicle;
+
+import com.bfb.business.vehicle.event.VehicleDeletedEvent;
+import com.bfb.business.vehicle.event.VehicleStateChangedEvent;
+import com.bfb.business.vehicle.model.Vehicle;
+import com.bfb.business.vehicle.model.VehicleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VehicleRegistry.
+ */
+@ExtendWith(MockitoExtension.class)
+class VehicleRegistryTest {
+
+    @Mock
+    private VehicleJpaRepository vehicleJpaRepository;
+
+    private VehicleRegistry registry;
+    private List<VehicleEntity> fleet;
+
+    @BeforeEach
+    void setUp() {
+        registry = new VehicleRegistry(vehicleJpaRepository, true);
+        fleet = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            fleet.add(new VehicleEntity(UUID.randomUUID(), "Brand" + i, "Model", "Diesel", "Grey", "PL-" + i,
+                LocalDate.of(2020, 1, 1).plusDays(i), i % 10 == 0 ? VehicleStatus.BROKEN : VehicleStatus.AVAILABLE));
+        }
+        when(vehicleJpaRepository.findAll()).thenReturn(fleet);
+        registry.loadOnStartup();
+    }
+
+    @Test
+    void loadOnStartup_ServesStatusesListingsAndCounts() {
+        // Then
+        assertTrue(registry.isReady());
+        assertEquals(Optional.of(VehicleStatus.BROKEN), registry.findStatus(fleet.get(0).getId()));
+        assertEquals(Optional.of(VehicleStatus.AVAILABLE), registry.findStatus(fleet.get(1).getId()));
+        assertEquals(Optional.empty(), registry.findStatus(UUID.randomUUID()));
+        assertEquals(100, registry.count(null));
+        assertEquals(10, registry.count(VehicleStatus.BROKEN));
+
+        Vehicle listed = registry.findByStatus(VehicleStatus.BROKEN).stream()
+            .filter(vehicle -> vehicle.getId().equals(fleet.get(30).getId()))
+            .findFirst().orElseThrow();
+        assertEquals("Brand30", listed.getBrand());
+        assertEquals("PL-30", listed.getRegistrationPlate());
+        assertEquals(LocalDate.of(2020, 1, 31), listed.getPurchaseDate());
+    }
+
+    @Test
+    void events_KeepTheRegistryInSync() {
+        // Given
+        VehicleEntity changed = fleet.get(5);
+        Vehicle created = new Vehicle(UUID.randomUUID(), "New", "Car", "Electric", "White", "NEW-1",
+            LocalDate.of(2024, 1, 1), VehicleStatus.AVAILABLE);
+
+        // When
+        registry.onVehicleStateChanged(new VehicleStateChangedEvent(new Vehicle(changed.getId(), changed.getBrand(),
+            changed.getModel(), changed.getMotorization(), changed.getColor(), changed.getRegistrationPlate(),
+            changed.getPurchaseDate(), VehicleStatus.BROKEN), VehicleStatus.AVAILABLE));
+        registry.onVehicleStateChanged(VehicleStateChangedEvent.created(created));
+        for (int i = 0; i < 50; i++) {
+            registry.onVehicleDeleted(new VehicleDeletedEvent(fleet.get(i * 2).getId()));
+        }
+
+        // Then
+        assertEquals(Optional.of(VehicleStatus.AVAILABLE), registry.findStatus(created.getId()));
+        assertEquals(Optional.of(VehicleStatus.BROKEN), registry.findStatus(changed.getId()));
+        assertEquals(Optional.empty(), registry.findStatus(fleet.get(0).getId()));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(registry.findStatus(fleet.get(i * 2 + 1).getId()).isPresent());
+        }
+        assertEquals(51, registry.count(null));
+        assertEquals(1, registry.count(VehicleStatus.BROKEN));
+        assertEquals(List.of(changed.getId()),
+            registry.findByStatus(VehicleStatus.BROKEN).stream().map(Vehicle::getId).toList());
+    }
+
+    @Test
+    void refresh_PicksUpChangesMadeBehindTheRegistrysBack() {
+        // Given - another instance marks a vehicle broken and deletes another, no event reaches us
+        VehicleEntity repaired = fleet.get(0);
+        VehicleEntity broken = fleet.get(1);
+        List<VehicleEntity> current = new ArrayList<>(fleet.subList(3, fleet.size()));
+        current.add(new VehicleEntity(repaired.getId(), repaired.getBrand(), repaired.getModel(),
+            repaired.getMotorization(), repaired.getColor(), repaired.getRegistrationPlate(),
+            repaired.getPurchaseDate(), VehicleStatus.AVAILABLE));
+        current.add(new VehicleEntity(broken.getId(), broken.getBrand(), broken.getModel(),
+            broken.getMotorization(), broken.getColor(), broken.getRegistrationPlate(),
+            broken.getPurchaseDate(), VehicleStatus.BROKEN));
+        when(vehicleJpaRepository.findAll()).thenReturn(current);
+        assertEquals(Optional.of(VehicleStatus.AVAILABLE), registry.findStatus(broken.getId()));
+
+        // When
+        registry.refresh();
+
+        // Then
+        assertEquals(Optional.of(VehicleStatus.BROKEN), registry.findStatus(broken.getId()));
+        assertEquals(Optional.of(VehicleStatus.AVAILABLE), registry.findStatus(repaired.getId()));
+        assertEquals(Optional.empty(), registry.findStatus(fleet.get(2).getId()));
+        assertEquals(99, registry.count(null));
+        assertEquals(10, registry.count(VehicleStatus.BROKEN));
+        assertTrue(registry.findByStatus(VehicleStatus.BROKEN).stream()
+            .anyMatch(vehicle -> vehicle.getId().equals(broken.getId())));
+    }
+}
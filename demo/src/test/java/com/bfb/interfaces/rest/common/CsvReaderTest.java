@@ -0,0 +1,42 @@
+package com.bfb.interfaces.rest.common;
+
+import com.bfb.business.contract.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CsvReader.
+ */
+class CsvReaderTest {
+
+    @Test
+    void next_ReadsQuotedFieldsAndTracksLines() throws Exception {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader(
+            "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\r\n\n\"multi\nline\",2,3"));
+
+        // When & Then
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("multi\nline", "2", "3"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_UnterminatedQuote_ThrowsValidationException() throws Exception {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("a,b\n\"open,2\n"));
+        reader.next();
+
+        // When & Then
+        ValidationException error = assertThrows(ValidationException.class, reader::next);
+        assertTrue(error.getMessage().contains("line 2"));
+    }
+}
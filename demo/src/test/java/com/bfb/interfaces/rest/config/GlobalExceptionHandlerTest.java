@@ -0,0 +1,82 @@
+package com.bfb.interfaces.rest.config;
+
+import com.bfb.business.contract.constants.ContractConstants;
+import com.bfb.business.contract.exception.BookingTimeoutException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GlobalExceptionHandler database constraint and availability mapping.
+ */
+class GlobalExceptionHandlerTest {
+
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Test
+    void handleDataIntegrityViolation_ExclusionConstraint_ReturnsOverlapConflict() {
+        // Given
+        SQLException sqlException = new SQLException(
+            "ERROR: conflicting key value violates exclusion constraint \"ex_contract_vehicle_period\"", "23P01");
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", sqlException, null));
+
+        // When
+        ProblemDetail problem = handler.handleDataIntegrityViolation(ex);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT.value(), problem.getStatus());
+        assertEquals(ApiConstants.ErrorTitles.BUSINESS_CONFLICT, problem.getTitle());
+        assertTrue(problem.getDetail().contains("already booked"));
+    }
+
+    @Test
+    void handleDataIntegrityViolation_ConstraintNameResolvedByHibernate_ReturnsOverlapConflict() {
+        // Given
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", new SQLException("violation"),
+                ContractConstants.VEHICLE_PERIOD_EXCLUSION_CONSTRAINT));
+
+        // When
+        ProblemDetail problem = handler.handleDataIntegrityViolation(ex);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT.value(), problem.getStatus());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_OtherConstraint_ReturnsInternalError() {
+        // Given
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+            new SQLException("ERROR: null value in column \"client_id\""));
+
+        // When
+        ProblemDetail problem = handler.handleDataIntegrityViolation(ex);
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), problem.getStatus());
+        assertEquals(ApiConstants.ErrorTitles.INTERNAL_ERROR, problem.getTitle());
+    }
+
+    @Test
+    void problemDetailsOf_BookingTimeout_ReturnsServiceUnavailable() {
+        // When
+        ProblemDetail problem = ProblemDetails.of(new BookingTimeoutException("Booking not confirmed"));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), problem.getStatus());
+        assertEquals(ApiConstants.ErrorTitles.SERVICE_UNAVAILABLE, problem.getTitle());
+    }
+}
@@ -1,9 +1,12 @@
 package com.bfb.interfaces.rest.contract;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -18,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.transaction.annotation.Transactional;
@@ -265,6 +269,13 @@ class ContractControllerIntegrationTest {
             .andExpect(jsonPath("$.title").value("State transition not allowed"));
     }
 
+    @Test
+    void startContract_UnknownContract_ReturnsNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/v1/contracts/{id}/start", UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void terminateContract_Success() throws Exception {
         // Given - create and start a contract
@@ -423,6 +434,159 @@ class ContractControllerIntegrationTest {
             .andExpect(jsonPath("$.pageable").exists());
     }
 
+    @Test
+    void searchContracts_TotalsModes() throws Exception {
+        // Given - two contracts for the test vehicle
+        LocalDate day = LocalDate.now().plusDays(1);
+        for (LocalDate start : List.of(day, day.plusDays(5))) {
+            mockMvc.perform(post("/api/v1/contracts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        new CreateContractRequest(clientId, vehicleId, start, start.plusDays(1)))))
+                .andExpect(status().isCreated());
+        }
+
+        // When & Then - no total, but the next page is known
+        mockMvc.perform(get("/api/v1/contracts")
+                .param("vehicleId", vehicleId.toString())
+                .param("size", "1")
+                .param("totals", "none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.totals").value("none"))
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/contracts")
+                .param("vehicleId", vehicleId.toString())
+                .param("size", "1")
+                .param("totals", "estimated"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totals").value("estimated"))
+            .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(get("/api/v1/contracts")
+                .param("vehicleId", vehicleId.toString())
+                .param("totals", "exact"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totals").value("exact"))
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.last").value(true));
+    }
+
+    @Test
+    void scrollContracts_WalksAllPagesOnceInStartDateOrder() throws Exception {
+        // Given - two contracts share a start date, so the id breaks the tie
+        Vehicle otherVehicle = vehicleRepository.save(new Vehicle(null, "Honda", "Jazz", "Petrol", "Grey",
+            "TEST4-" + System.currentTimeMillis(), LocalDate.of(2020, 1, 1), VehicleStatus.AVAILABLE));
+        LocalDate day = LocalDate.now().plusDays(1);
+        List<CreateContractRequest> requests = List.of(
+            new CreateContractRequest(clientId, vehicleId, day.plusDays(5), day.plusDays(6)),
+            new CreateContractRequest(clientId, vehicleId, day, day.plusDays(1)),
+            new CreateContractRequest(clientId, otherVehicle.getId(), day, day.plusDays(2))
+        );
+        for (CreateContractRequest request : requests) {
+            mockMvc.perform(post("/api/v1/contracts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        }
+
+        // When
+        String first = mockMvc.perform(get("/api/v1/contracts/scroll")
+                .param("clientId", clientId.toString())
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(2)))
+            .andExpect(jsonPath("$.content[*].startDate", everyItem(is(day.toString()))))
+            .andExpect(jsonPath("$.nextCursor").isString())
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        // Then
+        mockMvc.perform(get("/api/v1/contracts/scroll")
+                .param("clientId", clientId.toString())
+                .param("size", "2")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.content[0].startDate").value(day.plusDays(5).toString()))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void scrollContracts_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/contracts/scroll").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void clientContracts_WalksHistoryNewestFirst() throws Exception {
+        // Given
+        LocalDate day = LocalDate.now().plusDays(1);
+        for (LocalDate start : List.of(day, day.plusDays(10), day.plusDays(5))) {
+            mockMvc.perform(post("/api/v1/contracts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        new CreateContractRequest(clientId, vehicleId, start, start.plusDays(2)))))
+                .andExpect(status().isCreated());
+        }
+
+        // When
+        String first = mockMvc.perform(get("/api/v1/clients/{id}/contracts", clientId).param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(2)))
+            .andExpect(jsonPath("$.content[0].startDate").value(day.plusDays(10).toString()))
+            .andExpect(jsonPath("$.content[1].startDate").value(day.plusDays(5).toString()))
+            .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        // Then
+        mockMvc.perform(get("/api/v1/clients/{id}/contracts", clientId).param("size", "2").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.content[0].startDate").value(day.toString()))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void clientContracts_ClientWithoutContractsOrUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/clients/{id}/contracts", clientId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(get("/api/v1/clients/{id}/contracts", UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportContracts_WritesOneJsonObjectPerLine() throws Exception {
+        // Given
+        LocalDate day = LocalDate.now().plusDays(1);
+        for (CreateContractRequest request : List.of(
+                new CreateContractRequest(clientId, vehicleId, day, day.plusDays(1)),
+                new CreateContractRequest(clientId, vehicleId, day.plusDays(3), day.plusDays(4)))) {
+            mockMvc.perform(post("/api/v1/contracts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        }
+
+        // When
+        String body = mockMvc.perform(get("/api/v1/contracts/export")
+                .param("vehicleId", vehicleId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals(vehicleId.toString(), objectMapper.readTree(line).get("vehicleId").asText());
+        }
+    }
+
     @Test
     void markLateJob_Success() throws Exception {
         // When & Then
@@ -430,5 +594,74 @@ class ContractControllerIntegrationTest {
             .andExpect(status().isAccepted())
             .andExpect(jsonPath("$.contractsMarkedLate").isNumber());
     }
-}
 
+    @Test
+    void createBatch_ReportsEachItem() throws Exception {
+        // Given - a valid item, an overlap within the batch, an unknown client and an invalid item
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        List<CreateContractRequest> requests = List.of(
+            new CreateContractRequest(clientId, vehicleId, startDate, startDate.plusDays(5)),
+            new CreateContractRequest(clientId, vehicleId, startDate.plusDays(3), startDate.plusDays(8)),
+            new CreateContractRequest(UUID.randomUUID(), vehicleId, startDate.plusDays(10), startDate.plusDays(12)),
+            new CreateContractRequest(clientId, null, startDate, startDate.plusDays(2))
+        );
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/contracts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.results", hasSize(4)))
+            .andExpect(jsonPath("$.results[0].status").value(201))
+            .andExpect(jsonPath("$.results[0].contract.status").value("PENDING"))
+            .andExpect(jsonPath("$.results[1].status").value(409))
+            .andExpect(jsonPath("$.results[1].error.detail").value(containsString("same batch")))
+            .andExpect(jsonPath("$.results[2].status").value(409))
+            .andExpect(jsonPath("$.results[2].error.detail").value(containsString("not found")))
+            .andExpect(jsonPath("$.results[3].status").value(400))
+            .andExpect(jsonPath("$.results[3].error.detail").value(containsString("vehicleId")));
+
+        mockMvc.perform(get("/api/v1/contracts").param("vehicleId", vehicleId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)));
+    }
+
+    @Test
+    void createBatch_InvalidItemBetweenValidOnes_KeepsEachItemIndex() throws Exception {
+        // Given - the invalid item never reaches the chunk, the items after it must keep their index
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        List<CreateContractRequest> requests = List.of(
+            new CreateContractRequest(clientId, vehicleId, startDate, startDate.plusDays(2)),
+            new CreateContractRequest(null, vehicleId, startDate.plusDays(3), startDate.plusDays(4)),
+            new CreateContractRequest(clientId, vehicleId, startDate.plusDays(5), startDate.plusDays(6)),
+            new CreateContractRequest(clientId, vehicleId, startDate.plusDays(8), startDate.plusDays(7))
+        );
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/contracts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.results[*].index", contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$.results[0].status").value(201))
+            .andExpect(jsonPath("$.results[1].status").value(400))
+            .andExpect(jsonPath("$.results[1].error.detail").value(containsString("clientId")))
+            .andExpect(jsonPath("$.results[2].status").value(201))
+            .andExpect(jsonPath("$.results[2].contract.startDate").value(startDate.plusDays(5).toString()))
+            .andExpect(jsonPath("$.results[3].status").value(400))
+            .andExpect(jsonPath("$.results[3].error.detail").value(containsString("Start date must be before end date")));
+    }
+
+    @Test
+    void createBatch_NotAnArray_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/contracts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isBadRequest());
+    }
+}
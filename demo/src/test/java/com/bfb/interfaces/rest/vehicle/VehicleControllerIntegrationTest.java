@@ -0,0 +1,89 @@
+package com.bfb.interfaces.rest.vehicle;
+
+import com.bfb.business.vehicle.service.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for VehicleController.
+ * Tests the full stack with Spring context and H2 database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class VehicleControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void importCsv_ImportsValidRowsAndReportsTheOthersByLine() throws Exception {
+        // Given - a valid row, a repeated plate, an unreadable date and a missing brand
+        String csv = """
+            brand,model,motorization,color,registrationPlate,purchaseDate
+            Renault,Clio,Essence,Bleu,IMP-001,2022-01-01
+            Peugeot,208,Diesel,Gris,IMP-001,2022-02-01
+            Fiat,500,Essence,Rouge,IMP-002,not-a-date
+            ,Golf,Diesel,Noir,IMP-003,2021-03-01
+            """;
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/vehicles/import")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.errors", hasSize(3)))
+            .andExpect(jsonPath("$.errors[0].line").value(3))
+            .andExpect(jsonPath("$.errors[0].status").value(409))
+            .andExpect(jsonPath("$.errors[1].line").value(4))
+            .andExpect(jsonPath("$.errors[1].error.detail").value(containsString("purchaseDate")))
+            .andExpect(jsonPath("$.errors[2].line").value(5))
+            .andExpect(jsonPath("$.errors[2].status").value(400));
+
+        assertEquals(List.of("IMP-001"), vehicleRepository
+            .findExistingRegistrationPlates(List.of("IMP-001", "IMP-002", "IMP-003")).stream().toList());
+    }
+
+    @Test
+    void create_TakenRegistrationPlate_ReturnsConflict() throws Exception {
+        // Given
+        String vehicle = """
+            {"brand": "Renault", "model": "Clio", "motorization": "Essence", "color": "Bleu",
+             "registrationPlate": "DUP-001", "purchaseDate": "2022-01-01"}
+            """;
+        mockMvc.perform(post("/api/v1/vehicles").contentType(MediaType.APPLICATION_JSON).content(vehicle))
+            .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/vehicles").contentType(MediaType.APPLICATION_JSON).content(vehicle))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value(containsString("DUP-001")));
+    }
+
+    @Test
+    void importCsv_MissingColumn_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/vehicles/import")
+                .contentType("text/csv")
+                .content("brand,model\nRenault,Clio\n"))
+            .andExpect(status().isBadRequest());
+    }
+}
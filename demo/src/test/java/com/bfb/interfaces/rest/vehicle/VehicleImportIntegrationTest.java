@@ -0,0 +1,104 @@
+package com.bfb.interfaces.rest.vehicle;
+
+import com.bfb.business.vehicle.service.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the vehicle CSV import racing other writers. Not transactional: the
+ * concurrent insert has to be committed for the import's own insert to run into it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VehicleImportIntegrationTest {
+
+    private static final String RACED_PLATE = "RACE-002";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private VehicleRepository vehicleRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM vehicles WHERE registration_plate LIKE 'RACE-%'");
+    }
+
+    @Test
+    void importCsv_PlateInsertedAfterThePreCheck_ReportsOnlyThatRow() throws Exception {
+        // Given - another request commits the second plate once the import has checked it
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Set<String> existing = new HashSet<>((Set<String>) invocation.callRealMethod());
+            Collection<String> plates = invocation.getArgument(0);
+            if (plates.contains(RACED_PLATE) && raced.compareAndSet(false, true)) {
+                insertConcurrently(RACED_PLATE);
+            }
+            existing.remove(RACED_PLATE);
+            return existing;
+        }).when(vehicleRepository).findExistingRegistrationPlates(anyCollection());
+        String csv = """
+            brand,model,motorization,color,registrationPlate,purchaseDate
+            Renault,Clio,Essence,Bleu,RACE-001,2022-01-01
+            Peugeot,208,Diesel,Gris,RACE-002,2022-02-01
+            Fiat,500,Essence,Rouge,RACE-003,2022-03-01
+            """;
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/vehicles/import")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors", hasSize(1)))
+            .andExpect(jsonPath("$.errors[0].line").value(3))
+            .andExpect(jsonPath("$.errors[0].status").value(409))
+            .andExpect(jsonPath("$.errors[0].error.detail").value(containsString(RACED_PLATE)));
+
+        assertEquals(List.of("Fiat", "Renault", "concurrent"), jdbcTemplate.queryForList(
+            "SELECT brand FROM vehicles WHERE registration_plate LIKE 'RACE-%' ORDER BY brand", String.class));
+    }
+
+    private void insertConcurrently(String plate) {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+            "INSERT INTO vehicles (id, brand, model, motorization, color, registration_plate, purchase_date, status) "
+                + "VALUES (?, 'concurrent', 'Clio', 'Essence', 'Bleu', ?, DATE '2022-01-01', 'AVAILABLE')",
+            UUID.randomUUID(), plate));
+    }
+}
@@ -0,0 +1,5 @@
+-- V11: H2 fallback for the client contract history and overlap check indexes
+-- H2 has neither INCLUDE columns nor partial indexes: the client index is a plain one and
+-- overlap checks keep using idx_vehicle_dates
+
+CREATE INDEX idx_contract_client_start_date ON contracts(client_id, start_date DESC, id DESC);
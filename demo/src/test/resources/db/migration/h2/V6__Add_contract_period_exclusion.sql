@@ -0,0 +1,8 @@
+-- V6: H2 equivalent of the contract period exclusion constraint
+-- H2 has neither range types nor EXCLUDE constraints: a row trigger rejects an occupying
+-- contract sharing a day with another occupying contract of the same vehicle, locking the
+-- vehicle row first so concurrent creates are checked one after the other
+
+CREATE TRIGGER ex_contract_vehicle_period
+    BEFORE INSERT, UPDATE ON contracts
+    FOR EACH ROW CALL 'com.bfb.infrastructure.contract.ContractPeriodExclusionTrigger';